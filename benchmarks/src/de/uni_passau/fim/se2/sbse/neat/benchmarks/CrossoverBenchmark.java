@@ -0,0 +1,47 @@
+package de.uni_passau.fim.se2.sbse.neat.benchmarks;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.InnovationRegistry;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.crossover.NeatCrossover;
+import de.uni_passau.fim.se2.sbse.neat.mutation.NeatMutation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link NeatCrossover#apply} on two related parents of a given size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CrossoverBenchmark {
+
+    @Param({"0", "10", "50"})
+    public int hiddenNeurons;
+
+    private NeatCrossover crossover;
+    private NetworkChromosome parent1;
+    private NetworkChromosome parent2;
+
+    @Setup
+    public void setUp() {
+        InnovationRegistry innovations = new InnovationRegistry();
+        Random random = new Random(42);
+        NetworkChromosome ancestor = Genomes.grow(innovations, hiddenNeurons, random);
+        NeatMutation mutation = new NeatMutation(innovations, random);
+        parent1 = mutation.mutateWeights(mutation.addNeuron(ancestor));
+        parent2 = mutation.mutateWeights(mutation.addConnection(ancestor));
+        parent1.setFitness(2);
+        parent2.setFitness(1);
+        crossover = new NeatCrossover(random);
+    }
+
+    @Benchmark
+    public NetworkChromosome apply() {
+        return crossover.apply(parent1, parent2);
+    }
+}
@@ -0,0 +1,86 @@
+package de.uni_passau.fim.se2.sbse.neat.benchmarks;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.InnovationRegistry;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single forward pass of a cart-pole network through {@link NetworkChromosome#getOutput},
+ * interpreted and compiled into a generated class, with exact and with fast approximated activation functions,
+ * and of a batch of {@value #BATCH_ROWS} states through {@link NetworkChromosome#getOutputs}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ForwardPassBenchmark {
+
+    private static final int BATCH_ROWS = 16;
+
+    @Param({"0", "10", "50"})
+    public int hiddenNeurons;
+
+    private NetworkChromosome network;
+    private NetworkChromosome compiledNetwork;
+    private NetworkChromosome fastNetwork;
+    private NetworkChromosome fastCompiledNetwork;
+    private final double[] state = {0.1, -0.2, 0.3, -0.4};
+    private final List<Double> stateList = List.of(0.1, -0.2, 0.3, -0.4);
+    private final double[] output = new double[Genomes.OUTPUTS];
+    private final double[] batchStates = new Random(7).doubles(BATCH_ROWS * 4, -1, 1).toArray();
+    private final double[] batchOutputs = new double[BATCH_ROWS * Genomes.OUTPUTS];
+
+    @Setup
+    public void setUp() {
+        network = Genomes.grow(new InnovationRegistry(), hiddenNeurons, new Random(42));
+        compiledNetwork = new NetworkChromosome(network.getLayers(), network.getConnections());
+        compiledNetwork.compile();
+        fastNetwork = new NetworkChromosome(network.getLayers(), network.getConnections());
+        fastNetwork.setFastActivations(true);
+        fastCompiledNetwork = new NetworkChromosome(network.getLayers(), network.getConnections());
+        fastCompiledNetwork.setFastActivations(true);
+        fastCompiledNetwork.compile();
+    }
+
+    @Benchmark
+    public double[] primitive() {
+        network.getOutput(state, output);
+        return output;
+    }
+
+    @Benchmark
+    public double[] compiled() {
+        compiledNetwork.getOutput(state, output);
+        return output;
+    }
+
+    @Benchmark
+    public double[] fastPrimitive() {
+        fastNetwork.getOutput(state, output);
+        return output;
+    }
+
+    @Benchmark
+    public double[] fastCompiled() {
+        fastCompiledNetwork.getOutput(state, output);
+        return output;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_ROWS)
+    public double[] batch() {
+        network.getOutputs(batchStates, batchOutputs, BATCH_ROWS);
+        return batchOutputs;
+    }
+
+    @Benchmark
+    public List<Double> boxed() {
+        return network.getOutput(stateList);
+    }
+}
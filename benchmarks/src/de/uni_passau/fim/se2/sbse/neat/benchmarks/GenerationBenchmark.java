@@ -0,0 +1,39 @@
+package de.uni_passau.fim.se2.sbse.neat.benchmarks;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatAlgorithm;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import de.uni_passau.fim.se2.sbse.neat.utils.Randomness;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one generation of {@link NeatAlgorithm} on a shortened randomised cart-pole task,
+ * covering initialisation, evaluation, speciation and reproduction.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerationBenchmark {
+
+    @Param({"50", "150"})
+    public int populationSize;
+
+    @Param({"1000"})
+    public int maxSteps;
+
+    @Setup(Level.Invocation)
+    public void seed() {
+        Randomness.random().setSeed(42);
+    }
+
+    @Benchmark
+    public Agent generation() {
+        SinglePoleBalancing environment = new SinglePoleBalancing(maxSteps, 10, true, Randomness.random());
+        return new NeatAlgorithm(populationSize, 1, environment).solve(environment);
+    }
+}
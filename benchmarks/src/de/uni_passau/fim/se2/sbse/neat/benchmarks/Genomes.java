@@ -0,0 +1,49 @@
+package de.uni_passau.fim.se2.sbse.neat.benchmarks;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkGenerator;
+import de.uni_passau.fim.se2.sbse.neat.mutation.NeatMutation;
+
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Builds reproducible genomes of a given size for the benchmarks.
+ */
+final class Genomes {
+
+    /**
+     * The number of inputs of the cart-pole task.
+     */
+    static final int INPUTS = 4;
+
+    /**
+     * The number of outputs of the cart-pole task.
+     */
+    static final int OUTPUTS = 1;
+
+    private Genomes() {
+        // private constructor to prevent instantiation.
+    }
+
+    /**
+     * Grows a fully connected cart-pole network by the given number of hidden neurons.
+     * Every added neuron is followed by an attempt to add a connection, so larger genomes are also denser.
+     *
+     * @param innovations   The innovations that occurred so far.
+     * @param hiddenNeurons The number of hidden neurons to add.
+     * @param random        The random number generator.
+     * @return The grown network.
+     */
+    static NetworkChromosome grow(Set<Innovation> innovations, int hiddenNeurons, Random random) {
+        NetworkGenerator generator = new NetworkGenerator(innovations, INPUTS, OUTPUTS, random);
+        NeatMutation mutation = new NeatMutation(innovations, random);
+        NetworkChromosome network = generator.generate();
+        for (int i = 0; i < hiddenNeurons; i++) {
+            network = mutation.addNeuron(network);
+            network = mutation.addConnection(network);
+        }
+        return network;
+    }
+}
@@ -0,0 +1,56 @@
+package de.uni_passau.fim.se2.sbse.neat.benchmarks;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.InnovationRegistry;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.mutation.NeatMutation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures every operator of {@link NeatMutation} applied to a parent of a given size.
+ * The parent stays the same, so every invocation performs the same amount of work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MutationBenchmark {
+
+    @Param({"0", "10", "50"})
+    public int hiddenNeurons;
+
+    private NeatMutation mutation;
+    private NetworkChromosome parent;
+
+    @Setup
+    public void setUp() {
+        InnovationRegistry innovations = new InnovationRegistry();
+        Random random = new Random(42);
+        parent = Genomes.grow(innovations, hiddenNeurons, random);
+        mutation = new NeatMutation(innovations, random);
+    }
+
+    @Benchmark
+    public NetworkChromosome addNeuron() {
+        return mutation.addNeuron(parent);
+    }
+
+    @Benchmark
+    public NetworkChromosome addConnection() {
+        return mutation.addConnection(parent);
+    }
+
+    @Benchmark
+    public NetworkChromosome mutateWeights() {
+        return mutation.mutateWeights(parent);
+    }
+
+    @Benchmark
+    public NetworkChromosome toggleConnection() {
+        return mutation.toggleConnection(parent);
+    }
+}
@@ -0,0 +1,49 @@
+package de.uni_passau.fim.se2.sbse.neat.benchmarks;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatAlgorithm;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.InnovationRegistry;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.mutation.NeatMutation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the compatibility distance used to assign chromosomes to species.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpeciationBenchmark {
+
+    @Param({"0", "10", "50"})
+    public int hiddenNeurons;
+
+    private NetworkChromosome candidate;
+    private NetworkChromosome representative;
+
+    @Setup
+    public void setUp() {
+        InnovationRegistry innovations = new InnovationRegistry();
+        Random random = new Random(42);
+        NetworkChromosome ancestor = Genomes.grow(innovations, hiddenNeurons, random);
+        NeatMutation mutation = new NeatMutation(innovations, random);
+        candidate = mutation.mutateWeights(mutation.addNeuron(ancestor));
+        representative = mutation.mutateWeights(mutation.addConnection(ancestor));
+    }
+
+    @Benchmark
+    public double distance() {
+        return NeatAlgorithm.compatibilityDistance(candidate, representative);
+    }
+
+    @Benchmark
+    public double distanceOfNewCandidate() {
+        NetworkChromosome fresh = new NetworkChromosome(candidate.getLayerView(), candidate.getConnections());
+        return NeatAlgorithm.compatibilityDistance(fresh, representative);
+    }
+}
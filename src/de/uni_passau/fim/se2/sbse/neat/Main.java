@@ -1,19 +1,49 @@
 package de.uni_passau.fim.se2.sbse.neat;
 
+import de.uni_passau.fim.se2.sbse.neat.algorithms.IslandNeat;
 import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatAlgorithm;
 import de.uni_passau.fim.se2.sbse.neat.algorithms.Neuroevolution;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.SteadyStateNeat;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation.BatchedEvaluator;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation.CachingEvaluator;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation.CommonStartStatesEvaluator;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation.EvaluationWorker;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation.FitnessEvaluator;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation.ParallelEvaluator;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation.RacingEvaluator;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation.RemoteEvaluator;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation.SequentialEvaluator;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.metrics.MetricsWriter;
 import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.environments.BatchedSinglePoleBalancing;
 import de.uni_passau.fim.se2.sbse.neat.environments.Environment;
+import de.uni_passau.fim.se2.sbse.neat.environments.EnvironmentFactory;
+import de.uni_passau.fim.se2.sbse.neat.environments.EpisodicEnvironment;
 import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
 import de.uni_passau.fim.se2.sbse.neat.environments.Tasks;
 import de.uni_passau.fim.se2.sbse.neat.environments.XOR;
 import de.uni_passau.fim.se2.sbse.neat.utils.Randomness;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
 import picocli.CommandLine;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.IntStream;
 
 public class Main implements Callable<Integer> {
@@ -54,6 +84,176 @@ public class Main implements Callable<Integer> {
     )
     public boolean visualise;
 
+    @CommandLine.Option(
+            names = {"-e", "--evaluation-threads"},
+            description = "The number of threads evaluating the population in parallel. With 0, the population is evaluated sequentially on a single environment.",
+            defaultValue = "0"
+    )
+    public int evaluationThreads;
+
+    @CommandLine.Option(
+            names = {"-b", "--batched"},
+            description = "Evaluates all agents of a generation in lockstep on a batched cart-pole simulator. Ignored for the XOR task.",
+            defaultValue = "false"
+    )
+    public boolean batched;
+
+    @CommandLine.Option(
+            names = {"-c", "--compile-threshold"},
+            description = "The fitness from which on the forward pass of a network is compiled into a generated class during the search.",
+            defaultValue = "Infinity"
+    )
+    public double compileThreshold;
+
+    @CommandLine.Option(
+            names = {"--fast-activations"},
+            description = "Approximates the sigmoid and tanh activation functions by interpolating in a precomputed table, within 1e-5 of the exact values. Saturates to exactly -1 and 1 from arguments of magnitude 8 on, which lets XOR networks reach the error-free reward far more often. Ignored with --islands and --steady-state, and with --remote-workers, whose workers always compute the exact activations.",
+            defaultValue = "false"
+    )
+    public boolean fastActivations;
+
+    @CommandLine.Option(
+            names = {"--race-best-fitness"},
+            description = "Stops pole balancing evaluations once the network can no longer beat the best fitness found in previous generations. Its fitness is then the reward collected so far, a lower bound that species averages, offspring allocation and parent selection use like a full fitness. Ignored with --islands, --steady-state, --batched and --remote-workers.",
+            defaultValue = "false"
+    )
+    public boolean raceBestFitness;
+
+    @CommandLine.Option(
+            names = {"--steps-per-generation"},
+            description = "Limits the pole balancing steps of all evaluations of a generation, shared evenly by the networks, whose truncated fitness is used for selection. Must be at least the population size times the steps that solve the task, which are 10 episodes of 120000 steps for the cart-pole tasks. With 0, the steps are not limited. Ignored with --islands, --steady-state, --batched and --remote-workers.",
+            defaultValue = "0"
+    )
+    public long stepsPerGeneration;
+
+    @CommandLine.Option(
+            names = {"--racing"},
+            description = "Evaluates the networks of CARTPOLE_RANDOM episode by episode and stops running episodes for networks that are clearly worse than the best one, estimating their fitness from the episodes run so far. Evaluates on a single thread and is ignored with --islands, --steady-state, --batched and --remote-workers.",
+            defaultValue = "false"
+    )
+    public boolean racing;
+
+    @CommandLine.Option(
+            names = {"--racing-error-probability"},
+            description = "The probability that a single confidence bound used by --racing does not hold. It is not corrected for the number of networks and episodes compared, so with larger populations some network is more likely to be dropped although it is not worse.",
+            defaultValue = "" + RacingEvaluator.DEFAULT_ERROR_PROBABILITY
+    )
+    public double racingErrorProbability;
+
+    @CommandLine.Option(
+            names = {"--racing-min-rounds"},
+            description = "The number of episodes after the first one that every network runs before --racing can drop it.",
+            defaultValue = "" + RacingEvaluator.DEFAULT_MIN_ROUNDS
+    )
+    public int racingMinRounds;
+
+    @CommandLine.Option(
+            names = {"--common-start-states"},
+            description = "Evaluates all networks of a CARTPOLE_RANDOM generation from the same randomly drawn start states, on --evaluation-threads threads or a single one, and evaluates equal networks of a generation once. Ignored with --islands, --steady-state, --batched, --remote-workers and --racing.",
+            defaultValue = "false"
+    )
+    public boolean commonStartStates;
+
+    @CommandLine.Option(
+            names = {"-j", "--jobs"},
+            description = "The number of repetitions run in parallel. Every repetition draws from its own random number generator seeded from the master seed, so seeded results do not depend on the number of jobs. With 0, the repetitions run one after another on the shared random number generator.",
+            defaultValue = "0"
+    )
+    public int jobs;
+
+    @CommandLine.Option(
+            names = {"-i", "--islands"},
+            description = "The number of populations evolved in parallel that periodically exchange their best networks. With 0, a single population is evolved. The islands number new innovations concurrently, so seeded results can depend on the thread scheduling, also with --jobs.",
+            defaultValue = "0"
+    )
+    public int islands;
+
+    @CommandLine.Option(
+            names = {"--migration-interval"},
+            description = "The number of generations between two migrations of the island model.",
+            defaultValue = "10"
+    )
+    public int migrationInterval;
+
+    @CommandLine.Option(
+            names = {"--migrants"},
+            description = "The number of networks every island sends to each of its neighbours.",
+            defaultValue = "2"
+    )
+    public int migrants;
+
+    @CommandLine.Option(
+            names = {"--migration-topology"},
+            description = "The neighbours of every island [RING, FULLY_CONNECTED].",
+            defaultValue = "RING"
+    )
+    public IslandNeat.Topology migrationTopology;
+
+    @CommandLine.Option(
+            names = {"--steady-state"},
+            description = "Replaces one network at a time instead of whole generations, evaluating on as many workers as evaluation threads. The generation limit is converted into a budget of generations times population size evaluations.",
+            defaultValue = "false"
+    )
+    public boolean steadyState;
+
+    @CommandLine.Option(
+            names = {"--worker-port"},
+            description = "Runs as an evaluation worker that evaluates the networks received on the given port in the specified task, instead of running the search. With 0, a free port is chosen."
+    )
+    public Integer workerPort;
+
+    @CommandLine.Option(
+            names = {"--remote-workers"},
+            description = "The host:port addresses of evaluation workers evaluating the population instead of local threads.",
+            split = ","
+    )
+    public List<String> remoteWorkers = new ArrayList<>();
+
+    @CommandLine.Option(
+            names = {"--remote-batch-size"},
+            description = "The number of networks sent to an evaluation worker in a single request.",
+            defaultValue = "10"
+    )
+    public int remoteBatchSize;
+
+    @CommandLine.Option(
+            names = {"--checkpoint"},
+            description = "Periodically writes the state of the run to the given file. Requires a single repetition and is ignored with --jobs, --islands and --steady-state."
+    )
+    public Path checkpoint;
+
+    @CommandLine.Option(
+            names = {"--checkpoint-interval"},
+            description = "The number of generations between two checkpoints.",
+            defaultValue = "10"
+    )
+    public int checkpointInterval;
+
+    @CommandLine.Option(
+            names = {"--resume"},
+            description = "Resumes the run from the given checkpoint, continuing exactly where the checkpointed run stopped. Requires a single repetition and cannot be combined with --jobs, --islands and --steady-state."
+    )
+    public Path resume;
+
+    @CommandLine.Option(
+            names = {"--metrics"},
+            description = "Writes the phase timings, evaluation count, species count, genome sizes and allocated bytes of every generation to the given file. Ignored with --islands and --steady-state."
+    )
+    public Path metrics;
+
+    @CommandLine.Option(
+            names = {"--metrics-format"},
+            description = "The format of the metrics file [CSV, JSON], where JSON writes one object per line.",
+            defaultValue = "CSV"
+    )
+    public MetricsWriter.Format metricsFormat;
+
+    @CommandLine.Option(
+            names = {"--flight-recording"},
+            description = "Records the search with Java Flight Recorder to the given file, using the profile settings. The recording contains the generation, reproduction, speciation, evaluation and innovation events of the search, which are also recorded by recordings started with -XX:StartFlightRecording."
+    )
+    public Path flightRecording;
+
     @CommandLine.Option(
             names = {"-s", "--seed"},
             description = "Sets the random number generator to a fixed seed."
@@ -69,9 +269,13 @@ public static void main(String[] args) {
 
     public final List<Agent> solutions = new ArrayList<>();
     public final List<Integer> generations = new ArrayList<>();
+    public final List<Long> evaluations = new ArrayList<>();
     public final List<Boolean> successes = new ArrayList<>();
     public final List<Long> times = new ArrayList<>();
 
+    private MetricsWriter metricsWriter;
+    private Recording recording;
+
 
     /**
      * Use the Neat algorithm to solve the specified reinforcement learning task for the specified number of repetitions.
@@ -80,10 +284,55 @@ public static void main(String[] args) {
      */
     @Override
     public Integer call() {
+        if (workerPort != null) {
+            return serve();
+        }
+        if ((checkpoint != null || resume != null) && repetitions > 1) {
+            System.err.println("Checkpoints cannot tell repetitions apart, so --checkpoint and --resume require a single repetition.");
+            return 1;
+        }
+        if (resume != null && (jobs > 0 || islands > 0 || steadyState)) {
+            System.err.println("--resume cannot be combined with --jobs, --islands and --steady-state.");
+            return 1;
+        }
+        if (resume != null && !Files.isReadable(resume)) {
+            System.err.println("Cannot resume from " + resume);
+            return 1;
+        }
+        if (stepsPerGeneration > 0 && environmentFactory().create(new Random()) instanceof SinglePoleBalancing environment
+                && stepsPerGeneration / populationSize < environment.solvedFitness()) {
+            System.err.printf("The steps per generation must be at least %d to allow solving the task.%n",
+                    (long) environment.solvedFitness() * populationSize);
+            return 1;
+        }
         System.out.printf(
                 "Analysing task '%s' with a population size of %d and a maximum of %d generations over %d repetitions.%n",
                 task, populationSize, maxGenerations, repetitions);
-        IntStream.range(0, repetitions).forEach(_ -> solveTask());
+        try {
+            if (metrics != null) {
+                metricsWriter = new MetricsWriter(metrics, metricsFormat);
+            }
+            if (flightRecording != null) {
+                startFlightRecording();
+            }
+            if (jobs > 0) {
+                solveTasksInParallel();
+            } else {
+                IntStream.range(0, repetitions).forEach(_ -> solveTask());
+            }
+        } catch (IOException e) {
+            System.err.println("Cannot write the results: " + e.getMessage());
+            return 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
+        } catch (ExecutionException e) {
+            System.err.println("A repetition failed: " + e.getCause());
+            return 1;
+        } finally {
+            closeMetrics();
+            stopFlightRecording();
+        }
         printResults();
 
         if (visualise) {
@@ -107,17 +356,241 @@ public Integer call() {
      */
     public void solveTask() {
         Environment environment = initialiseTask();
-        Neuroevolution neat = initialiseNeat(populationSize, maxGenerations);
+        Neuroevolution neat;
+        if (islands > 0) {
+            neat = initialiseIslandNeat(Randomness.random());
+        } else if (steadyState) {
+            neat = initialiseSteadyStateNeat(Randomness.random());
+        } else if (!remoteWorkers.isEmpty()
+                || (racing || commonStartStates) && !batched && task == Tasks.CARTPOLE_RANDOM) {
+            neat = initialiseNeat(Randomness.random());
+        } else if (batched && task != Tasks.XOR) {
+            neat = initialiseBatchedNeat(populationSize, maxGenerations, task == Tasks.CARTPOLE_RANDOM);
+        } else if (evaluationThreads > 0) {
+            neat = initialiseNeat(populationSize, maxGenerations, environmentFactory(), evaluationThreads);
+        } else {
+            neat = initialiseNeat(populationSize, maxGenerations, environmentFactory().create(Randomness.random()));
+        }
+
+        if (neat instanceof NeatAlgorithm algorithm) {
+            algorithm.setCompileThreshold(compileThreshold);
+            algorithm.setFastActivations(fastActivations && remoteWorkers.isEmpty());
+            algorithm.setEvaluationBudget(raceBestFitness, stepsPerGeneration);
+            if (checkpoint != null) {
+                algorithm.setCheckpoint(checkpoint, checkpointInterval);
+            }
+            if (metricsWriter != null) {
+                algorithm.setGenerationListener(metricsWriter.listener(solutions.size()));
+            }
+            if (resume != null) {
+                try {
+                    algorithm.restore(resume);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot resume from " + resume, e);
+                }
+            }
+        }
 
         long startTime = System.currentTimeMillis();
         Agent solution = neat.solve(environment);
 
         times.add(System.currentTimeMillis() - startTime);
         generations.add(neat.getGeneration());
+        evaluations.add(neat.getEvaluations());
         successes.add(environment.solved(solution));
         solutions.add(solution);
     }
 
+    private void closeMetrics() {
+        if (metricsWriter != null) {
+            try {
+                metricsWriter.close();
+            } catch (IOException e) {
+                System.err.println("Cannot close metrics file " + metrics + ": " + e.getMessage());
+            }
+            metricsWriter = null;
+        }
+    }
+
+    private void startFlightRecording() throws IOException {
+        try {
+            recording = new Recording(Configuration.getConfiguration("profile"));
+        } catch (ParseException e) {
+            throw new IOException("Invalid flight recorder configuration", e);
+        }
+        recording.setName("NEAT");
+        recording.setDestination(flightRecording);
+        recording.start();
+    }
+
+    private void stopFlightRecording() {
+        if (recording != null) {
+            // Stopping writes the recording to its destination.
+            recording.stop();
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * The outcome of a single repetition.
+     */
+    private record Run(Agent solution, int generations, long evaluations, boolean success, long time) {
+    }
+
+    /**
+     * Solves the specified task for all repetitions on {@link #jobs} threads.
+     * The seed of every repetition is drawn from the shared random number generator before any repetition starts,
+     * and the results are recorded in the order of the repetitions.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting for the repetitions.
+     * @throws ExecutionException   if a repetition failed.
+     */
+    public void solveTasksInParallel() throws InterruptedException, ExecutionException {
+        long[] seeds = Randomness.random().longs(repetitions).toArray();
+        ExecutorService executor = Executors.newFixedThreadPool(jobs);
+        try {
+            List<Future<Run>> runs = new ArrayList<>(repetitions);
+            for (int i = 0; i < seeds.length; i++) {
+                long seed = seeds[i];
+                int repetition = i;
+                runs.add(executor.submit(() -> solveTask(new Random(seed), repetition)));
+            }
+            for (Future<Run> future : runs) {
+                Run run = future.get();
+                solutions.add(run.solution());
+                generations.add(run.generations());
+                evaluations.add(run.evaluations());
+                successes.add(run.success());
+                times.add(run.time());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Solves the specified task with an algorithm and environments that draw only from the given random number generator.
+     *
+     * @param random     The random number generator of the repetition.
+     * @param repetition The index of the repetition in the metrics.
+     * @return The outcome of the repetition.
+     */
+    private Run solveTask(Random random, int repetition) {
+        Environment environment = environmentFactory().create(random);
+        Neuroevolution neat = initialiseNeat(random);
+        if (metricsWriter != null && neat instanceof NeatAlgorithm algorithm) {
+            algorithm.setGenerationListener(metricsWriter.listener(repetition));
+        }
+
+        long startTime = System.currentTimeMillis();
+        Agent solution = neat.solve(environment);
+        long time = System.currentTimeMillis() - startTime;
+        return new Run(solution, neat.getGeneration(), neat.getEvaluations(), environment.solved(solution), time);
+    }
+
+    /**
+     * Initialises the Neuroevolution algorithm Neat to solve the specified task with the configured evaluation options,
+     * drawing all of its randomness from the given random number generator.
+     *
+     * @param random The random number generator of the algorithm and its environments.
+     * @return The initialised Neat algorithm.
+     */
+    public Neuroevolution initialiseNeat(Random random) {
+        if (islands > 0) {
+            return initialiseIslandNeat(random);
+        }
+        if (steadyState) {
+            return initialiseSteadyStateNeat(random);
+        }
+        EnvironmentFactory factory = environmentFactory();
+        // The template environment only determines the shape of the generated networks.
+        Environment template = factory.create(new Random());
+        FitnessEvaluator evaluator;
+        if (!remoteWorkers.isEmpty()) {
+            evaluator = new RemoteEvaluator(remoteWorkerAddresses(), remoteBatchSize, random);
+        } else if (batched && task != Tasks.XOR) {
+            evaluator = new BatchedEvaluator(new BatchedSinglePoleBalancing(10, task == Tasks.CARTPOLE_RANDOM), random);
+        } else if (racing && task == Tasks.CARTPOLE_RANDOM
+                && factory.create(random) instanceof EpisodicEnvironment environment) {
+            evaluator = new RacingEvaluator(environment, racingErrorProbability, racingMinRounds);
+        } else if (commonStartStates && task == Tasks.CARTPOLE_RANDOM) {
+            evaluator = new CommonStartStatesEvaluator(factory, Math.max(1, evaluationThreads), random);
+        } else if (evaluationThreads > 0) {
+            evaluator = new ParallelEvaluator(factory, evaluationThreads, random);
+        } else {
+            evaluator = new SequentialEvaluator(factory.create(random));
+        }
+        if (template.isDeterministic()) {
+            evaluator = new CachingEvaluator(evaluator);
+        }
+        NeatAlgorithm neat = new NeatAlgorithm(populationSize, maxGenerations, template, evaluator, random);
+        neat.setCompileThreshold(compileThreshold);
+        neat.setFastActivations(fastActivations && remoteWorkers.isEmpty());
+        neat.setEvaluationBudget(raceBestFitness, stepsPerGeneration);
+        return neat;
+    }
+
+    /**
+     * Initialises the island model of Neat to solve the specified task with the configured migration options.
+     *
+     * @param random The random number generator deriving the seed of every island.
+     * @return The initialised island model.
+     */
+    public Neuroevolution initialiseIslandNeat(Random random) {
+        return new IslandNeat(islands, populationSize, maxGenerations, environmentFactory(),
+                migrationInterval, migrants, migrationTopology, random);
+    }
+
+    /**
+     * Initialises the steady-state variant of Neat to solve the specified task.
+     * The evaluation budget corresponds to the configured number of generations of the configured population size.
+     *
+     * @param random The random number generator of the algorithm and its workers.
+     * @return The initialised steady-state Neat algorithm.
+     */
+    public Neuroevolution initialiseSteadyStateNeat(Random random) {
+        return new SteadyStateNeat(populationSize, (long) populationSize * maxGenerations, environmentFactory(),
+                Math.max(1, evaluationThreads), random);
+    }
+
+    /**
+     * Parses the addresses of the remote evaluation workers.
+     *
+     * @return The addresses of the remote workers.
+     * @throws IllegalArgumentException if an address is not of the form host:port.
+     */
+    public List<InetSocketAddress> remoteWorkerAddresses() {
+        List<InetSocketAddress> addresses = new ArrayList<>(remoteWorkers.size());
+        for (String worker : remoteWorkers) {
+            int separator = worker.lastIndexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected host:port but was " + worker);
+            }
+            addresses.add(new InetSocketAddress(worker.substring(0, separator),
+                    Integer.parseInt(worker.substring(separator + 1))));
+        }
+        return addresses;
+    }
+
+    /**
+     * Evaluates the networks received on {@link #workerPort} in the specified task until the process is stopped.
+     * The chosen port is printed first, so a parent process can connect to a worker started on port 0.
+     *
+     * @return 1 if the port cannot be opened, 0 otherwise.
+     */
+    public int serve() {
+        try (ServerSocket server = new ServerSocket(workerPort)) {
+            System.out.println("Evaluation worker listening on port " + server.getLocalPort());
+            System.out.flush();
+            new EvaluationWorker(environmentFactory()).serve(server);
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Cannot open port " + workerPort + ": " + e.getMessage());
+            return 1;
+        }
+    }
+
     /**
      * Prints the results of the evaluation.
      */
@@ -126,17 +599,19 @@ public void printResults() {
         double averageGenerations = generations.stream().mapToInt(Integer::intValue).average().orElseThrow();
         double maxGenerations = generations.stream().mapToInt(Integer::intValue).max().orElseThrow();
         double minGenerations = generations.stream().mapToInt(Integer::intValue).min().orElseThrow();
+        double averageEvaluations = evaluations.stream().mapToLong(Long::longValue).average().orElse(0);
         double averageTimeSeconds = times.stream().mapToLong(Long::longValue).average().orElseThrow() / 1000.0;
         System.out.println("Successful repetitions: " + successfulRepetitions);
         System.out.println("Min generations: " + minGenerations);
         System.out.println("Average generations: " + averageGenerations);
         System.out.println("Max generations: " + maxGenerations);
+        System.out.println("Average evaluations: " + averageEvaluations);
         System.out.println("Average time per task (s): " + averageTimeSeconds);
     }
 
 
     /**
-     * Initialises the Neuroevolution algorithm Neat to solve the specified task.
+     * Initialises the Neuroevolution algorithm Neat to solve the cart-pole task without randomisation.
      * Each Neat instance must start with a fresh state, such that no information is shared between instances.
      *
      * @param populationSize The size of the population.
@@ -144,10 +619,69 @@ public void printResults() {
      * @return The initialised Neat algorithm.
      */
     public static Neuroevolution initialiseNeat(int populationSize, int maxGenerations) {
-          Environment environment = new SinglePoleBalancing(10, false, Randomness.random());
+        return initialiseNeat(populationSize, maxGenerations, new SinglePoleBalancing(10, false, Randomness.random()));
+    }
+
+    /**
+     * Initialises the Neuroevolution algorithm Neat to evaluate the population in the given environment.
+     * Each Neat instance must start with a fresh state, such that no information is shared between instances.
+     *
+     * @param populationSize The size of the population.
+     * @param maxGenerations The maximum number of generations to run the algorithm for.
+     * @param environment    The environment of the task to solve.
+     * @return The initialised Neat algorithm.
+     */
+    public static Neuroevolution initialiseNeat(int populationSize, int maxGenerations, Environment environment) {
         return new NeatAlgorithm(populationSize, maxGenerations, environment);
     }
 
+    /**
+     * Initialises the Neuroevolution algorithm Neat to solve the specified task
+     * while evaluating the population on the given number of threads.
+     *
+     * @param populationSize     The size of the population.
+     * @param maxGenerations     The maximum number of generations to run the algorithm for.
+     * @param environmentFactory The factory creating the environment of every evaluation thread.
+     * @param threads            The number of evaluation threads.
+     * @return The initialised Neat algorithm.
+     */
+    public static Neuroevolution initialiseNeat(int populationSize, int maxGenerations,
+                                                EnvironmentFactory environmentFactory, int threads) {
+        return new NeatAlgorithm(populationSize, maxGenerations, environmentFactory, threads);
+    }
+
+    /**
+     * Initialises the Neuroevolution algorithm Neat to solve the cart-pole task
+     * while evaluating the whole population in lockstep on a batched simulator.
+     *
+     * @param populationSize The size of the population.
+     * @param maxGenerations The maximum number of generations to run the algorithm for.
+     * @param randomise      Whether to randomise the initial cart position and pole angle.
+     * @return The initialised Neat algorithm.
+     */
+    public static Neuroevolution initialiseBatchedNeat(int populationSize, int maxGenerations, boolean randomise) {
+        // The template environment only determines the shape of the generated networks.
+        Environment environment = new SinglePoleBalancing(10, randomise, new Random());
+        FitnessEvaluator evaluator = new BatchedEvaluator(new BatchedSinglePoleBalancing(10, randomise), Randomness.random());
+        if (environment.isDeterministic()) {
+            evaluator = new CachingEvaluator(evaluator);
+        }
+        return new NeatAlgorithm(populationSize, maxGenerations, environment, evaluator);
+    }
+
+    /**
+     * Returns a factory creating independent instances of the specified reinforcement learning task.
+     *
+     * @return The factory for the task.
+     */
+    public EnvironmentFactory environmentFactory() {
+        return switch (task) {
+            case Tasks.XOR -> random -> new XOR();
+            case Tasks.CARTPOLE -> random -> new SinglePoleBalancing(10, false, random);
+            case Tasks.CARTPOLE_RANDOM -> random -> new SinglePoleBalancing(10, true, random);
+        };
+    }
+
     /**
      * Initialises the specified reinforcement learning task.
      *
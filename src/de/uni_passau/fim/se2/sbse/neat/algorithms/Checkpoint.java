@@ -0,0 +1,204 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.ConcreteInnovation;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkCodec;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkFingerprint;
+import de.uni_passau.fim.se2.sbse.neat.utils.RestorableRandom;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * A snapshot of the state of a {@link NeatAlgorithm} between two generations, and its binary file format.
+ * <p>
+ * Chromosomes are immutable, so a snapshot only holds references to them and can be taken in time linear
+ * in the population size; only the fitness values, which the next evaluation overwrites, are copied.
+ * The file starts with a magic number and a format version, followed by the counters, the state of the
+ * random number generator, the innovations in registration order, every distinct chromosome once in the
+ * {@link NetworkCodec} format, the species as indices into the chromosomes,
+ * so chromosomes shared by several species are shared again after reading, and the fitness cache if any.
+ * The cache is part of the state, since cache misses draw evaluation seeds from the random number generator.
+ *
+ * @param populationSize The size of the population of the algorithm.
+ * @param generation     The number of completed generations.
+ * @param evaluations    The number of fitness evaluations.
+ * @param bestFitness    The best fitness found so far.
+ * @param best           The best chromosome found so far, or {@code null}.
+ * @param random         The state of the random number generator.
+ * @param innovations    The innovations in the order of their registration.
+ * @param chromosomes    Every distinct chromosome referenced by the snapshot.
+ * @param fitness        The fitness of every chromosome.
+ * @param species        The representative followed by the members of every species.
+ * @param cache          The entries of the fitness cache in access order, or {@code null} without a cache.
+ */
+record Checkpoint(int populationSize, int generation, long evaluations, double bestFitness, NetworkChromosome best,
+                  RestorableRandom.State random, List<Innovation> innovations,
+                  List<NetworkChromosome> chromosomes, double[] fitness, List<List<NetworkChromosome>> species,
+                  List<Map.Entry<NetworkFingerprint, Double>> cache) {
+
+    private static final int MAGIC = 0x4E454154;
+    private static final int VERSION = 1;
+
+    /**
+     * Takes a snapshot of the given species and the chromosomes they reference.
+     */
+    static Checkpoint of(int populationSize, int generation, long evaluations, double bestFitness,
+                         NetworkChromosome best, RestorableRandom.State random, List<Innovation> innovations,
+                         List<List<NetworkChromosome>> species,
+                         List<Map.Entry<NetworkFingerprint, Double>> cache) {
+        Set<NetworkChromosome> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<NetworkChromosome> chromosomes = new ArrayList<>();
+        if (best != null && distinct.add(best)) {
+            chromosomes.add(best);
+        }
+        for (List<NetworkChromosome> members : species) {
+            for (NetworkChromosome member : members) {
+                if (distinct.add(member)) {
+                    chromosomes.add(member);
+                }
+            }
+        }
+        double[] fitness = chromosomes.stream().mapToDouble(NetworkChromosome::getFitness).toArray();
+        return new Checkpoint(populationSize, generation, evaluations, bestFitness, best, random, innovations,
+                chromosomes, fitness, species, cache);
+    }
+
+    /**
+     * Streams the checkpoint to a temporary file next to the given file and then atomically replaces the file,
+     * so a crash during writing never leaves a truncated checkpoint behind.
+     *
+     * @param file The checkpoint file.
+     * @throws IOException if the file cannot be written.
+     */
+    void write(Path file) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        Path temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                write(out);
+            }
+            Files.move(temporary, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void write(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(populationSize);
+        out.writeInt(generation);
+        out.writeLong(evaluations);
+        out.writeDouble(bestFitness);
+
+        out.writeLong(random.seed());
+        out.writeBoolean(random.haveNextNextGaussian());
+        out.writeDouble(random.nextNextGaussian());
+
+        out.writeInt(innovations.size());
+        for (Innovation innovation : innovations) {
+            ConcreteInnovation concrete = (ConcreteInnovation) innovation;
+            out.writeInt(concrete.getOriginId());
+            out.writeInt(concrete.getGoalId());
+            out.writeInt(concrete.getderivedNumber());
+        }
+
+        Map<NetworkChromosome, Integer> indices = new IdentityHashMap<>();
+        out.writeInt(chromosomes.size());
+        for (int i = 0; i < chromosomes.size(); i++) {
+            indices.put(chromosomes.get(i), i);
+            out.writeDouble(fitness[i]);
+            NetworkCodec.write(chromosomes.get(i), out);
+        }
+        out.writeInt(best == null ? -1 : indices.get(best));
+
+        out.writeInt(species.size());
+        for (List<NetworkChromosome> members : species) {
+            out.writeInt(members.size());
+            for (NetworkChromosome member : members) {
+                out.writeInt(indices.get(member));
+            }
+        }
+
+        out.writeInt(cache == null ? -1 : cache.size());
+        if (cache != null) {
+            for (Map.Entry<NetworkFingerprint, Double> entry : cache) {
+                entry.getKey().write(out);
+                out.writeDouble(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Reads a checkpoint written by {@link #write(Path)}. The chromosomes are assigned their saved fitness.
+     *
+     * @param file The checkpoint file.
+     * @return The checkpoint.
+     * @throws IOException if the file cannot be read or is not a checkpoint of a supported version.
+     */
+    static Checkpoint read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not a checkpoint");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported checkpoint version " + version);
+            }
+            int populationSize = in.readInt();
+            int generation = in.readInt();
+            long evaluations = in.readLong();
+            double bestFitness = in.readDouble();
+            RestorableRandom.State random = new RestorableRandom.State(in.readLong(), in.readBoolean(), in.readDouble());
+
+            int innovationCount = in.readInt();
+            List<Innovation> innovations = new ArrayList<>(innovationCount);
+            for (int i = 0; i < innovationCount; i++) {
+                innovations.add(new ConcreteInnovation(in.readInt(), in.readInt(), in.readInt()));
+            }
+
+            int chromosomeCount = in.readInt();
+            List<NetworkChromosome> chromosomes = new ArrayList<>(chromosomeCount);
+            double[] fitness = new double[chromosomeCount];
+            for (int i = 0; i < chromosomeCount; i++) {
+                fitness[i] = in.readDouble();
+                NetworkChromosome chromosome = NetworkCodec.read(in);
+                chromosome.setFitness(fitness[i]);
+                chromosomes.add(chromosome);
+            }
+            int bestIndex = in.readInt();
+            NetworkChromosome best = bestIndex < 0 ? null : chromosome(chromosomes, bestIndex);
+
+            int speciesCount = in.readInt();
+            List<List<NetworkChromosome>> species = new ArrayList<>(speciesCount);
+            for (int i = 0; i < speciesCount; i++) {
+                int size = in.readInt();
+                List<NetworkChromosome> members = new ArrayList<>(size);
+                for (int j = 0; j < size; j++) {
+                    members.add(chromosome(chromosomes, in.readInt()));
+                }
+                species.add(members);
+            }
+
+            int cacheSize = in.readInt();
+            List<Map.Entry<NetworkFingerprint, Double>> cache = cacheSize < 0 ? null : new ArrayList<>(cacheSize);
+            for (int i = 0; i < cacheSize; i++) {
+                cache.add(Map.entry(NetworkFingerprint.read(in), in.readDouble()));
+            }
+            return new Checkpoint(populationSize, generation, evaluations, bestFitness, best, random, innovations,
+                    chromosomes, fitness, species, cache);
+        }
+    }
+
+    private static NetworkChromosome chromosome(List<NetworkChromosome> chromosomes, int index) throws IOException {
+        if (index < 0 || index >= chromosomes.size()) {
+            throw new IOException("Invalid chromosome index " + index);
+        }
+        return chromosomes.get(index);
+    }
+}
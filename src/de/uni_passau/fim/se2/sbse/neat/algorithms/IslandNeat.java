@@ -0,0 +1,285 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation.SequentialEvaluator;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.InnovationRegistry;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.environments.Environment;
+import de.uni_passau.fim.se2.sbse.neat.environments.EnvironmentFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Runs several independent Neat populations, the islands, on separate threads and periodically exchanges their best chromosomes.
+ * <p>
+ * All islands evolve in lockstep for a number of generations given by the migration interval.
+ * After every interval, copies of the fittest chromosomes of each island migrate to its neighbours in the migration topology
+ * and replace the last children of the next generation.
+ * The islands share one innovation registry, so equal connections have equal innovation numbers on all islands.
+ * Since the islands register novel innovations concurrently, the numbering of innovations, and with it the order of genes
+ * in crossover children, can depend on the thread scheduling.
+ */
+public class IslandNeat implements Neuroevolution {
+
+    /**
+     * The neighbours each island sends its migrants to.
+     */
+    public enum Topology {
+        /**
+         * Every island sends its migrants to the next island, the last island to the first.
+         */
+        RING,
+        /**
+         * Every island sends its migrants to all other islands.
+         */
+        FULLY_CONNECTED
+    }
+
+    private final int islandCount;
+    private final int populationSize;
+    private final int maximumGenerations;
+    private final EnvironmentFactory environmentFactory;
+    private final int migrationInterval;
+    private final int migrants;
+    private final Topology topology;
+    private final Random random;
+    private int generation;
+    private long evaluations;
+
+    /**
+     * Creates a new island model of Neat.
+     *
+     * @param islandCount        The number of islands, each evolved on a thread of its own.
+     * @param populationSize     The size of the population of every island.
+     * @param maximumGenerations The maximum number of generations every island is evolved for.
+     * @param environmentFactory The factory creating the environment of every island.
+     * @param migrationInterval  The number of generations between two migrations.
+     * @param migrants           The number of chromosomes every island sends to each of its neighbours.
+     * @param topology           The neighbours of every island.
+     * @param random             The random number generator deriving the seed of every island.
+     * @throws IllegalArgumentException if a count is out of range or the immigrants would fill a whole population.
+     */
+    public IslandNeat(int islandCount, int populationSize, int maximumGenerations, EnvironmentFactory environmentFactory,
+                      int migrationInterval, int migrants, Topology topology, Random random) {
+        if (islandCount < 1) {
+            throw new IllegalArgumentException("The number of islands must be positive but was " + islandCount);
+        }
+        if (migrationInterval < 1) {
+            throw new IllegalArgumentException("The migration interval must be positive but was " + migrationInterval);
+        }
+        if (migrants < 0) {
+            throw new IllegalArgumentException("The number of migrants must not be negative but was " + migrants);
+        }
+        int sources = requireNonNull(topology) == Topology.RING ? Math.min(1, islandCount - 1) : islandCount - 1;
+        if (migrants * sources >= populationSize) {
+            throw new IllegalArgumentException("The " + migrants * sources
+                    + " immigrants per migration must leave room in a population of size " + populationSize);
+        }
+        this.islandCount = islandCount;
+        this.populationSize = populationSize;
+        this.maximumGenerations = maximumGenerations;
+        this.environmentFactory = requireNonNull(environmentFactory);
+        this.migrationInterval = migrationInterval;
+        this.migrants = migrants;
+        this.topology = topology;
+        this.random = requireNonNull(random);
+    }
+
+    /**
+     * A population evolved by Neat together with the environment it is evaluated in.
+     */
+    private static final class Island {
+        private final NeatAlgorithm neat;
+        private final Environment environment;
+
+        /**
+         * Whether the island evaluated a generation that still has to be reproduced.
+         */
+        private boolean evaluated;
+
+        private Island(NeatAlgorithm neat, Environment environment) {
+            this.neat = neat;
+            this.environment = environment;
+        }
+
+        /**
+         * Returns the number of generations the island has completed, counting an evaluated generation.
+         */
+        private int generations() {
+            return neat.getGeneration() + (evaluated ? 1 : 0);
+        }
+    }
+
+    /**
+     * Evolves the islands until the given environment considers the best chromosome of an island a solution,
+     * or all islands reached the maximum number of generations.
+     * An island stops its migration interval early once the environment it is evaluated in considers its best chromosome
+     * a solution; this chromosome is then judged by the given environment on the calling thread.
+     *
+     * @param environment The environment deciding whether a chromosome solves the task.
+     * @return The solution, or the fittest chromosome of all islands.
+     */
+    @Override
+    public Agent solve(Environment environment) {
+        InnovationRegistry innovations = new InnovationRegistry();
+        List<Island> islands = new ArrayList<>(islandCount);
+        for (int i = 0; i < islandCount; i++) {
+            Random islandRandom = new Random(random.nextLong());
+            Environment islandEnvironment = environmentFactory.create(islandRandom);
+            // The template environment only determines the shape of the generated networks.
+            Environment template = environmentFactory.create(new Random());
+            NeatAlgorithm neat = new NeatAlgorithm(populationSize, maximumGenerations, template,
+                    NeatAlgorithm.memoise(template, new SequentialEvaluator(islandEnvironment)), islandRandom, innovations);
+            islands.add(new Island(neat, islandEnvironment));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(islandCount, runnable -> {
+            Thread thread = new Thread(runnable, "neat-island");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Void>> initialisation = new ArrayList<>();
+            for (Island island : islands) {
+                initialisation.add(executor.submit(() -> {
+                    island.neat.initialisePopulation();
+                    return null;
+                }));
+            }
+            await(initialisation);
+
+            List<List<NetworkChromosome>> immigrants = Collections.nCopies(islandCount, List.of());
+            Island solvedBy = null;
+            while (solvedBy == null && islands.stream().anyMatch(island -> island.generations() < maximumGenerations)) {
+                List<Future<Boolean>> epochs = new ArrayList<>(islandCount);
+                for (int i = 0; i < islandCount; i++) {
+                    Island island = islands.get(i);
+                    List<NetworkChromosome> incoming = immigrants.get(i);
+                    epochs.add(executor.submit(() -> evolve(island, incoming)));
+                }
+                List<Boolean> solved = await(epochs);
+                for (int i = 0; i < islandCount && solvedBy == null; i++) {
+                    if (solved.get(i) && environment.solved(islands.get(i).neat.solution())) {
+                        solvedBy = islands.get(i);
+                    }
+                }
+                immigrants = migrate(islands);
+            }
+
+            if (solvedBy != null) {
+                generation = solvedBy.neat.getGeneration();
+                return solvedBy.neat.solution();
+            }
+            generation = islands.stream().mapToInt(Island::generations).max().orElse(0);
+            return islands.stream()
+                    .max(Comparator.comparingDouble(island -> island.neat.getBestFitness()))
+                    .orElseThrow()
+                    .neat.solution();
+        } finally {
+            executor.shutdownNow();
+            islands.forEach(island -> island.neat.close());
+            evaluations = islands.stream().mapToLong(island -> island.neat.getEvaluations()).sum();
+        }
+    }
+
+    /**
+     * Evolves the given island for one migration interval, starting with the reproduction of its last evaluated generation.
+     *
+     * @return true if the environment of the island considers its best chromosome a solution.
+     */
+    private boolean evolve(Island island, List<NetworkChromosome> immigrants) {
+        for (int i = 0; i < migrationInterval; i++) {
+            if (island.evaluated) {
+                island.neat.reproduce(i == 0 ? immigrants : List.of());
+                island.evaluated = false;
+            }
+            if (island.neat.isExhausted()) {
+                return false;
+            }
+            boolean solved = island.neat.evaluateGeneration(island.environment);
+            island.evaluated = true;
+            if (solved) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Copies the fittest chromosomes of every island to its neighbours.
+     *
+     * @return The immigrants of every island.
+     */
+    private List<List<NetworkChromosome>> migrate(List<Island> islands) {
+        List<List<NetworkChromosome>> emigrants = new ArrayList<>(islandCount);
+        for (Island island : islands) {
+            emigrants.add(island.evaluated ? island.neat.bestCandidates(migrants) : List.of());
+        }
+        return immigrants(emigrants, topology);
+    }
+
+    /**
+     * Sends copies of the emigrants of every island to its neighbours in the given topology.
+     *
+     * @param emigrants The emigrants of every island.
+     * @param topology  The neighbours of every island.
+     * @return The immigrants of every island, in the order of their source islands.
+     */
+    static List<List<NetworkChromosome>> immigrants(List<List<NetworkChromosome>> emigrants, Topology topology) {
+        int islandCount = emigrants.size();
+        List<List<NetworkChromosome>> immigrants = new ArrayList<>(islandCount);
+        for (int i = 0; i < islandCount; i++) {
+            List<NetworkChromosome> incoming = new ArrayList<>();
+            for (int source = 0; source < islandCount; source++) {
+                boolean neighbour = topology == Topology.RING
+                        ? source == (i + islandCount - 1) % islandCount
+                        : source != i;
+                if (neighbour && source != i) {
+                    // Islands must not share chromosomes, since a chromosome must not compute forward passes on two threads.
+                    emigrants.get(source).forEach(chromosome -> incoming.add(
+                            new NetworkChromosome(chromosome.getLayers(), new ArrayList<>(chromosome.getConnections()))));
+                }
+            }
+            immigrants.add(incoming);
+        }
+        return immigrants;
+    }
+
+    private static <T> List<T> await(List<Future<T>> futures) {
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while evolving the islands", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Evolving an island failed", e.getCause());
+        }
+        return results;
+    }
+
+    @Override
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns the number of fitness evaluations performed on all islands together.
+     *
+     * @return The number of fitness evaluations.
+     */
+    @Override
+    public long getEvaluations() {
+        return evaluations;
+    }
+}
@@ -1,14 +1,38 @@
 package de.uni_passau.fim.se2.sbse.neat.algorithms;
 
 import de.uni_passau.fim.se2.sbse.neat.chromosomes.*;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation.CachingEvaluator;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation.FitnessEvaluator;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation.ParallelEvaluator;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation.SequentialEvaluator;
 import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.InnovationRegistry;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.metrics.GenerationListener;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.metrics.GenerationMetrics;
 import de.uni_passau.fim.se2.sbse.neat.environments.Environment;
+import de.uni_passau.fim.se2.sbse.neat.environments.EnvironmentFactory;
+import de.uni_passau.fim.se2.sbse.neat.environments.EvaluationBudget;
+import de.uni_passau.fim.se2.sbse.neat.events.GenerationEndEvent;
+import de.uni_passau.fim.se2.sbse.neat.events.GenerationStartEvent;
+import de.uni_passau.fim.se2.sbse.neat.events.ReproductionPhaseEvent;
+import de.uni_passau.fim.se2.sbse.neat.events.SpeciationPhaseEvent;
 import de.uni_passau.fim.se2.sbse.neat.crossover.NeatCrossover;
 import de.uni_passau.fim.se2.sbse.neat.mutation.NeatMutation;
 import de.uni_passau.fim.se2.sbse.neat.utils.Randomness;
+import de.uni_passau.fim.se2.sbse.neat.utils.RestorableRandom;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.util.Objects.requireNonNull;
 
 /**
  * Represents a neuroevolution algorithm that solves reinforcement learning
@@ -20,31 +44,245 @@ public class NeatAlgorithm implements Neuroevolution {
     private final Set<Innovation> innovations;
     private final NeatCrossover crossover;
     private int actualGenerations = 0;
+    private long evaluations = 0;
     private final List<ChromesomeToGroup> population;
     private final NeatMutation mutation;
     private final int maximumGenerations;
     private final Environment testEnvironment;
+    private final FitnessEvaluator evaluator;
+    private double compileThreshold = Double.POSITIVE_INFINITY;
+    private boolean fastActivations;
+    private boolean raceBestFitness;
+    private long stepsPerGeneration;
+    private double betterFitness = Double.NEGATIVE_INFINITY;
+    private NetworkChromosome betterChromosome;
+    private Path checkpointFile;
+    private int checkpointInterval;
+    private ExecutorService checkpointWriter;
+    private Future<?> pendingCheckpoint;
+    private GenerationListener generationListener;
+    private GenerationRecorder recorder;
 
   
     public NeatAlgorithm(int populationSize, int maximumGenerations, Environment testEnvironment) {
+        this(populationSize, maximumGenerations, testEnvironment,
+                memoise(testEnvironment, new SequentialEvaluator(testEnvironment)));
+    }
+
+    /**
+     * Creates a Neat algorithm that evaluates the population on the given number of threads.
+     * Every thread evaluates candidates on its own environment created by the given factory.
+     * For a fixed seed, the results do not depend on the number of threads.
+     *
+     * @param populationSize     The size of the population.
+     * @param maximumGenerations The maximum number of generations to run the algorithm for.
+     * @param environmentFactory The factory creating the environment instances used for the evaluation.
+     * @param threads            The number of threads evaluating the population.
+     */
+    public NeatAlgorithm(int populationSize, int maximumGenerations, EnvironmentFactory environmentFactory, int threads) {
+        // The template environment only determines the shape of the generated networks.
+        this(populationSize, maximumGenerations, environmentFactory.create(new Random()), environmentFactory, threads);
+    }
+
+    private NeatAlgorithm(int populationSize, int maximumGenerations, Environment template,
+                          EnvironmentFactory environmentFactory, int threads) {
+        this(populationSize, maximumGenerations, template,
+                memoise(template, new ParallelEvaluator(environmentFactory, threads, Randomness.random())));
+    }
+
+    /**
+     * Creates a Neat algorithm that evaluates the population with the given evaluator.
+     *
+     * @param populationSize     The size of the population.
+     * @param maximumGenerations The maximum number of generations to run the algorithm for.
+     * @param testEnvironment    The environment determining the number of network inputs and outputs.
+     * @param evaluator          The evaluator computing the fitness of the candidates.
+     */
+    public NeatAlgorithm(int populationSize, int maximumGenerations, Environment testEnvironment, FitnessEvaluator evaluator) {
+        this(populationSize, maximumGenerations, testEnvironment, evaluator, Randomness.random());
+    }
+
+    /**
+     * Creates a Neat algorithm that evaluates the population with the given evaluator
+     * and draws all of its random decisions from the given random number generator.
+     * Algorithms with separate random number generators can run concurrently.
+     *
+     * @param populationSize     The size of the population.
+     * @param maximumGenerations The maximum number of generations to run the algorithm for.
+     * @param testEnvironment    The environment determining the number of network inputs and outputs.
+     * @param evaluator          The evaluator computing the fitness of the candidates.
+     * @param random             The random number generator of the algorithm.
+     */
+    public NeatAlgorithm(int populationSize, int maximumGenerations, Environment testEnvironment,
+                         FitnessEvaluator evaluator, Random random) {
+        this(populationSize, maximumGenerations, testEnvironment, evaluator, random, new InnovationRegistry());
+    }
+
+    /**
+     * Creates a Neat algorithm that registers its innovations in the given registry,
+     * which may be shared with other algorithms running concurrently to keep their innovation numbers comparable.
+     *
+     * @param populationSize     The size of the population.
+     * @param maximumGenerations The maximum number of generations to run the algorithm for.
+     * @param testEnvironment    The environment determining the number of network inputs and outputs.
+     * @param evaluator          The evaluator computing the fitness of the candidates.
+     * @param random             The random number generator of the algorithm.
+     * @param innovations        The registry of the innovations that occurred so far.
+     */
+    public NeatAlgorithm(int populationSize, int maximumGenerations, Environment testEnvironment,
+                         FitnessEvaluator evaluator, Random random, InnovationRegistry innovations) {
         this.populationSize = populationSize;
-        this.random = Randomness.random();
-        this.innovations = new HashSet<>();
+        this.random = requireNonNull(random);
+        this.innovations = requireNonNull(innovations);
         this.mutation = new NeatMutation(innovations, random);
         this.population = new ArrayList<>();
         this.maximumGenerations = maximumGenerations;
         this.crossover = new NeatCrossover(random);
         this.testEnvironment = testEnvironment;
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Sets the fitness from which on the forward pass of a candidate is compiled into a generated class after its evaluation.
+     * Carried over candidates then compute their forward passes faster in later evaluations.
+     * The solution returned by {@link #solve} is always compiled.
+     *
+     * @param compileThreshold The fitness threshold, {@link Double#POSITIVE_INFINITY} to disable compilation during the search.
+     */
+    public void setCompileThreshold(double compileThreshold) {
+        this.compileThreshold = compileThreshold;
+    }
+
+    /**
+     * Sets whether the candidates approximate their activation functions during the evaluation,
+     * see {@link NetworkChromosome#setFastActivations(boolean)}. The solution returned by {@link #solve}
+     * uses the same activation functions as during the search.
+     *
+     * @param fastActivations Whether the activation functions are approximated.
+     */
+    public void setFastActivations(boolean fastActivations) {
+        this.fastActivations = fastActivations;
+    }
+
+    /**
+     * Sets the budget of the evaluations of every generation, which environments supporting
+     * {@link EvaluationBudget budgets} use to stop evaluations early and mark the chromosomes as truncated.
+     * <p>
+     * When racing the best fitness, an evaluation stops once the chromosome can no longer beat the best fitness
+     * found in previous generations; such a chromosome cannot become the new best or solve the task,
+     * and its fitness is the reward collected until then.
+     * A budget of steps per generation is shared evenly by the evaluations of a generation;
+     * if a chromosome's share is below the fitness that solves the task, no chromosome can solve it.
+     * Without either, every chromosome is evaluated in full.
+     * <p>
+     * The fitness of a truncated chromosome is only a lower bound of its full fitness, but it is used like any other
+     * fitness: for the average fitness of its species, and thus the offspring allocated to the species,
+     * and for the selection of parents within the species. Truncation therefore changes the ranking
+     * of all chromosomes but the best ones.
+     *
+     * @param raceBestFitness    Whether evaluations stop once they can no longer beat the best fitness so far.
+     * @param stepsPerGeneration The number of environment steps of all evaluations of a generation,
+     *                           or 0 for no limit.
+     * @throws IllegalArgumentException if the number of steps is negative.
+     */
+    public void setEvaluationBudget(boolean raceBestFitness, long stepsPerGeneration) {
+        if (stepsPerGeneration < 0) {
+            throw new IllegalArgumentException("The steps per generation must not be negative but were "
+                    + stepsPerGeneration);
+        }
+        this.raceBestFitness = raceBestFitness;
+        this.stepsPerGeneration = stepsPerGeneration;
+    }
+
+    /**
+     * Sets the listener receiving the metrics of every generation of {@link #solve}.
+     * Without a listener, no metrics are recorded and no time is spent on measuring the phases of a generation.
+     *
+     * @param listener The listener, or {@code null} to stop recording metrics.
+     */
+    public void setGenerationListener(GenerationListener listener) {
+        this.generationListener = listener;
+        this.recorder = listener == null ? null : new GenerationRecorder();
+    }
+
+    /**
+     * Enables writing a checkpoint to the given file after every given number of generations.
+     * Checkpoints are written on a background thread, so the search continues while a checkpoint is written.
+     * The algorithm must draw from a {@link RestorableRandom}, such that the run can be resumed exactly.
+     *
+     * @param file     The checkpoint file, replaced atomically by every checkpoint.
+     * @param interval The number of generations between two checkpoints.
+     * @throws IllegalArgumentException if the interval is not positive.
+     * @throws IllegalStateException    if the random number generator of the algorithm cannot be restored.
+     */
+    public void setCheckpoint(Path file, int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("The checkpoint interval must be positive but was " + interval);
+        }
+        restorableRandom();
+        this.checkpointFile = requireNonNull(file);
+        this.checkpointInterval = interval;
+    }
+
+    /**
+     * Restores the state of a run from the given checkpoint, such that {@link #solve} continues the run
+     * with the generation after the checkpoint, exactly as if it had not been interrupted.
+     * The algorithm must be configured like the interrupted one; the maximum number of generations may differ.
+     *
+     * @param file The checkpoint file.
+     * @throws IOException              if the checkpoint cannot be read.
+     * @throws IllegalArgumentException if the checkpoint was written with a different population size.
+     * @throws IllegalStateException    if the random number generator of the algorithm cannot be restored.
+     */
+    public void restore(Path file) throws IOException {
+        RestorableRandom restorable = restorableRandom();
+        Checkpoint checkpoint = Checkpoint.read(file);
+        if (checkpoint.populationSize() != populationSize) {
+            throw new IllegalArgumentException("The checkpoint has a population size of " + checkpoint.populationSize()
+                    + " instead of " + populationSize);
+        }
+        restorable.setState(checkpoint.random());
+        innovations.clear();
+        innovations.addAll(checkpoint.innovations());
+        population.clear();
+        for (List<NetworkChromosome> species : checkpoint.species()) {
+            ChromesomeToGroup group = new ChromesomeToGroup(species.getFirst());
+            group.remove();
+            species.subList(1, species.size()).forEach(group::addCandidate);
+            population.add(group);
+        }
+        if (evaluator instanceof CachingEvaluator cache && checkpoint.cache() != null) {
+            cache.restore(checkpoint.cache());
+        }
+        actualGenerations = checkpoint.generation();
+        evaluations = checkpoint.evaluations();
+        betterFitness = checkpoint.bestFitness();
+        betterChromosome = checkpoint.best();
+    }
+
+    private RestorableRandom restorableRandom() {
+        if (!(random instanceof RestorableRandom restorable)) {
+            throw new IllegalStateException("Checkpoints require a " + RestorableRandom.class.getSimpleName());
+        }
+        return restorable;
+    }
+
+    /**
+     * Caches the fitness of unchanged candidates, such as carried over elites, if the environment is deterministic.
+     */
+    static FitnessEvaluator memoise(Environment environment, FitnessEvaluator evaluator) {
+        return environment.isDeterministic() ? new CachingEvaluator(evaluator) : evaluator;
     }
 
-   
     public class ChromesomeToGroup {
         private double fitnessAverage;
         protected NetworkChromosome representative;
+        private final InnovationView representativeGenes;
         private final List<NetworkChromosome> candidate = new ArrayList<>();
 
         public ChromesomeToGroup(NetworkChromosome representative) {
             this.representative = representative;
+            this.representativeGenes = representative.getInnovationView();
             this.candidate.add(representative);
         }
 
@@ -71,6 +309,37 @@ public double getFitnessAverage() {
 
     @Override
     public Agent solve(Environment environment) {
+        if (population.isEmpty()) {
+            initialisePopulation();
+        }
+
+        try {
+            while (actualGenerations < maximumGenerations) {
+                boolean solved = evaluateGeneration(environment);
+                if (!solved) {
+                    reproduce(List.of());
+                }
+                if (recorder != null) {
+                    generationListener.generationCompleted(recorder.complete());
+                }
+                if (solved) {
+                    break;
+                }
+                if (checkpointFile != null && actualGenerations % checkpointInterval == 0) {
+                    checkpoint();
+                }
+            }
+        } finally {
+            close();
+        }
+
+        return solution();
+    }
+
+    /**
+     * Generates the initial population and assigns its chromosomes to species.
+     */
+    void initialisePopulation() {
         NetworkGenerator generateNetwork = new NetworkGenerator(
                 innovations,
                 testEnvironment.stateSize(),
@@ -81,165 +350,363 @@ public Agent solve(Environment environment) {
             NetworkChromosome chromosome = generateNetwork.generate();
             specieAssignment(chromosome);
         }
+    }
 
-        double betterFitness = Double.NEGATIVE_INFINITY;
-        NetworkChromosome betterChromosome = null;
+    /**
+     * Evaluates the current population and updates the best chromosome found so far.
+     *
+     * @param environment The environment deciding whether an improved chromosome solves the task.
+     * @return true if the best chromosome found so far solves the task.
+     */
+    boolean evaluateGeneration(Environment environment) {
+        long start = recorder == null ? 0 : recorder.start();
+        GenerationStartEvent.emit(actualGenerations, population.size());
+        // A chromosome that founded a new species after reproduction also belongs to its old one.
+        List<NetworkChromosome> candidates = population.stream()
+                .flatMap(s -> s.getCandidate().stream())
+                .distinct()
+                .toList();
+        candidates.forEach(c -> c.setFastActivations(fastActivations));
+        evaluator.evaluate(candidates, evaluationBudget(candidates.size()));
+        evaluations += candidates.size();
+        population.forEach(ChromesomeToGroup::calculateAverageFitness);
+        population.stream()
+                .flatMap(s -> s.getCandidate().stream())
+                .filter(c -> c.getFitness() >= compileThreshold)
+                .forEach(NetworkChromosome::compile);
+
+        NetworkChromosome currentBest = population.stream()
+                .flatMap(s -> s.getCandidate().stream())
+                .max(Comparator.comparingDouble(NetworkChromosome::getFitness))
+                .orElseThrow(() -> new IllegalStateException("No chromose found"));
+        boolean solved = false;
+        if (currentBest.getFitness() > betterFitness) {
+            betterFitness = currentBest.getFitness();
+            betterChromosome = currentBest;
+            solved = environment.solved(betterChromosome);
+        }
+        if (solved) {
+            GenerationEndEvent.emit(actualGenerations, evaluations, betterFitness, true);
+        }
+        if (recorder != null) {
+            recorder.evaluated(actualGenerations, candidates, population.size(), start);
+        }
+        return solved;
+    }
 
-        while (actualGenerations < maximumGenerations) {
+    /**
+     * Returns the fittest candidates of the evaluated population, which must not have been reproduced yet.
+     * A chromosome that belongs to several species is returned only once.
+     *
+     * @param count The maximum number of candidates to return.
+     * @return The fittest candidates in descending order of fitness.
+     */
+    List<NetworkChromosome> bestCandidates(int count) {
+        return population.stream()
+                .flatMap(s -> s.getCandidate().stream())
+                .distinct()
+                .sorted(Comparator.comparingDouble(NetworkChromosome::getFitness).reversed())
+                .limit(count)
+                .toList();
+    }
 
-            for (ChromesomeToGroup group : population) {
-                for (NetworkChromosome candidates : group.getCandidate()) {
-                    double fitness = testEnvironment.evaluate(candidates);
-                    candidates.setFitness(fitness);
-                }
-                group.calculateAverageFitness();
+    /**
+     * Replaces the evaluated population by its offspring and assigns the offspring to species.
+     * The given immigrants take the places of the last children.
+     *
+     * @param immigrants The chromosomes to add to the next population.
+     */
+    void reproduce(List<NetworkChromosome> immigrants) {
+        long mark = recorder == null ? 0 : System.nanoTime();
+        ReproductionPhaseEvent reproduction = new ReproductionPhaseEvent();
+        reproduction.begin();
+        double totalAdjustedFitness = population.stream()
+                .mapToDouble(s -> {
+                    double populationSize = s.getCandidate().size();
+                    s.getCandidate().forEach(m -> m.setFitness(m.getFitness() / populationSize));
+                    return s.getFitnessAverage();
+                })
+                .sum();
+
+        List<NetworkChromosome> newPopulation = new ArrayList<>();
+
+        for (ChromesomeToGroup group : population) {
+            if (group.getCandidate().size() >= 5) {
+                NetworkChromosome best = group.getCandidate().stream()
+                        .max(Comparator.comparingDouble(NetworkChromosome::getFitness))
+                        .get();
+                newPopulation.add(best);
             }
+        }
 
-            NetworkChromosome currentBest = population.stream()
-                    .flatMap(s -> s.getCandidate().stream())
-                    .max(Comparator.comparingDouble(NetworkChromosome::getFitness))
-                    .orElseThrow(() -> new IllegalStateException("No chromose found"));
-            if (currentBest.getFitness() > betterFitness) {
-                betterFitness = currentBest.getFitness();
-                betterChromosome = currentBest;
-                if (environment.solved(betterChromosome)) {
+        while (newPopulation.size() < populationSize - immigrants.size()) {
+            double randomAdjustFitness = random.nextDouble() * totalAdjustedFitness;
+            double total = 0;
+            ChromesomeToGroup selectedGroup = null;
+            for (ChromesomeToGroup specie : population) {
+                total += specie.getFitnessAverage();
+                if (total > randomAdjustFitness) {
+                    selectedGroup = specie;
                     break;
                 }
             }
 
-            double totalAdjustedFitness = population.stream()
-                    .mapToDouble(s -> {
-                        double populationSize = s.getCandidate().size();
-                        s.getCandidate().forEach(m -> m.setFitness(m.getFitness() / populationSize));
-                        return s.getFitnessAverage();
-                    })
-                    .sum();
-
-            List<NetworkChromosome> newPopulation = new ArrayList<>();
-
-            for (ChromesomeToGroup group : population) {
-                if (group.getCandidate().size() >= 5) {
-                    NetworkChromosome best = group.getCandidate().stream()
-                            .max(Comparator.comparingDouble(NetworkChromosome::getFitness))
-                            .get();
-                    newPopulation.add(best);
-                }
+            if (selectedGroup == null) {
+                selectedGroup = population.get(population.size() - 1);
             }
 
-            while (newPopulation.size() < populationSize) {
-                double randomAdjustFitness = random.nextDouble() * totalAdjustedFitness;
-                double total = 0;
-                ChromesomeToGroup selectedGroup = null;
-                for (ChromesomeToGroup specie : population) {
-                    total += specie.getFitnessAverage();
-                    if (total > randomAdjustFitness) {
-                        selectedGroup = specie;
-                        break;
-                    }
+            NetworkChromosome child;
+
+            double threshold = 0.8;
+            if (random.nextDouble() > threshold) {
+                child = parentSelection(selectedGroup);
+                if (recorder != null) {
+                    mark = recorder.selected(mark);
                 }
+            } else {
 
-                if (selectedGroup == null) {
-                    selectedGroup = population.get(population.size() - 1);
+                NetworkChromosome firstParent = parentSelection(selectedGroup);
+                NetworkChromosome secondParent = parentSelection(selectedGroup);
+                if (recorder != null) {
+                    mark = recorder.selected(mark);
                 }
+                child = crossover.apply(firstParent, secondParent);
+            }
 
-                NetworkChromosome child;
+            if (random.nextDouble() < 0.02) {
+                child = mutation.addNeuron(child);
+            }
 
-                double threshold = 0.8;
-                if (random.nextDouble() > threshold) {
-                    child = parentSelection(selectedGroup);
-                } else {
+            if (random.nextDouble() < 0.8) {
+                child = mutation.mutateWeights(child);
+            }
+            if (random.nextDouble() < 0.05) {
+                child = mutation.addConnection(child);
+            }
 
-                    NetworkChromosome firstParent = parentSelection(selectedGroup);
-                    NetworkChromosome secondParent = parentSelection(selectedGroup);
-                    child = crossover.apply(firstParent, secondParent);
-                }
+            newPopulation.add(child);
+            if (recorder != null) {
+                mark = recorder.reproduced(mark);
+            }
+        }
 
-                if (random.nextDouble() < 0.02) {
-                    child = mutation.addNeuron(child);
-                }
+        reproduction.end(actualGenerations, newPopulation.size());
+        newPopulation.addAll(immigrants);
 
-                if (random.nextDouble() < 0.8) {
-                    child = mutation.mutateWeights(child);
-                }
-                if (random.nextDouble() < 0.05) {
-                    child = mutation.addConnection(child);
-                }
+        SpeciationPhaseEvent speciation = new SpeciationPhaseEvent();
+        speciation.begin();
+        population.forEach(ChromesomeToGroup::remove);
 
-                newPopulation.add(child);
-            }
+        newPopulation.forEach(this::specieAssignment);
+
+        population.removeIf(s -> s.getCandidate().isEmpty());
+
+        if (population.size() < 5) {
+            NetworkChromosome randomcandidates = newPopulation.get(random.nextInt(newPopulation.size()));
+            population.add(new ChromesomeToGroup(randomcandidates));
+        }
+        if (recorder != null) {
+            recorder.speciated(mark);
+        }
+        speciation.end(actualGenerations, population.size());
+        GenerationEndEvent.emit(actualGenerations, evaluations, betterFitness, false);
+        actualGenerations++;
+    }
 
-            population.forEach(ChromesomeToGroup::remove);
+    /**
+     * Accumulates the metrics of the current generation while a {@link GenerationListener} is set.
+     */
+    private static final class GenerationRecorder {
+
+        private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+        private long allocatedAtStart;
+        private long evaluationNanos;
+        private long selectionNanos;
+        private long reproductionNanos;
+        private long speciationNanos;
+        private GenerationMetrics evaluated;
+
+        /**
+         * Starts a new generation.
+         *
+         * @return The current time in nanoseconds.
+         */
+        private long start() {
+            allocatedAtStart = allocatedBytes();
+            evaluationNanos = 0;
+            selectionNanos = 0;
+            reproductionNanos = 0;
+            speciationNanos = 0;
+            return System.nanoTime();
+        }
+
+        private void evaluated(int generation, List<NetworkChromosome> candidates, int species, long start) {
+            evaluationNanos = System.nanoTime() - start;
+            IntSummaryStatistics genomeSizes = candidates.stream()
+                    .mapToInt(c -> c.getConnections().size())
+                    .summaryStatistics();
+            DoubleSummaryStatistics fitness = candidates.stream()
+                    .mapToDouble(NetworkChromosome::getFitness)
+                    .summaryStatistics();
+            evaluated = new GenerationMetrics(generation, candidates.size(), 0, 0, 0, 0, species,
+                    fitness.getMax(), fitness.getAverage(), genomeSizes.getMin(), genomeSizes.getAverage(),
+                    genomeSizes.getMax(), 0);
+        }
+
+        private long selected(long since) {
+            long now = System.nanoTime();
+            selectionNanos += now - since;
+            return now;
+        }
 
-            newPopulation.forEach(this::specieAssignment);
+        private long reproduced(long since) {
+            long now = System.nanoTime();
+            reproductionNanos += now - since;
+            return now;
+        }
 
-            population.removeIf(s -> s.getCandidate().isEmpty());
+        private void speciated(long since) {
+            speciationNanos += System.nanoTime() - since;
+        }
 
-            if (population.size() < 5) {
-                NetworkChromosome randomcandidates = newPopulation.get(random.nextInt(newPopulation.size()));
-                population.add(new ChromesomeToGroup(randomcandidates));
+        /**
+         * Completes the current generation.
+         *
+         * @return The metrics of the generation.
+         */
+        private GenerationMetrics complete() {
+            long allocated = allocatedBytes();
+            return new GenerationMetrics(evaluated.generation(), evaluated.evaluations(), evaluationNanos,
+                    selectionNanos, reproductionNanos, speciationNanos, evaluated.species(), evaluated.bestFitness(),
+                    evaluated.meanFitness(), evaluated.minGenomeSize(), evaluated.meanGenomeSize(),
+                    evaluated.maxGenomeSize(), allocated < 0 || allocatedAtStart < 0 ? -1 : allocated - allocatedAtStart);
+        }
+
+        private static long allocatedBytes() {
+            if (THREADS instanceof com.sun.management.ThreadMXBean threads
+                    && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getCurrentThreadAllocatedBytes();
             }
-            actualGenerations++;
+            return -1;
         }
+    }
 
-        return betterChromosome != null ? betterChromosome
+    /**
+     * Returns the best chromosome found so far, with its forward pass compiled.
+     *
+     * @return The best chromosome.
+     */
+    NetworkChromosome solution() {
+        NetworkChromosome solution = betterChromosome != null ? betterChromosome
                 : population.stream()
                         .flatMap(s -> s.getCandidate().stream())
                         .max(Comparator.comparingDouble(NetworkChromosome::getFitness))
                         .orElseThrow(() -> new IllegalStateException("No chromose found"));
+        solution.setFastActivations(fastActivations);
+        solution.compile();
+        return solution;
     }
 
-    private void specieAssignment(NetworkChromosome chromosome) {
+    /**
+     * Returns the budget of every evaluation of a generation with the given number of candidates.
+     */
+    private EvaluationBudget evaluationBudget(int candidates) {
+        if (!raceBestFitness && stepsPerGeneration == 0) {
+            return EvaluationBudget.UNLIMITED;
+        }
+        double fitnessBar = raceBestFitness ? betterFitness : Double.NEGATIVE_INFINITY;
+        long maxSteps = stepsPerGeneration == 0 ? Long.MAX_VALUE : Math.max(1, stepsPerGeneration / candidates);
+        return new EvaluationBudget(fitnessBar, maxSteps);
+    }
+
+    /**
+     * Returns the fitness of the best chromosome at the time it was evaluated.
+     *
+     * @return The best fitness found so far, or negative infinity if no generation has been evaluated.
+     */
+    double getBestFitness() {
+        return betterFitness;
+    }
+
+    /**
+     * Returns whether the maximum number of generations has been reached.
+     *
+     * @return true if no further generation may be evaluated.
+     */
+    boolean isExhausted() {
+        return actualGenerations >= maximumGenerations;
+    }
+
+    /**
+     * Takes a snapshot of the current generation and queues it for writing on the checkpoint thread.
+     */
+    private void checkpoint() {
+        awaitCheckpoint(false);
+        List<List<NetworkChromosome>> species = new ArrayList<>(population.size());
         for (ChromesomeToGroup group : population) {
-            List<ConnectionGene> firstConnection = chromosome.getConnections();
-            List<ConnectionGene> secondConnection = group.representative.getConnections();
-
-            Map<Integer, ConnectionGene> generationToMap1 = firstConnection.stream()
-                    .collect(Collectors.toMap(
-                            ConnectionGene::getInnovationNumber,
-                            c -> c,
-                            (current, change) -> current));
-
-            Map<Integer, ConnectionGene> generationToMap2 = secondConnection.stream()
-                    .collect(Collectors.toMap(
-                            ConnectionGene::getInnovationNumber,
-                            c -> c,
-                            (current, change) -> current));
-
-          
-
-            Set<Integer> allNetworkGeneration = new HashSet<>();
-            allNetworkGeneration.addAll(generationToMap1.keySet());
-            allNetworkGeneration.addAll(generationToMap2.keySet());
-
-            int maximumGeneration1 = firstConnection.stream().mapToInt(ConnectionGene::getInnovationNumber).max().orElse(0);
-            int maximumGeneration2 = secondConnection.stream().mapToInt(ConnectionGene::getInnovationNumber).max().orElse(0);
-            int disjoint = 0;
-            double Difweight = 0;
-            int compatible = 0;
-            for (int generation : allNetworkGeneration) {
-                ConnectionGene firstGene = generationToMap1.get(generation);
-                ConnectionGene secondGene = generationToMap2.get(generation);
-
-                if (firstGene != null && secondGene != null) {
-
-                    compatible++;
-                    Difweight += Math.abs(firstGene.getWeight() - secondGene.getWeight());
-                } else {
-                    disjoint++;
-                }
-            }
+            List<NetworkChromosome> members = new ArrayList<>(group.getCandidate().size() + 1);
+            members.add(group.representative);
+            members.addAll(group.getCandidate());
+            species.add(members);
+        }
+        Checkpoint checkpoint = Checkpoint.of(populationSize, actualGenerations, evaluations, betterFitness,
+                betterChromosome, restorableRandom().getState(), List.copyOf(innovations), species,
+                evaluator instanceof CachingEvaluator cache ? cache.entries() : null);
+        if (checkpointWriter == null) {
+            checkpointWriter = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "neat-checkpoint");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        Path file = checkpointFile;
+        pendingCheckpoint = checkpointWriter.submit(() -> {
+            checkpoint.write(file);
+            return null;
+        });
+    }
 
-            int TopSize = Math.max(firstConnection.size(), secondConnection.size());
-            if(TopSize < 20){
-                TopSize = 1;
+    /**
+     * Rethrows the failure of the last checkpoint, waiting for it to be written if requested.
+     */
+    private void awaitCheckpoint(boolean wait) {
+        if (pendingCheckpoint == null || (!wait && !pendingCheckpoint.isDone())) {
+            return;
+        }
+        try {
+            pendingCheckpoint.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing a checkpoint", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw new UncheckedIOException("Writing the checkpoint failed", cause);
+            }
+            throw new IllegalStateException("Writing the checkpoint failed", e.getCause());
+        } finally {
+            if (pendingCheckpoint.isDone()) {
+                pendingCheckpoint = null;
             }
-       
+        }
+    }
 
-            double averageWeight = compatible == 0 ? 0 : Difweight / compatible;
-            int excess = Math.abs(maximumGeneration1 - maximumGeneration2);
+    /**
+     * Releases the resources held by the evaluator and waits for the last checkpoint to be written.
+     */
+    void close() {
+        evaluator.close();
+        if (checkpointWriter != null) {
+            checkpointWriter.shutdown();
+            checkpointWriter = null;
+            awaitCheckpoint(true);
+        }
+    }
 
-            double distance = (excess + disjoint) / (double) TopSize + averageWeight;
-            if (distance < 4.0) {
+    private void specieAssignment(NetworkChromosome chromosome) {
+        InnovationView genes = chromosome.getInnovationView();
+        for (ChromesomeToGroup group : population) {
+            if (compatibilityDistance(genes, group.representativeGenes) < 4.0) {
                 group.addCandidate(chromosome);
                 return;
             }
@@ -248,6 +715,57 @@ private void specieAssignment(NetworkChromosome chromosome) {
         population.add(new ChromesomeToGroup(chromosome));
     }
 
+    /**
+     * Computes the compatibility distance between two chromosomes that decides whether they belong to the same species.
+     *
+     * @param first  The first chromosome.
+     * @param second The second chromosome.
+     * @return The compatibility distance.
+     */
+    public static double compatibilityDistance(NetworkChromosome first, NetworkChromosome second) {
+        return compatibilityDistance(first.getInnovationView(), second.getInnovationView());
+    }
+
+    /**
+     * Computes the compatibility distance of two chromosomes with a single merge over their innovation-sorted genes.
+     *
+     * @param first  The genes of the first chromosome.
+     * @param second The genes of the second chromosome.
+     * @return The compatibility distance.
+     */
+    static double compatibilityDistance(InnovationView first, InnovationView second) {
+        int disjoint = 0;
+        double Difweight = 0;
+        int compatible = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.size() && j < second.size()) {
+            int firstInnovation = first.innovation(i);
+            int secondInnovation = second.innovation(j);
+            if (firstInnovation == secondInnovation) {
+                compatible++;
+                Difweight += Math.abs(first.weight(i++) - second.weight(j++));
+            } else if (firstInnovation < secondInnovation) {
+                disjoint++;
+                i++;
+            } else {
+                disjoint++;
+                j++;
+            }
+        }
+        disjoint += (first.size() - i) + (second.size() - j);
+
+        int TopSize = Math.max(first.connectionCount(), second.connectionCount());
+        if(TopSize < 20){
+            TopSize = 1;
+        }
+
+        double averageWeight = compatible == 0 ? 0 : Difweight / compatible;
+        int excess = Math.abs(first.maxInnovation() - second.maxInnovation());
+
+        return (excess + disjoint) / (double) TopSize + averageWeight;
+    }
+
     private NetworkChromosome parentSelection(ChromesomeToGroup group) {
 
         List<NetworkChromosome> candidatess = group.getCandidate();
@@ -269,4 +787,9 @@ private NetworkChromosome parentSelection(ChromesomeToGroup group) {
     public int getGeneration() {
         return actualGenerations;
     }
+
+    @Override
+    public long getEvaluations() {
+        return evaluations;
+    }
 }
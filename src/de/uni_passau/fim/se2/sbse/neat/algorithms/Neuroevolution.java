@@ -21,4 +21,11 @@ public interface Neuroevolution {
      * @return The current generation of the neuroevolution algorithm.
      */
     int getGeneration();
+
+    /**
+     * Returns the number of fitness evaluations the neuroevolution algorithm has performed.
+     *
+     * @return The number of fitness evaluations.
+     */
+    long getEvaluations();
 }
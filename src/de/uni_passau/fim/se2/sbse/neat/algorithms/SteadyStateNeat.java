@@ -0,0 +1,317 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.InnovationRegistry;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.InnovationView;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkGenerator;
+import de.uni_passau.fim.se2.sbse.neat.crossover.NeatCrossover;
+import de.uni_passau.fim.se2.sbse.neat.environments.Environment;
+import de.uni_passau.fim.se2.sbse.neat.environments.EnvironmentFactory;
+import de.uni_passau.fim.se2.sbse.neat.mutation.NeatMutation;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A steady-state variant of Neat in the style of rtNEAT, which replaces single individuals instead of whole generations.
+ * <p>
+ * Evaluation workers pull candidates from a queue and evaluate them asynchronously, so long and short evaluations overlap.
+ * Whenever an evaluation finishes, the candidate joins its species, the individual with the lowest fitness shared within
+ * its species is removed once the population is full, and a single offspring is bred and queued for evaluation.
+ * Species are updated incrementally on every insertion and removal.
+ * <p>
+ * Progress is counted in evaluations. Every evaluation draws a seed when it is queued,
+ * so with a single worker the search is reproducible for a fixed seed.
+ * With several workers, the order in which evaluations finish, and therefore the search, depends on the thread scheduling.
+ */
+public class SteadyStateNeat implements Neuroevolution {
+
+    private static final double COMPATIBILITY_THRESHOLD = 4.0;
+    private static final double CROSSOVER_PROBABILITY = 0.8;
+    private static final double ADD_NEURON_PROBABILITY = 0.02;
+    private static final double MUTATE_WEIGHTS_PROBABILITY = 0.8;
+    private static final double ADD_CONNECTION_PROBABILITY = 0.05;
+    private static final int TOURNAMENT_SIZE = 3;
+
+    private final int populationSize;
+    private final long maximumEvaluations;
+    private final EnvironmentFactory environmentFactory;
+    private final int workers;
+    private final Random random;
+    private final NeatMutation mutation;
+    private final NeatCrossover crossover;
+    private final InnovationRegistry innovations = new InnovationRegistry();
+
+    private final List<Species> species = new ArrayList<>();
+    private final Map<NetworkChromosome, Species> speciesOf = new IdentityHashMap<>();
+    private int populationCount;
+    private long evaluations;
+
+    /**
+     * Creates a new steady-state Neat algorithm.
+     *
+     * @param populationSize     The number of evaluated individuals kept in the population.
+     * @param maximumEvaluations The maximum number of evaluations to run the algorithm for.
+     * @param environmentFactory The factory creating the environment of every worker.
+     * @param workers            The number of threads evaluating candidates.
+     * @param random             The random number generator of the algorithm.
+     * @throws IllegalArgumentException if the population size or the number of workers is not positive.
+     */
+    public SteadyStateNeat(int populationSize, long maximumEvaluations, EnvironmentFactory environmentFactory,
+                           int workers, Random random) {
+        if (populationSize < 1) {
+            throw new IllegalArgumentException("The population size must be positive but was " + populationSize);
+        }
+        if (workers < 1) {
+            throw new IllegalArgumentException("The number of workers must be positive but was " + workers);
+        }
+        this.populationSize = populationSize;
+        this.maximumEvaluations = maximumEvaluations;
+        this.environmentFactory = requireNonNull(environmentFactory);
+        this.workers = workers;
+        this.random = requireNonNull(random);
+        this.mutation = new NeatMutation(innovations, random);
+        this.crossover = new NeatCrossover(random);
+    }
+
+    /**
+     * A species and the genes of its representative.
+     */
+    private static final class Species {
+        private final InnovationView representativeGenes;
+        private final List<NetworkChromosome> members = new ArrayList<>();
+        private double fitnessSum;
+
+        private Species(NetworkChromosome representative) {
+            this.representativeGenes = representative.getInnovationView();
+        }
+
+        private double averageFitness() {
+            return fitnessSum / members.size();
+        }
+    }
+
+    /**
+     * The environment of a worker and the random number generator it draws from.
+     */
+    private record Worker(Environment environment, Random random) {
+    }
+
+    @Override
+    public Agent solve(Environment environment) {
+        Environment template = environmentFactory.create(new Random());
+        NetworkGenerator generator = new NetworkGenerator(innovations, template.stateSize(),
+                template.actionInputSize(), random);
+
+        BlockingQueue<Worker> idleWorkers = new ArrayBlockingQueue<>(workers);
+        for (int i = 0; i < workers; i++) {
+            Random workerRandom = new Random();
+            idleWorkers.add(new Worker(environmentFactory.create(workerRandom), workerRandom));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "neat-steady-state");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<NetworkChromosome> completion = new ExecutorCompletionService<>(executor);
+
+        NetworkChromosome best = null;
+        double bestFitness = Double.NEGATIVE_INFINITY;
+        long submitted = 0;
+        try {
+            for (int i = 0; i < populationSize && submitted < maximumEvaluations; i++, submitted++) {
+                submit(completion, idleWorkers, generator.generate());
+            }
+
+            while (evaluations < submitted) {
+                NetworkChromosome evaluated = take(completion);
+                evaluations++;
+                insert(evaluated);
+                if (evaluated.getFitness() > bestFitness) {
+                    bestFitness = evaluated.getFitness();
+                    best = evaluated;
+                    if (environment.solved(best)) {
+                        break;
+                    }
+                }
+                if (populationCount > populationSize) {
+                    remove(worstMember());
+                }
+                while (submitted - evaluations < workers && submitted < maximumEvaluations) {
+                    submit(completion, idleWorkers, breed());
+                    submitted++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (best == null) {
+            throw new IllegalStateException("No chromose found");
+        }
+        best.compile();
+        return best;
+    }
+
+    /**
+     * Queues the given candidate for evaluation with a seed drawn now.
+     */
+    private void submit(CompletionService<NetworkChromosome> completion, BlockingQueue<Worker> idleWorkers,
+                        NetworkChromosome candidate) {
+        long seed = random.nextLong();
+        completion.submit(() -> {
+            Worker worker = idleWorkers.take();
+            try {
+                worker.random().setSeed(seed);
+                candidate.setFitness(worker.environment().evaluate(candidate));
+            } finally {
+                idleWorkers.add(worker);
+            }
+            return candidate;
+        });
+    }
+
+    private static NetworkChromosome take(CompletionService<NetworkChromosome> completion) {
+        try {
+            return completion.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while evaluating candidates", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Evaluation failed", e.getCause());
+        }
+    }
+
+    /**
+     * Adds the evaluated candidate to the first compatible species or founds a new species.
+     */
+    private void insert(NetworkChromosome candidate) {
+        InnovationView genes = candidate.getInnovationView();
+        Species target = null;
+        for (Species s : species) {
+            if (NeatAlgorithm.compatibilityDistance(genes, s.representativeGenes) < COMPATIBILITY_THRESHOLD) {
+                target = s;
+                break;
+            }
+        }
+        if (target == null) {
+            target = new Species(candidate);
+            species.add(target);
+        }
+        target.members.add(candidate);
+        target.fitnessSum += candidate.getFitness();
+        speciesOf.put(candidate, target);
+        populationCount++;
+    }
+
+    /**
+     * Removes the given member from its species and drops the species once it is empty.
+     */
+    private void remove(NetworkChromosome member) {
+        Species s = speciesOf.remove(member);
+        s.members.remove(member);
+        s.fitnessSum -= member.getFitness();
+        if (s.members.isEmpty()) {
+            species.remove(s);
+        }
+        populationCount--;
+    }
+
+    /**
+     * Returns the member with the lowest fitness shared within its species.
+     */
+    private NetworkChromosome worstMember() {
+        NetworkChromosome worst = null;
+        double worstAdjusted = Double.POSITIVE_INFINITY;
+        for (Species s : species) {
+            for (NetworkChromosome member : s.members) {
+                double adjusted = member.getFitness() / s.members.size();
+                if (adjusted < worstAdjusted) {
+                    worstAdjusted = adjusted;
+                    worst = member;
+                }
+            }
+        }
+        return worst;
+    }
+
+    /**
+     * Breeds a single offspring from a species selected proportionally to its average fitness.
+     */
+    private NetworkChromosome breed() {
+        double totalFitness = 0;
+        for (Species s : species) {
+            totalFitness += s.averageFitness();
+        }
+        double selection = random.nextDouble() * totalFitness;
+        Species selected = species.getLast();
+        double total = 0;
+        for (Species s : species) {
+            total += s.averageFitness();
+            if (total > selection) {
+                selected = s;
+                break;
+            }
+        }
+
+        NetworkChromosome child;
+        if (random.nextDouble() > CROSSOVER_PROBABILITY) {
+            child = tournament(selected);
+        } else {
+            child = crossover.apply(tournament(selected), tournament(selected));
+        }
+        if (random.nextDouble() < ADD_NEURON_PROBABILITY) {
+            child = mutation.addNeuron(child);
+        }
+        if (random.nextDouble() < MUTATE_WEIGHTS_PROBABILITY) {
+            child = mutation.mutateWeights(child);
+        }
+        if (random.nextDouble() < ADD_CONNECTION_PROBABILITY) {
+            child = mutation.addConnection(child);
+        }
+        if (speciesOf.containsKey(child)) {
+            // An unmodified parent must not enter the population twice.
+            child = new NetworkChromosome(child.getLayers(), new ArrayList<>(child.getConnections()));
+        }
+        return child;
+    }
+
+    private NetworkChromosome tournament(Species s) {
+        NetworkChromosome best = null;
+        double bestFitness = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < TOURNAMENT_SIZE; i++) {
+            NetworkChromosome contestant = s.members.get(random.nextInt(s.members.size()));
+            if (contestant.getFitness() > bestFitness) {
+                best = contestant;
+                bestFitness = contestant.getFitness();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the number of completed evaluations.
+     *
+     * @return The number of evaluations.
+     */
+    @Override
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Returns the number of completed evaluations in units of the population size.
+     *
+     * @return The number of generation equivalents.
+     */
+    @Override
+    public int getGeneration() {
+        return (int) (evaluations / populationSize);
+    }
+}
@@ -0,0 +1,50 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.environments.BatchedSinglePoleBalancing;
+
+import java.util.*;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Evaluates all candidates in a single pass of a {@link BatchedSinglePoleBalancing} simulator.
+ * <p>
+ * Seeds are derived exactly like in the {@link ParallelEvaluator}: one seed is drawn for every distinct candidate
+ * in population order, and a chromosome that occurs several times is evaluated once.
+ * For the same random number generator, both evaluators therefore assign identical fitness values.
+ */
+public class BatchedEvaluator implements FitnessEvaluator {
+
+    /**
+     * The simulator in which all candidates are evaluated.
+     */
+    private final BatchedSinglePoleBalancing environment;
+
+    /**
+     * The random number generator used to derive the seed of every evaluation.
+     */
+    private final Random random;
+
+    /**
+     * Creates a new batched evaluator.
+     *
+     * @param environment The simulator in which all candidates are evaluated.
+     * @param random      The random number generator used to derive the seed of every evaluation.
+     */
+    public BatchedEvaluator(BatchedSinglePoleBalancing environment, Random random) {
+        this.environment = requireNonNull(environment);
+        this.random = requireNonNull(random);
+    }
+
+    @Override
+    public void evaluate(List<NetworkChromosome> candidates) {
+        SeededCandidates seeded = SeededCandidates.draw(candidates, random);
+        List<NetworkChromosome> distinct = seeded.candidates();
+
+        double[] rewards = environment.evaluate(distinct, seeded.seeds());
+        for (int i = 0; i < rewards.length; i++) {
+            distinct.get(i).setFitness(rewards[i]);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkFingerprint;
+import de.uni_passau.fim.se2.sbse.neat.environments.EvaluationBudget;
+
+import java.util.*;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Memoises the fitness of candidates by the fingerprint of their structure and weights.
+ * <p>
+ * Only candidates whose fingerprint has not been evaluated before are passed to the delegate evaluator,
+ * and candidates sharing a fingerprint are evaluated only once.
+ * The cache holds a bounded number of fingerprints and evicts the least recently used one when it is full.
+ * It must only be used with deterministic environments, where equal networks always obtain the same reward.
+ * <p>
+ * Delegates that draw a seed for every evaluated candidate, such as the {@link ParallelEvaluator} and the
+ * {@link BatchedEvaluator}, draw no seeds for cache hits. If they share their random number generator with the search,
+ * a seeded run with the cache therefore takes different random decisions than the same run without it.
+ */
+public class CachingEvaluator implements FitnessEvaluator {
+
+    /**
+     * The number of fingerprints cached by default, a multiple of typical population sizes.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * The evaluator computing the fitness of candidates missing from the cache.
+     */
+    private final FitnessEvaluator delegate;
+
+    /**
+     * The cached fitness values in access order.
+     */
+    private final Map<NetworkFingerprint, Double> cache;
+
+    /**
+     * Creates a new caching evaluator.
+     *
+     * @param delegate The evaluator computing the fitness of candidates missing from the cache.
+     * @param capacity The maximum number of cached fingerprints.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public CachingEvaluator(FitnessEvaluator delegate, int capacity) {
+        this.delegate = requireNonNull(delegate);
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be positive but was " + capacity);
+        }
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<NetworkFingerprint, Double> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Creates a new caching evaluator with the {@link #DEFAULT_CAPACITY default capacity}.
+     *
+     * @param delegate The evaluator computing the fitness of candidates missing from the cache.
+     */
+    public CachingEvaluator(FitnessEvaluator delegate) {
+        this(delegate, DEFAULT_CAPACITY);
+    }
+
+    @Override
+    public void evaluate(List<NetworkChromosome> candidates) {
+        evaluate(candidates, EvaluationBudget.UNLIMITED);
+    }
+
+    /**
+     * Looks up the fitness of the given candidates and evaluates the misses within the given budget.
+     * The fitness of a truncated evaluation is not cached, since it depends on the budget.
+     */
+    @Override
+    public void evaluate(List<NetworkChromosome> candidates, EvaluationBudget budget) {
+        Map<NetworkFingerprint, List<NetworkChromosome>> misses = new LinkedHashMap<>();
+        for (NetworkChromosome candidate : candidates) {
+            NetworkFingerprint fingerprint = candidate.getFingerprint();
+            Double fitness = cache.get(fingerprint);
+            if (fitness != null) {
+                candidate.setFitness(fitness);
+                candidate.setTruncated(false);
+            } else {
+                misses.computeIfAbsent(fingerprint, k -> new ArrayList<>()).add(candidate);
+            }
+        }
+        if (misses.isEmpty()) {
+            return;
+        }
+
+        List<NetworkChromosome> evaluated = misses.values().stream().map(List::getFirst).toList();
+        delegate.evaluate(evaluated, budget);
+        for (List<NetworkChromosome> equal : misses.values()) {
+            double fitness = equal.getFirst().getFitness();
+            boolean truncated = equal.getFirst().isTruncated();
+            equal.forEach(candidate -> {
+                candidate.setFitness(fitness);
+                candidate.setTruncated(truncated);
+            });
+            if (!truncated) {
+                cache.put(equal.getFirst().getFingerprint(), fitness);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of cached fingerprints.
+     *
+     * @return The size of the cache.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Returns a copy of the cached fingerprints with their fitness, from the least to the most recently used.
+     *
+     * @return The cache entries.
+     */
+    public List<Map.Entry<NetworkFingerprint, Double>> entries() {
+        return cache.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * Replaces the cache by the given entries, such that the first entry is the least recently used one.
+     *
+     * @param entries The entries as returned by {@link #entries()}.
+     */
+    public void restore(List<Map.Entry<NetworkFingerprint, Double>> entries) {
+        cache.clear();
+        entries.forEach(entry -> cache.put(entry.getKey(), entry.getValue()));
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,149 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkFingerprint;
+import de.uni_passau.fim.se2.sbse.neat.environments.Environment;
+import de.uni_passau.fim.se2.sbse.neat.environments.EnvironmentFactory;
+import de.uni_passau.fim.se2.sbse.neat.environments.EvaluationBudget;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import de.uni_passau.fim.se2.sbse.neat.environments.StartStateTable;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Evaluates candidates in the randomised pole balancing environment with common random numbers,
+ * concurrently on a fixed number of worker threads.
+ * <p>
+ * Before every evaluation of a population, one {@link StartStateTable} is drawn from the random number generator
+ * and shared by the environments of all workers, so every candidate starts its i-th episode from the same state.
+ * Differences in fitness then stem from the candidates rather than from their start states,
+ * and the workers never draw from a random number generator, so the results do not depend on the number of threads
+ * or the order of evaluation. Since equal networks obtain equal fitness on the same table,
+ * candidates with the same {@linkplain NetworkChromosome#getFingerprint() fingerprint} are evaluated only once per population.
+ */
+public class CommonStartStatesEvaluator implements FitnessEvaluator {
+
+    /**
+     * The random number generator used to draw the start states of every population.
+     */
+    private final Random random;
+
+    /**
+     * The environment of every worker.
+     */
+    private final SinglePoleBalancing[] environments;
+
+    /**
+     * The worker threads, created on the first evaluation that needs more than one thread.
+     */
+    private ExecutorService executor;
+
+    /**
+     * Creates a new evaluator with common start states.
+     *
+     * @param environmentFactory The factory creating the randomised pole balancing environment of every worker.
+     * @param threads            The number of worker threads.
+     * @param random             The random number generator used to draw the start states of every population.
+     * @throws IllegalArgumentException if the number of threads is not positive,
+     *                                  or the factory does not create randomised pole balancing environments.
+     */
+    public CommonStartStatesEvaluator(EnvironmentFactory environmentFactory, int threads, Random random) {
+        requireNonNull(environmentFactory);
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be positive but was " + threads);
+        }
+        this.random = requireNonNull(random);
+        this.environments = new SinglePoleBalancing[threads];
+        for (int i = 0; i < threads; i++) {
+            Environment environment = environmentFactory.create(new Random());
+            if (!(environment instanceof SinglePoleBalancing poleBalancing) || poleBalancing.isDeterministic()) {
+                throw new IllegalArgumentException("Common start states require a randomised pole balancing environment");
+            }
+            environments[i] = poleBalancing;
+        }
+    }
+
+    @Override
+    public void evaluate(List<NetworkChromosome> candidates) {
+        evaluate(candidates, EvaluationBudget.UNLIMITED);
+    }
+
+    @Override
+    public void evaluate(List<NetworkChromosome> candidates, EvaluationBudget budget) {
+        StartStateTable startStates = StartStateTable.generate(environments[0].episodes(), random);
+        for (SinglePoleBalancing environment : environments) {
+            environment.setStartStates(startStates);
+        }
+
+        Map<NetworkFingerprint, List<NetworkChromosome>> groups = new LinkedHashMap<>();
+        for (NetworkChromosome candidate : candidates) {
+            groups.computeIfAbsent(candidate.getFingerprint(), k -> new ArrayList<>()).add(candidate);
+        }
+        List<List<NetworkChromosome>> distinct = new ArrayList<>(groups.values());
+
+        AtomicInteger next = new AtomicInteger();
+        int workers = Math.min(environments.length, distinct.size());
+        if (workers <= 1) {
+            work(0, distinct, budget, next);
+            return;
+        }
+
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(environments.length, runnable -> {
+                Thread thread = new Thread(runnable, "neat-evaluator");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        List<Future<?>> futures = new ArrayList<>(workers);
+        for (int worker = 0; worker < workers; worker++) {
+            int index = worker;
+            futures.add(executor.submit(() -> work(index, distinct, budget, next)));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while evaluating the population", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Evaluation failed", e.getCause());
+        }
+    }
+
+    /**
+     * Evaluates the first candidate of every group of equal candidates on the environment of the given worker
+     * and assigns its fitness to the whole group, until no groups are left.
+     */
+    private void work(int worker, List<List<NetworkChromosome>> groups, EvaluationBudget budget, AtomicInteger next) {
+        SinglePoleBalancing environment = environments[worker];
+        for (int i = next.getAndIncrement(); i < groups.size(); i = next.getAndIncrement()) {
+            List<NetworkChromosome> equal = groups.get(i);
+            NetworkChromosome evaluated = equal.getFirst();
+            double fitness = environment.evaluate(evaluated, budget);
+            boolean truncated = evaluated.isTruncated();
+            for (NetworkChromosome candidate : equal) {
+                candidate.setFitness(fitness);
+                candidate.setTruncated(truncated);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkCodec;
+import de.uni_passau.fim.se2.sbse.neat.environments.Environment;
+import de.uni_passau.fim.se2.sbse.neat.environments.EnvironmentFactory;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Random;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Evaluates networks received over sockets on behalf of a {@link RemoteEvaluator}.
+ * <p>
+ * A request consists of the number of networks followed by the seed and the {@link NetworkCodec encoding}
+ * of every network. The response contains the fitness of every network in the order of the request.
+ * Requests on a connection are answered in the order they arrive, so a client may send several requests
+ * before reading the first response. Every connection is served by a thread and an environment of its own,
+ * and the random number generator of the environment is reset to the seed of a network before it is evaluated.
+ */
+public class EvaluationWorker {
+
+    /**
+     * The factory creating the environment of every connection.
+     */
+    private final EnvironmentFactory environmentFactory;
+
+    /**
+     * Creates a new evaluation worker.
+     *
+     * @param environmentFactory The factory creating the environment of every connection.
+     */
+    public EvaluationWorker(EnvironmentFactory environmentFactory) {
+        this.environmentFactory = requireNonNull(environmentFactory);
+    }
+
+    /**
+     * Accepts connections on the given server socket until it is closed.
+     *
+     * @param server The server socket to accept connections on.
+     */
+    public void serve(ServerSocket server) {
+        while (!server.isClosed()) {
+            Socket socket;
+            try {
+                socket = server.accept();
+            } catch (IOException e) {
+                // The server socket was closed.
+                return;
+            }
+            Thread thread = new Thread(() -> handle(socket), "neat-worker-connection");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Answers the requests arriving on the given connection until the client closes it.
+     *
+     * @param socket The connection to a client.
+     */
+    public void handle(Socket socket) {
+        Random random = new Random();
+        Environment environment = environmentFactory.create(random);
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            while (true) {
+                int count;
+                try {
+                    count = in.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                double[] fitness = new double[count];
+                for (int i = 0; i < count; i++) {
+                    long seed = in.readLong();
+                    NetworkChromosome network = NetworkCodec.read(in);
+                    random.setSeed(seed);
+                    fitness[i] = environment.evaluate(network);
+                }
+                out.writeInt(count);
+                for (double value : fitness) {
+                    out.writeDouble(value);
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            // The client disconnected; it retries the unanswered requests elsewhere.
+        }
+    }
+}
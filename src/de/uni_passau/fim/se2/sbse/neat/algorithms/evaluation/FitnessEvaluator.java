@@ -0,0 +1,39 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.environments.EvaluationBudget;
+
+import java.util.List;
+
+/**
+ * Evaluates the fitness of candidate chromosomes in a reinforcement learning environment.
+ */
+public interface FitnessEvaluator extends AutoCloseable {
+
+    /**
+     * Evaluates the given candidates and stores the obtained reward as their fitness.
+     *
+     * @param candidates The candidates to evaluate.
+     */
+    void evaluate(List<NetworkChromosome> candidates);
+
+    /**
+     * Evaluates the given candidates, each within the given budget, and stores the obtained reward as their fitness.
+     * Evaluators that do not support budgets evaluate the candidates in full;
+     * the default implementation delegates to {@link #evaluate(List)}.
+     *
+     * @param candidates The candidates to evaluate.
+     * @param budget     The budget of every evaluation.
+     */
+    default void evaluate(List<NetworkChromosome> candidates, EvaluationBudget budget) {
+        candidates.forEach(candidate -> candidate.setTruncated(false));
+        evaluate(candidates);
+    }
+
+    /**
+     * Releases the resources held by the evaluator, such as worker threads.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,135 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.environments.Environment;
+import de.uni_passau.fim.se2.sbse.neat.environments.EnvironmentFactory;
+import de.uni_passau.fim.se2.sbse.neat.environments.EvaluationBudget;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Evaluates candidates concurrently on a fixed number of worker threads.
+ * <p>
+ * Every worker owns an environment instance created by the given factory.
+ * To keep the results reproducible for a fixed seed independent of the number of threads,
+ * a seed is drawn for every distinct candidate in population order before the evaluation starts,
+ * and the random number generator of the worker's environment is reset to that seed before the candidate is evaluated.
+ * A chromosome that occurs several times in the population is evaluated only once,
+ * since a chromosome must not compute forward passes on two threads at the same time.
+ */
+public class ParallelEvaluator implements FitnessEvaluator {
+
+    /**
+     * The random number generator used to derive the seed of every evaluation.
+     */
+    private final Random random;
+
+    /**
+     * The environment of every worker.
+     */
+    private final Environment[] environments;
+
+    /**
+     * The random number generator backing the environment of every worker.
+     */
+    private final Random[] environmentRandoms;
+
+    /**
+     * The worker threads, created on the first evaluation that needs more than one thread.
+     */
+    private ExecutorService executor;
+
+    /**
+     * Creates a new parallel evaluator.
+     *
+     * @param environmentFactory The factory creating the environment of every worker.
+     * @param threads            The number of worker threads.
+     * @param random             The random number generator used to derive the seed of every evaluation.
+     * @throws IllegalArgumentException if the number of threads is not positive.
+     */
+    public ParallelEvaluator(EnvironmentFactory environmentFactory, int threads, Random random) {
+        requireNonNull(environmentFactory);
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be positive but was " + threads);
+        }
+        this.random = requireNonNull(random);
+        this.environments = new Environment[threads];
+        this.environmentRandoms = new Random[threads];
+        for (int i = 0; i < threads; i++) {
+            environmentRandoms[i] = new Random();
+            environments[i] = requireNonNull(environmentFactory.create(environmentRandoms[i]));
+        }
+    }
+
+    @Override
+    public void evaluate(List<NetworkChromosome> candidates) {
+        evaluate(candidates, EvaluationBudget.UNLIMITED);
+    }
+
+    @Override
+    public void evaluate(List<NetworkChromosome> candidates, EvaluationBudget budget) {
+        SeededCandidates seeded = SeededCandidates.draw(candidates, random);
+        List<NetworkChromosome> distinct = seeded.candidates();
+        long[] seeds = seeded.seeds();
+
+        AtomicInteger next = new AtomicInteger();
+        int workers = Math.min(environments.length, distinct.size());
+        if (workers <= 1) {
+            work(0, distinct, seeds, budget, next);
+            return;
+        }
+
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(environments.length, runnable -> {
+                Thread thread = new Thread(runnable, "neat-evaluator");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        List<Future<?>> futures = new ArrayList<>(workers);
+        for (int worker = 0; worker < workers; worker++) {
+            int index = worker;
+            futures.add(executor.submit(() -> work(index, distinct, seeds, budget, next)));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while evaluating the population", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Evaluation failed", e.getCause());
+        }
+    }
+
+    /**
+     * Evaluates candidates on the environment of the given worker until no candidates are left.
+     */
+    private void work(int worker, List<NetworkChromosome> candidates, long[] seeds, EvaluationBudget budget,
+                      AtomicInteger next) {
+        Environment environment = environments[worker];
+        for (int i = next.getAndIncrement(); i < seeds.length; i = next.getAndIncrement()) {
+            NetworkChromosome candidate = candidates.get(i);
+            environmentRandoms[worker].setSeed(seeds[i]);
+            candidate.setFitness(environment.evaluate(candidate, budget));
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.environments.EpisodicEnvironment;
+
+import java.util.*;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Evaluates candidates in a noisy {@link EpisodicEnvironment} by racing them against each other,
+ * so that clearly dominated candidates stop running episodes early.
+ * <p>
+ * Every candidate first runs a single episode. The candidates whose evaluation
+ * {@linkplain EpisodicEnvironment#continuesAfterFirstEpisode continues} after it then run their remaining episodes
+ * in rounds of one episode per candidate still in the race.
+ * From the given minimum number of rounds on, a candidate drops out of the race once the Hoeffding upper bound
+ * of its mean episode reward falls below the highest lower bound of the candidates still in the race,
+ * where every bound holds with the given error probability. Close contenders thus run all episodes.
+ * <p>
+ * The error probability applies to each bound on its own and is not corrected for the number of candidates and rounds
+ * compared in a race, so the probability that some bound of a race fails grows with both.
+ * A union bound over all of them would widen the bounds beyond the range of the episode rewards for the few episodes
+ * of a cart-pole evaluation, so that no candidate could ever drop out.
+ * <p>
+ * The fitness of a candidate is the reward of its first episode plus its mean reward in the remaining episodes
+ * times their number, which has the same expected value as a full evaluation and equals it for candidates
+ * that stay in the race until the end. A chromosome that occurs several times in the population is evaluated once.
+ */
+public class RacingEvaluator implements FitnessEvaluator {
+
+    /**
+     * The default probability that a bound on the mean episode reward of a candidate does not hold.
+     */
+    public static final double DEFAULT_ERROR_PROBABILITY = 0.1;
+
+    /**
+     * The default number of rounds every candidate runs before it can drop out of the race.
+     */
+    public static final int DEFAULT_MIN_ROUNDS = 3;
+
+    /**
+     * The environment in which all candidates are evaluated.
+     */
+    private final EpisodicEnvironment environment;
+
+    /**
+     * The radius of the Hoeffding confidence interval after a single round, which shrinks with the square root of the rounds.
+     */
+    private final double radius;
+
+    /**
+     * The number of rounds every candidate runs before it can drop out of the race.
+     */
+    private final int minRounds;
+
+    /**
+     * The number of episodes run so far.
+     */
+    private long episodes;
+
+    /**
+     * Creates a new racing evaluator with the {@link #DEFAULT_ERROR_PROBABILITY default error probability}
+     * and the {@link #DEFAULT_MIN_ROUNDS default minimum number of rounds}.
+     *
+     * @param environment The environment in which all candidates are evaluated.
+     */
+    public RacingEvaluator(EpisodicEnvironment environment) {
+        this(environment, DEFAULT_ERROR_PROBABILITY, DEFAULT_MIN_ROUNDS);
+    }
+
+    /**
+     * Creates a new racing evaluator.
+     *
+     * @param environment      The environment in which all candidates are evaluated.
+     * @param errorProbability The probability that a bound on the mean episode reward of a candidate does not hold.
+     * @param minRounds        The number of rounds every candidate runs before it can drop out of the race.
+     * @throws IllegalArgumentException if the error probability is not between zero and one,
+     *                                  or the minimum number of rounds is not positive.
+     */
+    public RacingEvaluator(EpisodicEnvironment environment, double errorProbability, int minRounds) {
+        this.environment = requireNonNull(environment);
+        if (!(errorProbability > 0 && errorProbability < 1)) {
+            throw new IllegalArgumentException("The error probability must lie between 0 and 1 but was " + errorProbability);
+        }
+        if (minRounds < 1) {
+            throw new IllegalArgumentException("The minimum number of rounds must be positive but was " + minRounds);
+        }
+        this.radius = environment.maxEpisodeReward() * Math.sqrt(Math.log(2 / errorProbability) / 2);
+        this.minRounds = minRounds;
+    }
+
+    @Override
+    public void evaluate(List<NetworkChromosome> candidates) {
+        Set<NetworkChromosome> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<NetworkChromosome> racers = new ArrayList<>();
+        List<Double> firstRewards = new ArrayList<>();
+        for (NetworkChromosome candidate : candidates) {
+            if (!seen.add(candidate)) {
+                continue;
+            }
+            double reward = environment.runEpisode(candidate, 0);
+            episodes++;
+            candidate.setFitness(reward);
+            candidate.setTruncated(false);
+            if (environment.continuesAfterFirstEpisode(reward)) {
+                racers.add(candidate);
+                firstRewards.add(reward);
+            }
+        }
+
+        int count = racers.size();
+        int rounds = environment.episodes() - 1;
+        double[] sums = new double[count];
+        int[] racing = new int[count];
+        for (int i = 0; i < count; i++) {
+            racing[i] = i;
+        }
+        int remaining = count;
+        for (int round = 1; round <= rounds && remaining > 0; round++) {
+            for (int j = 0; j < remaining; j++) {
+                int racer = racing[j];
+                sums[racer] += environment.runEpisode(racers.get(racer), round);
+            }
+            episodes += remaining;
+            if (round < minRounds || round == rounds) {
+                continue;
+            }
+            // All candidates in the race have run the same number of rounds, so their bounds have the same radius.
+            double bound = 2 * radius / Math.sqrt(round);
+            double bestSum = Double.NEGATIVE_INFINITY;
+            for (int j = 0; j < remaining; j++) {
+                bestSum = Math.max(bestSum, sums[racing[j]]);
+            }
+            int kept = 0;
+            for (int j = 0; j < remaining; j++) {
+                int racer = racing[j];
+                if (sums[racer] / round + bound >= bestSum / round) {
+                    racing[kept++] = racer;
+                } else {
+                    finish(racers.get(racer), firstRewards.get(racer), sums[racer], round, rounds);
+                }
+            }
+            remaining = kept;
+        }
+        for (int j = 0; j < remaining; j++) {
+            int racer = racing[j];
+            finish(racers.get(racer), firstRewards.get(racer), sums[racer], rounds, rounds);
+        }
+    }
+
+    private static void finish(NetworkChromosome candidate, double firstReward, double sum, int rounds, int allRounds) {
+        candidate.setFitness(rounds == allRounds ? firstReward + sum : firstReward + sum / rounds * allRounds);
+    }
+
+    /**
+     * Returns the number of episodes run by this evaluator so far.
+     *
+     * @return The number of episodes.
+     */
+    public long getEpisodes() {
+        return episodes;
+    }
+}
@@ -0,0 +1,400 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkCodec;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Evaluates candidates on {@link EvaluationWorker evaluation workers} running in other processes.
+ * <p>
+ * The candidates are split into batches, one batch per request. Every worker connection takes
+ * up to a pipeline depth of batches at once, sends all of their requests and only then reads the responses,
+ * so the worker never waits for the next request. If a connection fails, its unanswered batches
+ * are put back for all connections, and the connection is reopened after a backoff that doubles with every
+ * consecutive failure, so a worker that dropped a connection keeps evaluating. A worker that does not answer
+ * within a timeout proportional to the candidates a connection has sent counts as failed as well, so a stalled worker
+ * cannot block the evaluation. A batch is given up after a fixed number of failed attempts.
+ * <p>
+ * Seeds are drawn exactly like in the {@link ParallelEvaluator}, so the fitness does not depend on
+ * the number of workers, the batch size, or which worker evaluates a candidate.
+ */
+public class RemoteEvaluator implements FitnessEvaluator {
+
+    /**
+     * The number of attempts after which the evaluation of a batch is given up.
+     */
+    static final int MAX_ATTEMPTS = 3;
+
+    /**
+     * The default number of requests a connection sends before reading the first response.
+     */
+    public static final int DEFAULT_PIPELINE_DEPTH = 2;
+
+    /**
+     * The default time in milliseconds a worker may take per candidate before its connection counts as failed.
+     */
+    public static final long DEFAULT_TIMEOUT_PER_CANDIDATE = 10_000;
+
+    /**
+     * The time in milliseconds an idle connection waits for a batch failed by another connection.
+     */
+    private static final long POLL_INTERVAL = 10;
+
+    /**
+     * The time in milliseconds a connection waits before it is reopened after its first consecutive failure.
+     */
+    private static final long RETRY_BACKOFF = 20;
+
+    /**
+     * The random number generator used to derive the seed of every evaluation.
+     */
+    private final Random random;
+
+    /**
+     * The number of candidates sent in a single request.
+     */
+    private final int batchSize;
+
+    /**
+     * The number of requests a connection sends before reading the first response.
+     */
+    private final int pipelineDepth;
+
+    /**
+     * The time in milliseconds a connection waits for a response before it counts as failed.
+     */
+    private final int readTimeout;
+
+    /**
+     * The connection to every worker.
+     */
+    private final List<Connection> connections;
+
+    /**
+     * The threads driving the connections, created on the first evaluation.
+     */
+    private ExecutorService executor;
+
+    /**
+     * Creates a new remote evaluator with the default pipeline depth.
+     *
+     * @param workers   The addresses of the evaluation workers.
+     * @param batchSize The number of candidates sent in a single request.
+     * @param random    The random number generator used to derive the seed of every evaluation.
+     * @throws IllegalArgumentException if no worker is given or the batch size is not positive.
+     */
+    public RemoteEvaluator(List<InetSocketAddress> workers, int batchSize, Random random) {
+        this(workers, batchSize, DEFAULT_PIPELINE_DEPTH, random);
+    }
+
+    /**
+     * Creates a new remote evaluator.
+     *
+     * @param workers       The addresses of the evaluation workers.
+     * @param batchSize     The number of candidates sent in a single request.
+     * @param pipelineDepth The number of requests a connection sends before reading the first response.
+     * @param random        The random number generator used to derive the seed of every evaluation.
+     * @throws IllegalArgumentException if no worker is given or the batch size or pipeline depth is not positive.
+     */
+    public RemoteEvaluator(List<InetSocketAddress> workers, int batchSize, int pipelineDepth, Random random) {
+        this(workers, batchSize, pipelineDepth, DEFAULT_TIMEOUT_PER_CANDIDATE, random);
+    }
+
+    /**
+     * Creates a new remote evaluator with the given timeout.
+     *
+     * @param workers             The addresses of the evaluation workers.
+     * @param batchSize           The number of candidates sent in a single request.
+     * @param pipelineDepth       The number of requests a connection sends before reading the first response.
+     * @param timeoutPerCandidate The time in milliseconds a worker may take per candidate sent on a connection
+     *                            before the connection counts as failed.
+     * @param random              The random number generator used to derive the seed of every evaluation.
+     * @throws IllegalArgumentException if no worker is given or the batch size, pipeline depth or timeout is not positive.
+     */
+    public RemoteEvaluator(List<InetSocketAddress> workers, int batchSize, int pipelineDepth, long timeoutPerCandidate,
+                           Random random) {
+        if (workers.isEmpty()) {
+            throw new IllegalArgumentException("At least one worker is required");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive but was " + batchSize);
+        }
+        if (pipelineDepth < 1) {
+            throw new IllegalArgumentException("The pipeline depth must be positive but was " + pipelineDepth);
+        }
+        if (timeoutPerCandidate < 1) {
+            throw new IllegalArgumentException("The timeout per candidate must be positive but was " + timeoutPerCandidate);
+        }
+        this.random = requireNonNull(random);
+        this.batchSize = batchSize;
+        this.pipelineDepth = pipelineDepth;
+        this.readTimeout = (int) Math.min(Integer.MAX_VALUE, (double) timeoutPerCandidate * batchSize * pipelineDepth);
+        this.connections = workers.stream().map(Connection::new).toList();
+    }
+
+    /**
+     * Candidates sent together in one request, with the encoded request.
+     */
+    private static final class Batch {
+        private final List<NetworkChromosome> candidates;
+        private final byte[] request;
+        private int attempts;
+        private Connection failedOn;
+
+        private Batch(List<NetworkChromosome> candidates, byte[] request) {
+            this.candidates = candidates;
+            this.request = request;
+        }
+    }
+
+    /**
+     * The state shared by the connections during a single evaluation.
+     */
+    private static final class Evaluation {
+        private final BlockingQueue<Batch> pending;
+        private final AtomicInteger remaining;
+        private final AtomicInteger failingConnections = new AtomicInteger();
+        private volatile IOException failure;
+
+        private Evaluation(List<Batch> batches) {
+            this.pending = new LinkedBlockingQueue<>(batches);
+            this.remaining = new AtomicInteger(batches.size());
+        }
+
+        private boolean isDone() {
+            return remaining.get() == 0 || failure != null;
+        }
+    }
+
+    @Override
+    public void evaluate(List<NetworkChromosome> candidates) {
+        SeededCandidates seeded = SeededCandidates.draw(candidates, random);
+        List<NetworkChromosome> distinct = seeded.candidates();
+        if (distinct.isEmpty()) {
+            return;
+        }
+
+        List<Batch> batches = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, distinct.size());
+            List<NetworkChromosome> batch = distinct.subList(from, to);
+            batches.add(new Batch(batch, encode(batch, Arrays.copyOfRange(seeded.seeds(), from, to))));
+        }
+        Evaluation evaluation = new Evaluation(batches);
+
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(connections.size(), runnable -> {
+                Thread thread = new Thread(runnable, "neat-remote-evaluator");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        List<Future<?>> futures = new ArrayList<>(connections.size());
+        for (Connection connection : connections) {
+            futures.add(executor.submit(() -> connection.work(evaluation)));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while evaluating the population", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Evaluation failed", e.getCause());
+        }
+
+        if (evaluation.failure != null) {
+            throw new IllegalStateException("Evaluation failed after " + MAX_ATTEMPTS + " attempts", evaluation.failure);
+        }
+        if (evaluation.remaining.get() > 0) {
+            throw new IllegalStateException("No evaluation worker is reachable");
+        }
+    }
+
+    /**
+     * Encodes the request evaluating the given candidates with their seeds.
+     */
+    private static byte[] encode(List<NetworkChromosome> candidates, long[] seeds) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(candidates.size());
+            for (int i = 0; i < seeds.length; i++) {
+                out.writeLong(seeds[i]);
+                NetworkCodec.write(candidates.get(i), out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * A connection to a single worker that is opened on demand.
+     */
+    private final class Connection {
+        private final InetSocketAddress address;
+        private Socket socket;
+        private DataInputStream in;
+        private OutputStream out;
+
+        private Connection(InetSocketAddress address) {
+            this.address = requireNonNull(address);
+        }
+
+        /**
+         * Sends batches to the worker until all batches of the evaluation are answered or one of them is given up,
+         * reopening the connection after every failure. While another connection has not failed,
+         * batches this connection failed last are left to the other connections.
+         */
+        private void work(Evaluation evaluation) {
+            List<Batch> inFlight = new ArrayList<>(pipelineDepth);
+            int failures = 0;
+            while (!evaluation.isDone()) {
+                Batch first;
+                try {
+                    first = evaluation.pending.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (first == null) {
+                    continue;
+                }
+                inFlight.add(first);
+                evaluation.pending.drainTo(inFlight, pipelineDepth - 1);
+                int healthyOthers = connections.size() - evaluation.failingConnections.get() - (failures == 0 ? 1 : 0);
+                if (healthyOthers > 0) {
+                    // Put the batches this connection failed last back for the connections that have not failed.
+                    inFlight.removeIf(batch -> batch.failedOn == this && evaluation.pending.add(batch));
+                }
+                if (inFlight.isEmpty()) {
+                    if (!backOff(1)) {
+                        return;
+                    }
+                    continue;
+                }
+
+                try {
+                    open();
+                    for (Batch batch : inFlight) {
+                        out.write(batch.request);
+                    }
+                    out.flush();
+                    while (!inFlight.isEmpty()) {
+                        receive(inFlight.getFirst());
+                        inFlight.removeFirst();
+                        evaluation.remaining.decrementAndGet();
+                    }
+                    if (failures > 0) {
+                        failures = 0;
+                        evaluation.failingConnections.decrementAndGet();
+                    }
+                } catch (IOException e) {
+                    close();
+                    for (Batch batch : inFlight) {
+                        batch.failedOn = this;
+                        if (++batch.attempts >= MAX_ATTEMPTS) {
+                            evaluation.failure = e;
+                        }
+                        evaluation.pending.add(batch);
+                    }
+                    inFlight.clear();
+                    if (failures++ == 0) {
+                        evaluation.failingConnections.incrementAndGet();
+                    }
+                    if (!backOff(failures)) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Waits before the connection is reopened after the given number of consecutive failures.
+         *
+         * @return false if the thread was interrupted while waiting.
+         */
+        private boolean backOff(int failures) {
+            try {
+                Thread.sleep(RETRY_BACKOFF << Math.min(failures - 1, 8));
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        private void open() throws IOException {
+            if (socket != null) {
+                return;
+            }
+            Socket opened = new Socket();
+            try {
+                opened.setTcpNoDelay(true);
+                // A read that times out throws a SocketTimeoutException, which fails the attempt like a dropped connection.
+                opened.setSoTimeout(readTimeout);
+                opened.connect(address, readTimeout);
+                in = new DataInputStream(new BufferedInputStream(opened.getInputStream()));
+                out = new BufferedOutputStream(opened.getOutputStream());
+            } catch (IOException e) {
+                opened.close();
+                throw e;
+            }
+            socket = opened;
+        }
+
+        /**
+         * Reads the response to the given batch and stores the fitness of its candidates.
+         */
+        private void receive(Batch batch) throws IOException {
+            int count = in.readInt();
+            if (count != batch.candidates.size()) {
+                throw new IOException("Expected " + batch.candidates.size() + " results but received " + count);
+            }
+            double[] fitness = new double[count];
+            for (int i = 0; i < count; i++) {
+                fitness[i] = in.readDouble();
+            }
+            for (int i = 0; i < count; i++) {
+                batch.candidates.get(i).setFitness(fitness[i]);
+            }
+        }
+
+        private void close() {
+            if (socket == null) {
+                return;
+            }
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // The connection is discarded anyway.
+            }
+            socket = null;
+            in = null;
+            out = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        connections.forEach(Connection::close);
+    }
+}
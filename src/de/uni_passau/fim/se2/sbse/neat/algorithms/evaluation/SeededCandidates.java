@@ -0,0 +1,39 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+
+import java.util.*;
+
+/**
+ * The distinct candidates of a population together with the seed of their evaluation.
+ * <p>
+ * A chromosome that occurs several times in the population is kept once, at its first occurrence,
+ * since a chromosome must not compute forward passes on two threads at the same time.
+ *
+ * @param candidates The distinct candidates in population order.
+ * @param seeds      The seed of every distinct candidate, at the same index.
+ */
+record SeededCandidates(List<NetworkChromosome> candidates, long[] seeds) {
+
+    /**
+     * Draws one seed for every distinct candidate in population order.
+     *
+     * @param population The population, possibly containing the same chromosome several times.
+     * @param random     The random number generator the seeds are drawn from.
+     * @return The distinct candidates with their seeds.
+     */
+    static SeededCandidates draw(List<NetworkChromosome> population, Random random) {
+        Set<NetworkChromosome> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<NetworkChromosome> candidates = new ArrayList<>(population.size());
+        for (NetworkChromosome candidate : population) {
+            if (seen.add(candidate)) {
+                candidates.add(candidate);
+            }
+        }
+        long[] seeds = new long[candidates.size()];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = random.nextLong();
+        }
+        return new SeededCandidates(candidates, seeds);
+    }
+}
@@ -0,0 +1,41 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.environments.Environment;
+import de.uni_passau.fim.se2.sbse.neat.environments.EvaluationBudget;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Evaluates candidates one after another on a single shared environment.
+ */
+public class SequentialEvaluator implements FitnessEvaluator {
+
+    /**
+     * The environment in which all candidates are evaluated.
+     */
+    private final Environment environment;
+
+    /**
+     * Creates a new sequential evaluator.
+     *
+     * @param environment The environment in which all candidates are evaluated.
+     */
+    public SequentialEvaluator(Environment environment) {
+        this.environment = requireNonNull(environment);
+    }
+
+    @Override
+    public void evaluate(List<NetworkChromosome> candidates) {
+        evaluate(candidates, EvaluationBudget.UNLIMITED);
+    }
+
+    @Override
+    public void evaluate(List<NetworkChromosome> candidates, EvaluationBudget budget) {
+        for (NetworkChromosome candidate : candidates) {
+            candidate.setFitness(environment.evaluate(candidate, budget));
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.innovations;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.ConcreteInnovation;
+import de.uni_passau.fim.se2.sbse.neat.events.InnovationCreatedEvent;
+
+import java.util.*;
+
+/**
+ * A thread-safe set of innovations that is indexed by the ids of the source and target neuron of a connection.
+ * <p>
+ * Looking up the innovation number of a connection and registering a novel connection take constant time,
+ * independent of the number of innovations that occurred so far.
+ * The registry can be used wherever a {@code Set<Innovation>} is expected;
+ * {@link ConcreteInnovation#concreteDerivedNumber} and the network generator use the index instead of scanning the set.
+ * Iterating the registry returns a snapshot, which does not support removing elements.
+ */
+public final class InnovationRegistry extends AbstractSet<Innovation> {
+
+    /**
+     * The innovation number assigned to the first innovation of an empty registry.
+     */
+    public static final int FIRST_INNOVATION_NUMBER = 19;
+
+    /**
+     * Returned by {@link #find} if a connection has not been registered.
+     */
+    public static final int NOT_FOUND = -1;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The packed source and target ids of the registered connections, stored with open addressing.
+     */
+    private long[] keys = new long[INITIAL_CAPACITY];
+
+    /**
+     * The innovation numbers of the registered connections, stored at the slot of their key.
+     */
+    private int[] numbers = new int[INITIAL_CAPACITY];
+
+    /**
+     * Marks the slots of the hash table that hold a key.
+     */
+    private boolean[] occupied = new boolean[INITIAL_CAPACITY];
+
+    /**
+     * The registered innovations in the order of their registration.
+     */
+    private final List<ConcreteInnovation> innovations = new ArrayList<>();
+
+    /**
+     * The highest innovation number registered so far.
+     */
+    private int highestNumber;
+
+    /**
+     * Returns the innovation number of the connection between the given neurons.
+     * If the connection has not occurred before, it is registered with the next innovation number.
+     *
+     * @param originId The id of the source neuron.
+     * @param goalId   The id of the target neuron.
+     * @return The innovation number of the connection.
+     */
+    public synchronized int innovationNumber(int originId, int goalId) {
+        long key = key(originId, goalId);
+        int slot = slot(key);
+        if (occupied[slot]) {
+            return numbers[slot];
+        }
+        int number = innovations.isEmpty() ? FIRST_INNOVATION_NUMBER : highestNumber + 1;
+        insert(slot, key, new ConcreteInnovation(originId, goalId, number));
+        InnovationCreatedEvent.emit(originId, goalId, number);
+        return number;
+    }
+
+    /**
+     * Returns the innovation number of the connection between the given neurons without registering it.
+     *
+     * @param originId The id of the source neuron.
+     * @param goalId   The id of the target neuron.
+     * @return The innovation number of the connection, or {@link #NOT_FOUND} if it has not occurred before.
+     */
+    public synchronized int find(int originId, int goalId) {
+        int slot = slot(key(originId, goalId));
+        return occupied[slot] ? numbers[slot] : NOT_FOUND;
+    }
+
+    /**
+     * Registers the given innovation unless an innovation for the same connection has been registered before.
+     *
+     * @param innovation The innovation to register, must be a {@link ConcreteInnovation}.
+     * @return {@code true} if the innovation was registered.
+     * @throws IllegalArgumentException if the innovation is not a {@link ConcreteInnovation}.
+     */
+    @Override
+    public synchronized boolean add(Innovation innovation) {
+        if (!(innovation instanceof ConcreteInnovation concrete)) {
+            throw new IllegalArgumentException("Only concrete innovations can be registered: " + innovation);
+        }
+        long key = key(concrete.getOriginId(), concrete.getGoalId());
+        int slot = slot(key);
+        if (occupied[slot]) {
+            return false;
+        }
+        insert(slot, key, concrete);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean contains(Object o) {
+        return o instanceof ConcreteInnovation concrete && find(concrete.getOriginId(), concrete.getGoalId()) != NOT_FOUND;
+    }
+
+    @Override
+    public synchronized int size() {
+        return innovations.size();
+    }
+
+    @Override
+    public synchronized Iterator<Innovation> iterator() {
+        return Collections.<Innovation>unmodifiableList(new ArrayList<>(innovations)).iterator();
+    }
+
+    @Override
+    public synchronized void clear() {
+        keys = new long[INITIAL_CAPACITY];
+        numbers = new int[INITIAL_CAPACITY];
+        occupied = new boolean[INITIAL_CAPACITY];
+        innovations.clear();
+        highestNumber = 0;
+    }
+
+    private void insert(int slot, long key, ConcreteInnovation innovation) {
+        highestNumber = innovations.isEmpty()
+                ? innovation.getderivedNumber()
+                : Math.max(highestNumber, innovation.getderivedNumber());
+        innovations.add(innovation);
+        keys[slot] = key;
+        numbers[slot] = innovation.getderivedNumber();
+        occupied[slot] = true;
+        if (innovations.size() * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    /**
+     * Returns the slot holding the given key, or the empty slot where it has to be inserted.
+     */
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+        while (occupied[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldNumbers = numbers;
+        boolean[] oldOccupied = occupied;
+        keys = new long[oldKeys.length * 2];
+        numbers = new int[oldKeys.length * 2];
+        occupied = new boolean[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldOccupied[i]) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                numbers[slot] = oldNumbers[i];
+                occupied[slot] = true;
+            }
+        }
+    }
+
+    private static long key(int originId, int goalId) {
+        return ((long) originId << 32) | (goalId & 0xFFFFFFFFL);
+    }
+}
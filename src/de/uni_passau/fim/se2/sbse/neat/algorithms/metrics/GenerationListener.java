@@ -0,0 +1,16 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.metrics;
+
+/**
+ * Receives the metrics of every generation of a search, for instance to log or plot its progress.
+ * Listeners are called on the thread running the search, so they should return quickly.
+ */
+@FunctionalInterface
+public interface GenerationListener {
+
+    /**
+     * Called after a generation has been evaluated and reproduced, or after the last generation has been evaluated.
+     *
+     * @param metrics The metrics of the generation.
+     */
+    void generationCompleted(GenerationMetrics metrics);
+}
@@ -0,0 +1,38 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.metrics;
+
+/**
+ * The metrics of a single generation of a search.
+ * <p>
+ * The phases partition the work of a generation: the evaluation of the population, the selection of elites
+ * and parents, the reproduction of children by crossover and mutation, and the assignment of the children to species.
+ * The population statistics describe the evaluated population. The genome size is the number of connections.
+ *
+ * @param generation        The number of the generation, starting at zero.
+ * @param evaluations       The number of fitness evaluations of the generation.
+ * @param evaluationNanos   The time spent evaluating the population in nanoseconds.
+ * @param selectionNanos    The time spent selecting elites and parents in nanoseconds.
+ * @param reproductionNanos The time spent on crossover and mutation in nanoseconds.
+ * @param speciationNanos   The time spent assigning the children to species in nanoseconds.
+ * @param species           The number of species of the evaluated population.
+ * @param bestFitness       The highest fitness in the evaluated population.
+ * @param meanFitness       The mean fitness of the evaluated population.
+ * @param minGenomeSize     The smallest genome size in the evaluated population.
+ * @param meanGenomeSize    The mean genome size of the evaluated population.
+ * @param maxGenomeSize     The largest genome size in the evaluated population.
+ * @param allocatedBytes    The bytes allocated by the thread running the search during the generation,
+ *                          excluding evaluations on other threads, or -1 if the JVM cannot measure them.
+ */
+public record GenerationMetrics(int generation, long evaluations, long evaluationNanos, long selectionNanos,
+                                long reproductionNanos, long speciationNanos, int species, double bestFitness,
+                                double meanFitness, int minGenomeSize, double meanGenomeSize, int maxGenomeSize,
+                                long allocatedBytes) {
+
+    /**
+     * Returns the total time of the generation.
+     *
+     * @return The sum of the times of all phases in nanoseconds.
+     */
+    public long totalNanos() {
+        return evaluationNanos + selectionNanos + reproductionNanos + speciationNanos;
+    }
+}
@@ -0,0 +1,118 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.metrics;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streams the metrics of every generation to a file, one line per generation, as CSV with a header line
+ * or as JSON lines. Every line starts with the number of the run that produced it, so several runs,
+ * also concurrent ones, can write to the same file through their own {@link #listener(int) listener}.
+ * Every line is flushed immediately, so the file can be followed while the search is running.
+ */
+public class MetricsWriter implements Closeable {
+
+    /**
+     * The format of the written lines.
+     */
+    public enum Format {
+        CSV,
+        JSON
+    }
+
+    private static final String[] COLUMNS = {
+            "run", "generation", "evaluations", "evaluationNanos", "selectionNanos", "reproductionNanos",
+            "speciationNanos", "species", "bestFitness", "meanFitness", "minGenomeSize", "meanGenomeSize",
+            "maxGenomeSize", "allocatedBytes"
+    };
+
+    private final BufferedWriter writer;
+    private final Format format;
+
+    /**
+     * Creates a new metrics writer that replaces the given file.
+     *
+     * @param file   The file to write to.
+     * @param format The format of the written lines.
+     * @throws IOException if the file cannot be created.
+     */
+    public MetricsWriter(Path file, Format format) throws IOException {
+        this.writer = Files.newBufferedWriter(file);
+        this.format = format;
+        if (format == Format.CSV) {
+            writeLine(String.join(",", COLUMNS));
+        }
+    }
+
+    /**
+     * Returns a listener writing the metrics of the given run.
+     *
+     * @param run The number of the run.
+     * @return The listener.
+     */
+    public GenerationListener listener(int run) {
+        return metrics -> write(run, metrics);
+    }
+
+    /**
+     * Writes the metrics of a generation of the given run.
+     *
+     * @param run     The number of the run.
+     * @param metrics The metrics of the generation.
+     * @throws UncheckedIOException if the file cannot be written.
+     */
+    public void write(int run, GenerationMetrics metrics) {
+        Object[] values = {
+                run, metrics.generation(), metrics.evaluations(), metrics.evaluationNanos(), metrics.selectionNanos(),
+                metrics.reproductionNanos(), metrics.speciationNanos(), metrics.species(), metrics.bestFitness(),
+                metrics.meanFitness(), metrics.minGenomeSize(), metrics.meanGenomeSize(), metrics.maxGenomeSize(),
+                metrics.allocatedBytes()
+        };
+        StringBuilder line = new StringBuilder(256);
+        if (format == Format.JSON) {
+            line.append('{');
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            if (format == Format.JSON) {
+                line.append('"').append(COLUMNS[i]).append("\":");
+            }
+            line.append(value(values[i], format));
+        }
+        if (format == Format.JSON) {
+            line.append('}');
+        }
+        writeLine(line.toString());
+    }
+
+    /**
+     * Formats a value independently of the default locale. JSON has no literals for non-finite numbers,
+     * so they are written as null.
+     */
+    private static String value(Object value, Format format) {
+        if (format == Format.JSON && value instanceof Double number && !Double.isFinite(number)) {
+            return "null";
+        }
+        return value.toString();
+    }
+
+    private synchronized void writeLine(String line) {
+        try {
+            writer.write(line);
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Writing the metrics failed", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
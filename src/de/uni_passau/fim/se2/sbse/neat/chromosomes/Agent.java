@@ -1,5 +1,6 @@
 package de.uni_passau.fim.se2.sbse.neat.chromosomes;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -15,6 +16,55 @@ public interface Agent {
      */
     List<Double> getOutput(List<Double> state);
 
+    /**
+     * Computes the output of the agent for the environment state and writes it to the given array.
+     * Implementations should override this method to avoid allocating boxed values on every call;
+     * the default implementation bridges to {@link #getOutput(List)}.
+     *
+     * @param state  The state of the environment.
+     * @param output The array receiving the output of the agent for the environment state.
+     */
+    default void getOutput(double[] state, double[] output) {
+        List<Double> stateValues = new ArrayList<>(state.length);
+        for (double value : state) {
+            stateValues.add(value);
+        }
+        List<Double> result = getOutput(stateValues);
+        for (int i = 0; i < output.length; i++) {
+            output[i] = result.get(i);
+        }
+    }
+
+    /**
+     * Computes the outputs of the agent for several environment states at once.
+     * The states and outputs are stored row-major: row {@code r} of the states occupies the indices
+     * {@code r * stateSize} to {@code (r + 1) * stateSize - 1}, and likewise for the outputs.
+     * Implementations should override this method to process all rows together;
+     * the default implementation computes one row after another with {@link #getOutput(double[], double[])}.
+     *
+     * @param states  The states of the environment, row-major.
+     * @param outputs The array receiving the outputs of the agent, row-major.
+     * @param rows    The number of states.
+     * @throws IllegalArgumentException if the lengths of the arrays are not multiples of the number of rows.
+     */
+    default void getOutputs(double[] states, double[] outputs, int rows) {
+        if (rows < 0 || rows == 0 && (states.length > 0 || outputs.length > 0)
+                || rows > 0 && (states.length % rows != 0 || outputs.length % rows != 0)) {
+            throw new IllegalArgumentException("Expected arrays of " + rows + " rows but got " + states.length
+                    + " state and " + outputs.length + " output values");
+        }
+        if (rows == 0) {
+            return;
+        }
+        double[] state = new double[states.length / rows];
+        double[] output = new double[outputs.length / rows];
+        for (int row = 0; row < rows; row++) {
+            System.arraycopy(states, row * state.length, state, 0, state.length);
+            getOutput(state, output);
+            System.arraycopy(output, 0, outputs, row * output.length, output.length);
+        }
+    }
+
     /**
      * Sets the fitness of the agent.
      * In our case, the fitness is the reward the agent received in the environment over the entire episode.
@@ -32,4 +82,24 @@ public interface Agent {
      * @return The fitness of the agent.
      */
     double getFitness();
+
+    /**
+     * Records whether the last evaluation of the agent stopped early because it exhausted its
+     * {@link de.uni_passau.fim.se2.sbse.neat.environments.EvaluationBudget evaluation budget},
+     * in which case the fitness is a lower bound of the reward of a full evaluation.
+     * Agents that do not track truncation ignore the call.
+     *
+     * @param truncated Whether the last evaluation was truncated.
+     */
+    default void setTruncated(boolean truncated) {
+    }
+
+    /**
+     * Returns whether the last evaluation of the agent stopped early because it exhausted its evaluation budget.
+     *
+     * @return true if the fitness of the agent stems from a truncated evaluation.
+     */
+    default boolean isTruncated() {
+        return false;
+    }
 }
@@ -0,0 +1,16 @@
+package de.uni_passau.fim.se2.sbse.neat.chromosomes;
+
+/**
+ * A forward pass of a network chromosome that was compiled into a generated class by the {@link NetworkCompiler}.
+ * Compiled networks hold no mutable state and can be used by multiple threads at the same time.
+ */
+interface CompiledNetwork {
+
+    /**
+     * Computes a forward pass for the given state and writes the activations of the output neurons to the given array.
+     *
+     * @param state  The state values, one per input neuron.
+     * @param output The array receiving the output values, one per output neuron.
+     */
+    void activate(double[] state, double[] output);
+}
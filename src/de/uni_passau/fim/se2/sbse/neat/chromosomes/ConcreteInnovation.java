@@ -1,6 +1,8 @@
 package de.uni_passau.fim.se2.sbse.neat.chromosomes;
 
 import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.InnovationRegistry;
+import de.uni_passau.fim.se2.sbse.neat.events.InnovationCreatedEvent;
 import java.util.Objects;
 import java.util.Set;
 
@@ -28,6 +30,9 @@ public int getGoalId() {
         return goalId;
     }
     public int concreteDerivedNumber(int originId, int goalId, Set<Innovation> innovations ) {
+        if (innovations instanceof InnovationRegistry registry) {
+            return registry.innovationNumber(originId, goalId);
+        }
         ConcreteInnovation latestInnovation = new ConcreteInnovation(originId, goalId, 0);
 
         for (Innovation innovation : innovations) {
@@ -43,6 +48,7 @@ public int concreteDerivedNumber(int originId, int goalId, Set<Innovation> innov
                 .orElse(18) + 1;
 
         innovations.add(new ConcreteInnovation(originId, goalId, newInnovationNumber));
+        InnovationCreatedEvent.emit(originId, goalId, newInnovationNumber);
         return newInnovationNumber;
     }
 
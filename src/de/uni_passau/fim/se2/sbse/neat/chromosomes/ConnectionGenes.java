@@ -0,0 +1,446 @@
+package de.uni_passau.fim.se2.sbse.neat.chromosomes;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An immutable, persistent list of connection genes stored column-wise in primitive arrays.
+ * <p>
+ * The connections are split into chunks of at most {@value #CHUNK_SIZE} connections. The operations deriving a new list,
+ * {@link #withEnabled(int, boolean)}, {@link #without(int)} and {@link #plus(ConnectionGene...)}, copy only the chunks
+ * they change and share all other chunks with this list, so a structural mutation of a large network takes memory
+ * proportional to the chunk size rather than to the network size. The endpoints, innovation numbers and enabled flags
+ * of a chunk are shared by every list derived with {@link #withWeights(double[])}, which only copies the weights.
+ * <p>
+ * The {@link ConnectionGene} elements are views created on first access and then reused,
+ * so the list returns the same instance for an index on every call, like any other list.
+ * Lists created with {@link #of(List)} use the given genes as their views.
+ * The views are created without synchronisation, so a list must not be accessed concurrently before
+ * all of its elements have been accessed once; the primitive accessors can be used from any thread.
+ */
+public final class ConnectionGenes extends AbstractList<ConnectionGene> implements RandomAccess {
+
+    /**
+     * The maximum number of connections in a chunk.
+     */
+    static final int CHUNK_SIZE = 32;
+
+    private static final ConnectionGenes EMPTY = new ConnectionGenes(new Chunk[0], new int[]{0});
+
+    /**
+     * The columns of consecutive connections. Chunks are never modified once they are part of a list.
+     */
+    private static final class Chunk {
+        private final NeuronGene[] sources;
+        private final NeuronGene[] targets;
+        private final int[] innovations;
+        private final boolean[] enabled;
+        private final double[] weights;
+
+        /**
+         * The connection gene of every index, created on first access.
+         */
+        private ConnectionGene[] views;
+
+        private Chunk(NeuronGene[] sources, NeuronGene[] targets, int[] innovations, boolean[] enabled,
+                      double[] weights, ConnectionGene[] views) {
+            this.sources = sources;
+            this.targets = targets;
+            this.innovations = innovations;
+            this.enabled = enabled;
+            this.weights = weights;
+            this.views = views;
+        }
+
+        private static Chunk of(ConnectionGene[] connections, int from, int to) {
+            int size = to - from;
+            Chunk chunk = new Chunk(new NeuronGene[size], new NeuronGene[size], new int[size], new boolean[size],
+                    new double[size], Arrays.copyOfRange(connections, from, to));
+            for (int i = 0; i < size; i++) {
+                chunk.set(i, connections[from + i]);
+            }
+            return chunk;
+        }
+
+        private int size() {
+            return weights.length;
+        }
+
+        private void set(int index, ConnectionGene connection) {
+            sources[index] = connection.getSourceNeuron();
+            targets[index] = connection.getTargetNeuron();
+            innovations[index] = connection.getInnovationNumber();
+            enabled[index] = connection.getEnabled();
+            weights[index] = connection.getWeight();
+        }
+
+        private ConnectionGene get(int index) {
+            if (views == null) {
+                views = new ConnectionGene[size()];
+            }
+            ConnectionGene view = views[index];
+            if (view == null) {
+                view = new ConnectionGene(sources[index], targets[index], weights[index], enabled[index], innovations[index]);
+                views[index] = view;
+            }
+            return view;
+        }
+
+        /**
+         * Returns a copy of this chunk with the given capacity, containing the views created so far.
+         */
+        private Chunk copyOf(int length) {
+            return new Chunk(Arrays.copyOf(sources, length), Arrays.copyOf(targets, length),
+                    Arrays.copyOf(innovations, length), Arrays.copyOf(enabled, length), Arrays.copyOf(weights, length),
+                    Arrays.copyOf(views == null ? new ConnectionGene[0] : views, length));
+        }
+
+        private Chunk without(int index) {
+            Chunk chunk = copyOf(size() - 1);
+            int moved = size() - index - 1;
+            System.arraycopy(sources, index + 1, chunk.sources, index, moved);
+            System.arraycopy(targets, index + 1, chunk.targets, index, moved);
+            System.arraycopy(innovations, index + 1, chunk.innovations, index, moved);
+            System.arraycopy(enabled, index + 1, chunk.enabled, index, moved);
+            System.arraycopy(weights, index + 1, chunk.weights, index, moved);
+            if (views != null) {
+                System.arraycopy(views, index + 1, chunk.views, index, moved);
+            }
+            return chunk;
+        }
+
+        private Chunk concat(Chunk other) {
+            int size = size();
+            Chunk chunk = copyOf(size + other.size());
+            System.arraycopy(other.sources, 0, chunk.sources, size, other.size());
+            System.arraycopy(other.targets, 0, chunk.targets, size, other.size());
+            System.arraycopy(other.innovations, 0, chunk.innovations, size, other.size());
+            System.arraycopy(other.enabled, 0, chunk.enabled, size, other.size());
+            System.arraycopy(other.weights, 0, chunk.weights, size, other.size());
+            if (other.views != null) {
+                System.arraycopy(other.views, 0, chunk.views, size, other.size());
+            }
+            return chunk;
+        }
+    }
+
+    private final Chunk[] chunks;
+
+    /**
+     * The index of the first connection of every chunk, followed by the size of the list.
+     */
+    private final int[] offsets;
+
+    /**
+     * The chunk of the last lookup, since connections are mostly accessed in list order.
+     * Racy reads are harmless, as the hint is validated before it is used.
+     */
+    private int lastChunk;
+
+    private ConnectionGenes(Chunk[] chunks, int[] offsets) {
+        this.chunks = chunks;
+        this.offsets = offsets;
+    }
+
+    private static ConnectionGenes of(Chunk[] chunks) {
+        int[] offsets = new int[chunks.length + 1];
+        for (int i = 0; i < chunks.length; i++) {
+            offsets[i + 1] = offsets[i] + chunks[i].size();
+        }
+        return new ConnectionGenes(chunks, offsets);
+    }
+
+    /**
+     * Returns the given connections as a primitive list, which contains the same connection gene instances.
+     *
+     * @param connections The connections to convert.
+     * @return The given list if it already is a primitive list, or a copy of it otherwise.
+     */
+    public static ConnectionGenes of(List<ConnectionGene> connections) {
+        if (connections instanceof ConnectionGenes genes) {
+            return genes;
+        }
+        if (connections.isEmpty()) {
+            return EMPTY;
+        }
+        ConnectionGene[] genes = connections.toArray(new ConnectionGene[0]);
+        Chunk[] chunks = new Chunk[(genes.length + CHUNK_SIZE - 1) / CHUNK_SIZE];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = Chunk.of(genes, i * CHUNK_SIZE, Math.min(genes.length, (i + 1) * CHUNK_SIZE));
+        }
+        return of(chunks);
+    }
+
+    /**
+     * Returns a builder collecting connections directly into chunks, without creating connection genes.
+     *
+     * @return A new, empty builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Collects connections in list order and builds a {@link ConnectionGenes} from them.
+     * A builder must not be used any more after {@link #build()} has been called.
+     */
+    public static final class Builder {
+
+        private final List<Chunk> chunks = new ArrayList<>();
+        private Chunk current;
+        private int currentSize;
+
+        private Builder() {
+        }
+
+        /**
+         * Appends a connection.
+         *
+         * @param source     The source neuron of the connection.
+         * @param target     The target neuron of the connection.
+         * @param weight     The weight of the connection.
+         * @param enabled    Whether the connection is enabled.
+         * @param innovation The innovation number of the connection.
+         * @return This builder.
+         */
+        public Builder add(NeuronGene source, NeuronGene target, double weight, boolean enabled, int innovation) {
+            if (current == null || currentSize == CHUNK_SIZE) {
+                finishChunk();
+                current = new Chunk(new NeuronGene[CHUNK_SIZE], new NeuronGene[CHUNK_SIZE], new int[CHUNK_SIZE],
+                        new boolean[CHUNK_SIZE], new double[CHUNK_SIZE], null);
+                currentSize = 0;
+            }
+            current.sources[currentSize] = source;
+            current.targets[currentSize] = target;
+            current.weights[currentSize] = weight;
+            current.enabled[currentSize] = enabled;
+            current.innovations[currentSize++] = innovation;
+            return this;
+        }
+
+        private void finishChunk() {
+            if (current != null) {
+                chunks.add(currentSize == CHUNK_SIZE ? current : current.copyOf(currentSize));
+            }
+            current = null;
+        }
+
+        /**
+         * Builds the list of the appended connections.
+         *
+         * @return The list of connections.
+         */
+        public ConnectionGenes build() {
+            finishChunk();
+            return chunks.isEmpty() ? EMPTY : of(chunks.toArray(new Chunk[0]));
+        }
+    }
+
+    /**
+     * Returns a list with the same structure and enabled flags as this list, but the given weights.
+     *
+     * @param weights The weight of every connection.
+     * @return The list with the given weights.
+     * @throws IllegalArgumentException if the number of weights differs from the number of connections.
+     */
+    public ConnectionGenes withWeights(double[] weights) {
+        if (weights.length != size()) {
+            throw new IllegalArgumentException("Expected " + size() + " weights but got " + weights.length);
+        }
+        Chunk[] weighted = new Chunk[chunks.length];
+        for (int i = 0; i < chunks.length; i++) {
+            Chunk chunk = chunks[i];
+            weighted[i] = new Chunk(chunk.sources, chunk.targets, chunk.innovations, chunk.enabled,
+                    Arrays.copyOfRange(weights, offsets[i], offsets[i + 1]), null);
+        }
+        return new ConnectionGenes(weighted, offsets);
+    }
+
+    /**
+     * Returns a list in which the connection at the given index has the given enabled flag.
+     *
+     * @param index   The index of the connection.
+     * @param enabled Whether the connection is enabled.
+     * @return The list with the changed connection, sharing all other chunks with this list.
+     */
+    public ConnectionGenes withEnabled(int index, boolean enabled) {
+        Objects.checkIndex(index, size());
+        int c = chunkOf(index);
+        Chunk chunk = chunks[c];
+        int position = index - offsets[c];
+        Chunk changed = new Chunk(chunk.sources, chunk.targets, chunk.innovations, chunk.enabled.clone(),
+                chunk.weights, chunk.views == null ? null : chunk.views.clone());
+        changed.enabled[position] = enabled;
+        if (changed.views != null) {
+            changed.views[position] = null;
+        }
+        Chunk[] changedChunks = chunks.clone();
+        changedChunks[c] = changed;
+        return new ConnectionGenes(changedChunks, offsets);
+    }
+
+    /**
+     * Returns a list without the connection at the given index.
+     *
+     * @param index The index of the connection to remove.
+     * @return The list without the connection, sharing all other chunks with this list.
+     */
+    public ConnectionGenes without(int index) {
+        Objects.checkIndex(index, size());
+        int c = chunkOf(index);
+        Chunk chunk = chunks[c].without(index - offsets[c]);
+        Chunk[] changedChunks;
+        if (chunk.size() == 0) {
+            changedChunks = new Chunk[chunks.length - 1];
+            System.arraycopy(chunks, 0, changedChunks, 0, c);
+            System.arraycopy(chunks, c + 1, changedChunks, c, chunks.length - c - 1);
+        } else if (c + 1 < chunks.length && chunk.size() + chunks[c + 1].size() <= CHUNK_SIZE / 2) {
+            // Merge small neighbours, so repeated removals do not degrade the list into tiny chunks.
+            changedChunks = new Chunk[chunks.length - 1];
+            System.arraycopy(chunks, 0, changedChunks, 0, c);
+            changedChunks[c] = chunk.concat(chunks[c + 1]);
+            System.arraycopy(chunks, c + 2, changedChunks, c + 1, chunks.length - c - 2);
+        } else {
+            changedChunks = chunks.clone();
+            changedChunks[c] = chunk;
+        }
+        return of(changedChunks);
+    }
+
+    /**
+     * Returns a list with the given connections appended.
+     *
+     * @param connections The connections to append.
+     * @return The list with the appended connections, sharing all but the last chunk with this list.
+     */
+    public ConnectionGenes plus(ConnectionGene... connections) {
+        ConnectionGenes result = this;
+        for (ConnectionGene connection : connections) {
+            result = result.plus(connection);
+        }
+        return result;
+    }
+
+    private ConnectionGenes plus(ConnectionGene connection) {
+        Chunk[] changedChunks;
+        Chunk last = chunks.length == 0 ? null : chunks[chunks.length - 1];
+        if (last == null || last.size() == CHUNK_SIZE) {
+            changedChunks = Arrays.copyOf(chunks, chunks.length + 1);
+            changedChunks[chunks.length] = Chunk.of(new ConnectionGene[]{connection}, 0, 1);
+        } else {
+            Chunk appended = last.copyOf(last.size() + 1);
+            appended.set(last.size(), connection);
+            appended.views[last.size()] = connection;
+            changedChunks = chunks.clone();
+            changedChunks[chunks.length - 1] = appended;
+        }
+        int[] changedOffsets = Arrays.copyOf(offsets, changedChunks.length + 1);
+        changedOffsets[changedChunks.length] = size() + 1;
+        return new ConnectionGenes(changedChunks, changedOffsets);
+    }
+
+    /**
+     * Returns a copy of the weights of the connections in list order.
+     *
+     * @return The weights, which may be modified and passed to {@link #withWeights(double[])}.
+     */
+    public double[] weights() {
+        double[] weights = new double[size()];
+        for (int i = 0; i < chunks.length; i++) {
+            System.arraycopy(chunks[i].weights, 0, weights, offsets[i], chunks[i].size());
+        }
+        return weights;
+    }
+
+    /**
+     * Returns the index of the chunk containing the connection at the given valid index.
+     */
+    private int chunkOf(int index) {
+        int c = lastChunk;
+        if (c < chunks.length && offsets[c] <= index) {
+            if (index < offsets[c + 1]) {
+                return c;
+            }
+            if (c + 2 < offsets.length && index < offsets[c + 2]) {
+                lastChunk = c + 1;
+                return c + 1;
+            }
+        }
+        c = Arrays.binarySearch(offsets, index);
+        // An exact match is the first index of a chunk, otherwise the insertion point follows the chunk.
+        c = c >= 0 ? c : -c - 2;
+        lastChunk = c;
+        return c;
+    }
+
+    @Override
+    public ConnectionGene get(int index) {
+        Objects.checkIndex(index, size());
+        int c = chunkOf(index);
+        return chunks[c].get(index - offsets[c]);
+    }
+
+    @Override
+    public int size() {
+        return offsets[chunks.length];
+    }
+
+    /**
+     * Returns the source neuron of the connection at the given index without creating its view.
+     *
+     * @param index The index of the connection.
+     * @return The source neuron.
+     */
+    public NeuronGene source(int index) {
+        int c = chunkOf(index);
+        return chunks[c].sources[index - offsets[c]];
+    }
+
+    /**
+     * Returns the target neuron of the connection at the given index without creating its view.
+     *
+     * @param index The index of the connection.
+     * @return The target neuron.
+     */
+    public NeuronGene target(int index) {
+        int c = chunkOf(index);
+        return chunks[c].targets[index - offsets[c]];
+    }
+
+    /**
+     * Returns the weight of the connection at the given index without creating its view.
+     *
+     * @param index The index of the connection.
+     * @return The weight.
+     */
+    public double weight(int index) {
+        int c = chunkOf(index);
+        return chunks[c].weights[index - offsets[c]];
+    }
+
+    /**
+     * Returns whether the connection at the given index is enabled without creating its view.
+     *
+     * @param index The index of the connection.
+     * @return true if the connection is enabled.
+     */
+    public boolean enabled(int index) {
+        int c = chunkOf(index);
+        return chunks[c].enabled[index - offsets[c]];
+    }
+
+    /**
+     * Returns the innovation number of the connection at the given index without creating its view.
+     *
+     * @param index The index of the connection.
+     * @return The innovation number.
+     */
+    public int innovation(int index) {
+        int c = chunkOf(index);
+        return chunks[c].innovations[index - offsets[c]];
+    }
+}
@@ -0,0 +1,138 @@
+package de.uni_passau.fim.se2.sbse.neat.chromosomes;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable, innovation-sorted primitive view of the connections of a network chromosome.
+ * <p>
+ * Aligning the genes of two chromosomes by their innovation numbers is a single linear merge over two views.
+ * If a chromosome contains several connections with the same innovation number, the view keeps the first of them.
+ */
+public final class InnovationView {
+
+    /**
+     * The distinct innovation numbers in ascending order.
+     */
+    private final int[] innovations;
+
+    /**
+     * The weight of the connection with the innovation number at the same index.
+     */
+    private final double[] weights;
+
+    /**
+     * The position of the connection with the innovation number at the same index in the connection list.
+     */
+    private final int[] positions;
+
+    /**
+     * The number of connections of the chromosome, including connections sharing an innovation number.
+     */
+    private final int connectionCount;
+
+    private InnovationView(int[] innovations, double[] weights, int[] positions, int connectionCount) {
+        this.innovations = innovations;
+        this.weights = weights;
+        this.positions = positions;
+        this.connectionCount = connectionCount;
+    }
+
+    /**
+     * Creates the innovation-sorted view of the given connections.
+     *
+     * @param connections The connections of a chromosome.
+     * @return The view of the connections.
+     */
+    static InnovationView of(List<ConnectionGene> connections) {
+        return of(ConnectionGenes.of(connections));
+    }
+
+    /**
+     * Creates the innovation-sorted view of the given connections without creating their gene views.
+     *
+     * @param connections The connections of a chromosome.
+     * @return The view of the connections.
+     */
+    static InnovationView of(ConnectionGenes connections) {
+        long[] keys = new long[connections.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ((long) connections.innovation(i) << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        int[] innovations = new int[keys.length];
+        double[] weights = new double[keys.length];
+        int[] positions = new int[keys.length];
+        int size = 0;
+        for (long key : keys) {
+            int innovation = (int) (key >> 32);
+            if (size > 0 && innovations[size - 1] == innovation) {
+                continue;
+            }
+            int position = (int) key;
+            innovations[size] = innovation;
+            weights[size] = connections.weight(position);
+            positions[size++] = position;
+        }
+        return new InnovationView(Arrays.copyOf(innovations, size), Arrays.copyOf(weights, size),
+                Arrays.copyOf(positions, size), connections.size());
+    }
+
+    /**
+     * Returns the number of distinct innovation numbers.
+     *
+     * @return The number of genes in the view.
+     */
+    public int size() {
+        return innovations.length;
+    }
+
+    /**
+     * Returns the innovation number of the gene at the given index.
+     *
+     * @param index The index of the gene in the view.
+     * @return The innovation number.
+     */
+    public int innovation(int index) {
+        return innovations[index];
+    }
+
+    /**
+     * Returns the weight of the gene at the given index.
+     *
+     * @param index The index of the gene in the view.
+     * @return The weight of the connection.
+     */
+    public double weight(int index) {
+        return weights[index];
+    }
+
+    /**
+     * Returns the position of the gene at the given index in the connection list of the chromosome.
+     *
+     * @param index The index of the gene in the view.
+     * @return The position of the connection.
+     */
+    public int position(int index) {
+        return positions[index];
+    }
+
+    /**
+     * Returns the number of connections of the chromosome, including connections sharing an innovation number.
+     *
+     * @return The number of connections.
+     */
+    public int connectionCount() {
+        return connectionCount;
+    }
+
+    /**
+     * Returns the highest innovation number of the chromosome.
+     *
+     * @return The highest innovation number, or zero if the chromosome has no connections.
+     */
+    public int maxInnovation() {
+        return innovations.length == 0 ? 0 : innovations[innovations.length - 1];
+    }
+}
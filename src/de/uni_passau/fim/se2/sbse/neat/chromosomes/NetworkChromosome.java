@@ -33,7 +33,53 @@ public class NetworkChromosome implements Agent {
      */
     private final List<ConnectionGene> connections;
 
+    /**
+     * Primitive columns of the connections, built lazily on the first call to {@link #getConnectionGenes()}.
+     */
+    private ConnectionGenes connectionGenes;
+
+    /**
+     * The compiled phenotype used to compute forward passes, built lazily on the first call to {@link #getOutput}.
+     */
+    private NetworkPhenotype phenotype;
+
+    /**
+     * Read-only view of the layers, built lazily on the first call to {@link #getLayerView()}.
+     */
+    private Map<Double, List<NeuronGene>> layerView;
+
+    /**
+     * Maps the id of every neuron to the depth of its layer, built lazily on the first call to {@link #getDepthIndex()}.
+     */
+    private Map<Integer, Double> depthIndex;
+
+    /**
+     * Innovation-sorted view of the connections, built lazily on the first call to {@link #getInnovationView()}.
+     */
+    private InnovationView innovationView;
+
+    /**
+     * Fingerprint of the structure and weights, built lazily on the first call to {@link #getFingerprint()}.
+     */
+    private NetworkFingerprint fingerprint;
+
+    /**
+     * The forward pass compiled into a generated class by {@link #compile()}, if any.
+     */
+    private CompiledNetwork compiledNetwork;
+
+    /**
+     * Whether {@link #compile()} has been called, so networks too large to be compiled are not compiled again.
+     */
+    private boolean compileAttempted;
+
+    /**
+     * Whether the forward pass approximates the activation functions, see {@link #setFastActivations(boolean)}.
+     */
+    private boolean fastActivations;
+
     private double fitnessValue = 0.0;
+    private boolean truncated;
     private double  fitnessadjustmentValue;
 
     /**
@@ -47,6 +93,21 @@ public NetworkChromosome(Map<Double, List<NeuronGene>> layers, List<ConnectionGe
         this.connections = requireNonNull(connections);
         
     }
+
+    /**
+     * Returns a chromosome with the layers of this chromosome and the given connections, which must refer to
+     * neurons of these layers. The layers and the views derived from them are shared rather than copied.
+     *
+     * @param connections The connections of the new chromosome.
+     * @return The new chromosome with a fitness of zero.
+     */
+    public NetworkChromosome withConnections(List<ConnectionGene> connections) {
+        NetworkChromosome chromosome = new NetworkChromosome(layers, connections);
+        chromosome.layerView = getLayerView();
+        chromosome.depthIndex = depthIndex;
+        return chromosome;
+    }
+
     public Map<Double, List<NeuronGene>> getLayers() {
         Map<Double, List<NeuronGene>> clonedLayers = new HashMap<>();
         for (Map.Entry<Double, List<NeuronGene>> entry : layers.entrySet()) {
@@ -54,42 +115,171 @@ public Map<Double, List<NeuronGene>> getLayers() {
         }
         return clonedLayers;
     }
+
+    /**
+     * Returns a read-only view of the layers of this network that, unlike {@link #getLayers()}, does not copy them.
+     *
+     * @return The unmodifiable layers of the network.
+     */
+    public Map<Double, List<NeuronGene>> getLayerView() {
+        if (layerView == null) {
+            Map<Double, List<NeuronGene>> view = new HashMap<>();
+            for (Map.Entry<Double, List<NeuronGene>> entry : layers.entrySet()) {
+                view.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+            }
+            layerView = Collections.unmodifiableMap(view);
+        }
+        return layerView;
+    }
+
+    /**
+     * Returns an immutable index mapping the id of every neuron in the network to the depth of its layer.
+     * If a neuron occurs in several layers, the first layer encountered while iterating the layers is used.
+     *
+     * @return The immutable neuron id to depth index.
+     */
+    public Map<Integer, Double> getDepthIndex() {
+        if (depthIndex == null) {
+            Map<Integer, Double> index = new HashMap<>();
+            for (Map.Entry<Double, List<NeuronGene>> entry : layers.entrySet()) {
+                for (NeuronGene neuron : entry.getValue()) {
+                    index.putIfAbsent(neuron.getId(), entry.getKey());
+                }
+            }
+            depthIndex = Map.copyOf(index);
+        }
+        return depthIndex;
+    }
     
 
     @Override
     public List<Double> getOutput(List<Double> state) {
-        int inputedNeuron = (int) layers.get(INPUT_LAYER).stream()
-        .filter(n -> n.getNeuronType() == NeuronType.INPUT)
-        .count();
-        if (state == null || state.size() != inputedNeuron) {
-            throw new IllegalArgumentException("Invalid input state size. Expected: " + inputedNeuron + ", Got: " +
-                    (state == null ? "null" : state.size()));
-        }
-        Map<NeuronGene, Double> valueNeuron = new HashMap<>();
-        int inputIndex = 0;
-        for (NeuronGene neuron : layers.get(INPUT_LAYER)) {
-            if (neuron.getNeuronType() == NeuronType.INPUT) {
-                valueNeuron.put(neuron, state.get(inputIndex++));
-            } else if (neuron.getNeuronType() == NeuronType.BIAS) {
-                valueNeuron.put(neuron, 1.0);
-            }
+        if (state == null) {
+            throw new IllegalArgumentException("Invalid input state size. Expected: " + phenotype().inputSize() + ", Got: null");
+        }
+        double[] input = new double[state.size()];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = state.get(i);
+        }
+        double[] output = new double[phenotype().outputSize()];
+        getOutput(input, output);
+
+        List<Double> result = new ArrayList<>(output.length);
+        for (double value : output) {
+            result.add(value);
+        }
+        return result;
+    }
+
+    @Override
+    public void getOutput(double[] state, double[] output) {
+        NetworkPhenotype network = phenotype();
+        if (state == null || state.length != network.inputSize()) {
+            throw new IllegalArgumentException("Invalid input state size. Expected: " + network.inputSize() + ", Got: " +
+                    (state == null ? "null" : state.length));
+        }
+        if (output.length != network.outputSize()) {
+            throw new IllegalArgumentException("Invalid output size. Expected: " + network.outputSize() + ", Got: " +
+                    output.length);
+        }
+        if (compiledNetwork != null) {
+            compiledNetwork.activate(state, output);
+        } else {
+            network.activate(state, output);
+        }
+    }
+
+    /**
+     * Computes the outputs for all given states layer by layer, so every weight is loaded once per batch
+     * rather than once per state. The outputs are identical to computing one state after another.
+     */
+    @Override
+    public void getOutputs(double[] states, double[] outputs, int rows) {
+        NetworkPhenotype network = phenotype();
+        if (rows < 0 || states.length != rows * network.inputSize() || outputs.length != rows * network.outputSize()) {
+            throw new IllegalArgumentException("Invalid batch size. Expected " + rows + " rows of "
+                    + network.inputSize() + " state and " + network.outputSize() + " output values, Got: "
+                    + states.length + " state and " + outputs.length + " output values");
         }
-        List<Double> sortedLayers = new ArrayList<>(layers.keySet());
-        Collections.sort(sortedLayers);
-
-        for (double layerDepth : sortedLayers) {
-            if (layerDepth == INPUT_LAYER) continue;
-            for (NeuronGene neuron : layers.get(layerDepth)) {
-                double sum =  connections.stream()
-                .filter(conn -> conn.getEnabled() && conn.getTargetNeuron().equals(neuron))
-                .mapToDouble(conn -> valueNeuron.getOrDefault(conn.getSourceNeuron(), 0.0) * conn.getWeight())
-                .sum();
-                valueNeuron.put(neuron, neuron.activate(sum));
+        if (compiledNetwork != null) {
+            // The compiled forward pass embeds the weights as constants, so there is nothing to share between rows.
+            double[] state = new double[network.inputSize()];
+            double[] output = new double[network.outputSize()];
+            for (int row = 0; row < rows; row++) {
+                System.arraycopy(states, row * state.length, state, 0, state.length);
+                compiledNetwork.activate(state, output);
+                System.arraycopy(output, 0, outputs, row * output.length, output.length);
             }
+        } else {
+            network.activate(states, outputs, rows);
+        }
+    }
+
+    /**
+     * Compiles the forward pass of this network into a generated class, with the weights embedded as constants
+     * and the weighted sums unrolled. Subsequent forward passes compute the same outputs, but faster.
+     * Networks that are too large to be compiled keep using the interpreted forward pass.
+     *
+     * @return true if the forward pass of this network is compiled.
+     */
+    public boolean compile() {
+        if (!compileAttempted) {
+            compileAttempted = true;
+            compiledNetwork = phenotype().compile();
+        }
+        return compiledNetwork != null;
+    }
+
+    /**
+     * Sets whether the forward pass approximates the sigmoid and tanh activation functions by linear interpolation
+     * in a precomputed table instead of computing them exactly, which is faster for networks with many hidden neurons.
+     * The approximations differ from the exact functions by less than 1e-5. A compiled forward pass is recompiled.
+     *
+     * @param fastActivations Whether the activation functions are approximated.
+     */
+    public void setFastActivations(boolean fastActivations) {
+        if (this.fastActivations == fastActivations) {
+            return;
+        }
+        this.fastActivations = fastActivations;
+        boolean compiled = compiledNetwork != null;
+        phenotype = null;
+        compiledNetwork = null;
+        compileAttempted = false;
+        if (compiled) {
+            compile();
+        }
+    }
+
+    /**
+     * Returns whether the forward pass approximates the activation functions.
+     *
+     * @return true if the activation functions are approximated.
+     */
+    public boolean hasFastActivations() {
+        return fastActivations;
+    }
+
+    /**
+     * Returns whether the forward pass of this network has been compiled.
+     *
+     * @return true if the forward pass is compiled.
+     */
+    public boolean isCompiled() {
+        return compiledNetwork != null;
+    }
+
+    /**
+     * Returns the compiled phenotype of this chromosome, building it on first use.
+     * The layers and connections of a chromosome must not be changed once its output has been requested.
+     *
+     * @return The compiled phenotype.
+     */
+    private NetworkPhenotype phenotype() {
+        if (phenotype == null) {
+            phenotype = NetworkPhenotype.compile(layers, getConnectionGenes(), fastActivations);
         }
-        return layers.get(OUTPUT_LAYER).stream()
-        .map(valueNeuron::get)
-        .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        return phenotype;
     }
 
     
@@ -108,6 +298,16 @@ public double getFitness() {
         return fitnessValue;
     }
 
+    @Override
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    @Override
+    public boolean isTruncated() {
+        return truncated;
+    }
+
     public void setFitnessadjustmentValue(double fitnessadjustmentValue) {
         this.fitnessadjustmentValue = fitnessadjustmentValue;
     }
@@ -116,6 +316,44 @@ public List<ConnectionGene> getConnections() {
         return connections;
     }
 
+    /**
+     * Returns the connections of this network as primitive columns, containing the same connection gene instances
+     * as {@link #getConnections()}.
+     *
+     * @return The connections of the network.
+     */
+    public ConnectionGenes getConnectionGenes() {
+        if (connectionGenes == null) {
+            connectionGenes = ConnectionGenes.of(connections);
+        }
+        return connectionGenes;
+    }
+
+    /**
+     * Returns an innovation-sorted primitive view of the connections of this network.
+     *
+     * @return The innovation-sorted view of the connections.
+     */
+    public InnovationView getInnovationView() {
+        if (innovationView == null) {
+            innovationView = InnovationView.of(getConnectionGenes());
+        }
+        return innovationView;
+    }
+
+    /**
+     * Returns a fingerprint of the structure and weights of this network.
+     * Networks with equal fingerprints compute identical outputs.
+     *
+     * @return The fingerprint of the network.
+     */
+    public NetworkFingerprint getFingerprint() {
+        if (fingerprint == null) {
+            fingerprint = NetworkFingerprint.of(layers, getConnectionGenes());
+        }
+        return fingerprint;
+    }
+
     
 }
 
@@ -0,0 +1,111 @@
+package de.uni_passau.fim.se2.sbse.neat.chromosomes;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Encodes network chromosomes in a compact binary format for the transfer to evaluation workers.
+ * <p>
+ * A network is written as the number of layers, followed by every layer as its depth,
+ * the number of its neurons and the id, type and activation function of every neuron.
+ * The layers are written in the iteration order of {@link NetworkChromosome#getLayerView()}, which the decoded
+ * chromosome reproduces, so operators that iterate the layers make the same choices on both.
+ * Then follow the number of connections and every connection in list order
+ * as the ids of its source and target neurons, its weight, its enabled flag and its innovation number.
+ * Neurons take six bytes and connections 17 bytes, so a network decodes to the same outputs
+ * at a fraction of the size of Java serialisation.
+ */
+public final class NetworkCodec {
+
+    private static final NeuronType[] NEURON_TYPES = NeuronType.values();
+    private static final ActivationFunction[] ACTIVATION_FUNCTIONS = ActivationFunction.values();
+
+    private NetworkCodec() {
+    }
+
+    /**
+     * Writes the layers and connections of the given chromosome.
+     *
+     * @param chromosome The chromosome to encode.
+     * @param out        The output receiving the encoded chromosome.
+     * @throws IOException if the output cannot be written.
+     */
+    public static void write(NetworkChromosome chromosome, DataOutput out) throws IOException {
+        Map<Double, List<NeuronGene>> layers = chromosome.getLayerView();
+        out.writeInt(layers.size());
+        for (Map.Entry<Double, List<NeuronGene>> entry : layers.entrySet()) {
+            List<NeuronGene> layer = entry.getValue();
+            out.writeDouble(entry.getKey());
+            out.writeInt(layer.size());
+            for (NeuronGene neuron : layer) {
+                out.writeInt(neuron.getId());
+                out.writeByte(neuron.getNeuronType().ordinal());
+                out.writeByte(neuron.getActivationFunction().ordinal());
+            }
+        }
+
+        ConnectionGenes connections = chromosome.getConnectionGenes();
+        out.writeInt(connections.size());
+        for (int i = 0; i < connections.size(); i++) {
+            out.writeInt(connections.source(i).getId());
+            out.writeInt(connections.target(i).getId());
+            out.writeDouble(connections.weight(i));
+            out.writeBoolean(connections.enabled(i));
+            out.writeInt(connections.innovation(i));
+        }
+    }
+
+    /**
+     * Reads a chromosome written by {@link #write(NetworkChromosome, DataOutput)}.
+     * The connections refer to the same neuron instances as the layers.
+     *
+     * @param in The input providing the encoded chromosome.
+     * @return The decoded chromosome with a fitness of zero.
+     * @throws IOException if the input cannot be read or does not contain a valid chromosome.
+     */
+    public static NetworkChromosome read(DataInput in) throws IOException {
+        int layerCount = in.readInt();
+        Map<Double, List<NeuronGene>> layers = new HashMap<>();
+        Map<Integer, NeuronGene> neurons = new HashMap<>();
+        for (int i = 0; i < layerCount; i++) {
+            double depth = in.readDouble();
+            int size = in.readInt();
+            List<NeuronGene> layer = new ArrayList<>(size);
+            for (int j = 0; j < size; j++) {
+                int id = in.readInt();
+                NeuronType type = constant(NEURON_TYPES, in.readByte());
+                ActivationFunction activationFunction = constant(ACTIVATION_FUNCTIONS, in.readByte());
+                NeuronGene neuron = new NeuronGene(id, activationFunction, type);
+                layer.add(neuron);
+                neurons.put(neuron.getId(), neuron);
+            }
+            layers.put(depth, layer);
+        }
+
+        int connectionCount = in.readInt();
+        List<ConnectionGene> connections = new ArrayList<>(connectionCount);
+        for (int i = 0; i < connectionCount; i++) {
+            NeuronGene source = neuron(neurons, in.readInt());
+            NeuronGene target = neuron(neurons, in.readInt());
+            connections.add(new ConnectionGene(source, target, in.readDouble(), in.readBoolean(), in.readInt()));
+        }
+        return new NetworkChromosome(layers, connections);
+    }
+
+    private static <T> T constant(T[] constants, int ordinal) throws IOException {
+        if (ordinal < 0 || ordinal >= constants.length) {
+            throw new IOException("Invalid constant " + ordinal);
+        }
+        return constants[ordinal];
+    }
+
+    private static NeuronGene neuron(Map<Integer, NeuronGene> neurons, int id) throws IOException {
+        NeuronGene neuron = neurons.get(id);
+        if (neuron == null) {
+            throw new IOException("Connection refers to unknown neuron " + id);
+        }
+        return neuron;
+    }
+}
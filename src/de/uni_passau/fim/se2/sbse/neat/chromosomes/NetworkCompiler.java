@@ -0,0 +1,421 @@
+package de.uni_passau.fim.se2.sbse.neat.chromosomes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiles the forward pass of a network into a hidden class with straight-line bytecode.
+ * <p>
+ * Every neuron value lives in a local variable, the weights are embedded as constants,
+ * and the weighted sums of all neurons are unrolled in activation order.
+ * The generated code performs exactly the same floating-point operations as {@link NetworkPhenotype},
+ * so compiled and interpreted networks compute bit-identical outputs.
+ * <p>
+ * The JIT compiler does not compile methods larger than 8000 bytes of bytecode by default,
+ * so networks whose forward pass would exceed {@link #MAX_CODE_LENGTH} are not compiled.
+ */
+final class NetworkCompiler {
+
+    /**
+     * The maximum length of the generated forward pass in bytes, matching the default {@code HugeMethodLimit} of HotSpot.
+     */
+    static final int MAX_CODE_LENGTH = 8000;
+
+    private static final String CLASS_NAME = "de/uni_passau/fim/se2/sbse/neat/chromosomes/GeneratedNetwork";
+    private static final String INTERFACE_NAME = "de/uni_passau/fim/se2/sbse/neat/chromosomes/CompiledNetwork";
+    private static final String PHENOTYPE_NAME = "de/uni_passau/fim/se2/sbse/neat/chromosomes/NetworkPhenotype";
+    private static final String FAST_ACTIVATIONS_NAME = "de/uni_passau/fim/se2/sbse/neat/chromosomes/FastActivations";
+
+    // Class file constants
+    private static final int CLASS_FILE_VERSION = 61;
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+    private static final int ACC_SYNTHETIC = 0x1000;
+
+    // Opcodes
+    private static final int ICONST_0 = 0x03;
+    private static final int DCONST_0 = 0x0e;
+    private static final int DCONST_1 = 0x0f;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC2_W = 0x14;
+    private static final int DLOAD = 0x18;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int DALOAD = 0x31;
+    private static final int DSTORE = 0x39;
+    private static final int DASTORE = 0x52;
+    private static final int DADD = 0x63;
+    private static final int DSUB = 0x67;
+    private static final int DMUL = 0x6b;
+    private static final int DDIV = 0x6f;
+    private static final int DNEG = 0x77;
+    private static final int RETURN = 0xb1;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int WIDE = 0xc4;
+
+    /**
+     * The index of the first local variable holding a neuron value, following {@code this}, the state and the output.
+     */
+    private static final int FIRST_SLOT_LOCAL = 3;
+
+    private NetworkCompiler() {
+        // private constructor to prevent instantiation.
+    }
+
+    /**
+     * Compiles the given forward pass, which is described in the same format as {@link NetworkPhenotype}.
+     * With fast activations, the activation functions call the approximations of {@link FastActivations}.
+     *
+     * @return The compiled network, or {@code null} if the network is too large to be compiled.
+     */
+    static CompiledNetwork compile(int[] seedSlots, int[] seedInputs, int[] orderSlots, NeuronGene[] orderNeurons,
+                                   int[] edgeStart, int[] edgeSources, double[] edgeWeights, int[] outputSlots,
+                                   int slotCount, boolean fastActivations) {
+        for (NeuronGene neuron : orderNeurons) {
+            if (neuron.getActivationFunction() == null) {
+                return null;
+            }
+        }
+        if (seedInputs.length > Short.MAX_VALUE || outputSlots.length > Short.MAX_VALUE) {
+            return null;
+        }
+
+        ConstantPool pool = new ConstantPool();
+        int thisClass = pool.classInfo(CLASS_NAME);
+        int superClass = pool.classInfo("java/lang/Object");
+        int compiledNetwork = pool.classInfo(INTERFACE_NAME);
+        int objectInit = pool.methodRef("java/lang/Object", "<init>", "()V");
+        int compensatedTotal = pool.methodRef(PHENOTYPE_NAME, "compensatedTotal", "(DDD)D");
+        int exp = pool.methodRef("java/lang/Math", "exp", "(D)D");
+        int tanh = pool.methodRef("java/lang/Math", "tanh", "(D)D");
+        int fastSigmoid = pool.methodRef(FAST_ACTIVATIONS_NAME, "sigmoid", "(D)D");
+        int fastTanh = pool.methodRef(FAST_ACTIVATIONS_NAME, "tanh", "(D)D");
+
+        int sum = FIRST_SLOT_LOCAL + 2 * slotCount;
+        int compensation = sum + 2;
+        int simpleSum = sum + 4;
+        int value = sum + 6;
+        int corrected = sum + 8;
+        int next = sum + 10;
+        int maxLocals = next + 2;
+
+        Code code = new Code();
+        for (int slot = 0; slot < slotCount; slot++) {
+            code.op(DCONST_0);
+            code.local(DSTORE, local(slot));
+        }
+        for (int i = 0; i < seedSlots.length; i++) {
+            if (seedInputs[i] < 0) {
+                code.op(DCONST_1);
+            } else {
+                code.op(ALOAD_1);
+                code.pushInt(seedInputs[i]);
+                code.op(DALOAD);
+            }
+            code.local(DSTORE, local(seedSlots[i]));
+        }
+
+        for (int i = 0; i < orderSlots.length; i++) {
+            code.op(DCONST_0);
+            code.local(DSTORE, sum);
+            code.op(DCONST_0);
+            code.local(DSTORE, compensation);
+            code.op(DCONST_0);
+            code.local(DSTORE, simpleSum);
+            for (int e = edgeStart[i]; e < edgeStart[i + 1]; e++) {
+                // value = source * weight
+                code.local(DLOAD, local(edgeSources[e]));
+                code.op(LDC2_W);
+                code.u2(pool.doubleInfo(edgeWeights[e]));
+                code.op(DMUL);
+                code.local(DSTORE, value);
+                // corrected = value - compensation
+                code.local(DLOAD, value);
+                code.local(DLOAD, compensation);
+                code.op(DSUB);
+                code.local(DSTORE, corrected);
+                // next = sum + corrected
+                code.local(DLOAD, sum);
+                code.local(DLOAD, corrected);
+                code.op(DADD);
+                code.local(DSTORE, next);
+                // compensation = (next - sum) - corrected
+                code.local(DLOAD, next);
+                code.local(DLOAD, sum);
+                code.op(DSUB);
+                code.local(DLOAD, corrected);
+                code.op(DSUB);
+                code.local(DSTORE, compensation);
+                // sum = next
+                code.local(DLOAD, next);
+                code.local(DSTORE, sum);
+                // simpleSum += value
+                code.local(DLOAD, simpleSum);
+                code.local(DLOAD, value);
+                code.op(DADD);
+                code.local(DSTORE, simpleSum);
+            }
+
+            ActivationFunction activation = orderNeurons[i].getActivationFunction();
+            if (activation == ActivationFunction.SIGMOID && !fastActivations) {
+                code.op(DCONST_1);
+                code.op(DCONST_1);
+            }
+            code.local(DLOAD, sum);
+            code.local(DLOAD, compensation);
+            code.local(DLOAD, simpleSum);
+            code.op(INVOKESTATIC);
+            code.u2(compensatedTotal);
+            switch (activation) {
+                case SIGMOID -> {
+                    if (fastActivations) {
+                        code.op(INVOKESTATIC);
+                        code.u2(fastSigmoid);
+                    } else {
+                        code.op(DNEG);
+                        code.op(INVOKESTATIC);
+                        code.u2(exp);
+                        code.op(DADD);
+                        code.op(DDIV);
+                    }
+                }
+                case TANH -> {
+                    code.op(INVOKESTATIC);
+                    code.u2(fastActivations ? fastTanh : tanh);
+                }
+                case NONE -> {
+                }
+            }
+            code.local(DSTORE, local(orderSlots[i]));
+
+            if (code.length() > MAX_CODE_LENGTH) {
+                return null;
+            }
+        }
+
+        for (int i = 0; i < outputSlots.length; i++) {
+            code.op(ALOAD_2);
+            code.pushInt(i);
+            code.local(DLOAD, local(outputSlots[i]));
+            code.op(DASTORE);
+        }
+        code.op(RETURN);
+        if (code.length() > MAX_CODE_LENGTH) {
+            return null;
+        }
+
+        Code constructor = new Code();
+        constructor.op(ALOAD_0);
+        constructor.op(INVOKESPECIAL);
+        constructor.u2(objectInit);
+        constructor.op(RETURN);
+
+        int codeName = pool.utf8("Code");
+        int initName = pool.utf8("<init>");
+        int initDescriptor = pool.utf8("()V");
+        int activateName = pool.utf8("activate");
+        int activateDescriptor = pool.utf8("([D[D)V");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(CLASS_FILE_VERSION);
+            pool.writeTo(out);
+            out.writeShort(ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1);
+            out.writeShort(compiledNetwork);
+            out.writeShort(0);
+            out.writeShort(2);
+            writeMethod(out, initName, initDescriptor, codeName, constructor, 1, 1);
+            // The deepest operand stack holds two doubles for the sigmoid and three arguments of compensatedTotal.
+            writeMethod(out, activateName, activateDescriptor, codeName, code, 10, maxLocals);
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes.toByteArray(), true);
+            return (CompiledNetwork) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not instantiate the compiled network", e);
+        }
+    }
+
+    private static int local(int slot) {
+        return FIRST_SLOT_LOCAL + 2 * slot;
+    }
+
+    private static void writeMethod(DataOutputStream out, int name, int descriptor, int codeName, Code code,
+                                    int maxStack, int maxLocals) throws IOException {
+        out.writeShort(ACC_PUBLIC);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+        out.writeShort(codeName);
+        out.writeInt(12 + code.length());
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length());
+        code.writeTo(out);
+        out.writeShort(0);
+        out.writeShort(0);
+    }
+
+    /**
+     * The bytecode of a method body.
+     */
+    private static final class Code {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        void op(int opcode) {
+            bytes.write(opcode);
+        }
+
+        void u2(int value) {
+            bytes.write(value >>> 8);
+            bytes.write(value);
+        }
+
+        /**
+         * Emits a load or store of the local variable with the given index, widening the index if necessary.
+         */
+        void local(int opcode, int index) {
+            if (index > 0xFF) {
+                op(WIDE);
+                op(opcode);
+                u2(index);
+            } else {
+                op(opcode);
+                op(index);
+            }
+        }
+
+        void pushInt(int value) {
+            if (value <= 5) {
+                op(ICONST_0 + value);
+            } else if (value <= Byte.MAX_VALUE) {
+                op(BIPUSH);
+                op(value);
+            } else {
+                op(SIPUSH);
+                u2(value);
+            }
+        }
+
+        int length() {
+            return bytes.size();
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            bytes.writeTo(out);
+        }
+    }
+
+    /**
+     * The constant pool of the generated class, which stores every constant once.
+     */
+    private static final class ConstantPool {
+        private static final int UTF8 = 1;
+        private static final int DOUBLE = 6;
+        private static final int CLASS = 7;
+        private static final int METHOD_REF = 10;
+        private static final int NAME_AND_TYPE = 12;
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> indices = new HashMap<>();
+        private final Map<Long, Integer> doubles = new HashMap<>();
+        private int count = 1;
+
+        int utf8(String value) {
+            Integer index = indices.get("U" + value);
+            if (index != null) {
+                return index;
+            }
+            write(UTF8);
+            try {
+                out.writeUTF(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            indices.put("U" + value, count);
+            return count++;
+        }
+
+        int classInfo(String name) {
+            Integer index = indices.get("C" + name);
+            if (index != null) {
+                return index;
+            }
+            int nameIndex = utf8(name);
+            write(CLASS);
+            writeShort(nameIndex);
+            indices.put("C" + name, count);
+            return count++;
+        }
+
+        int methodRef(String owner, String name, String descriptor) {
+            int ownerIndex = classInfo(owner);
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            write(NAME_AND_TYPE);
+            writeShort(nameIndex);
+            writeShort(descriptorIndex);
+            int nameAndType = count++;
+            write(METHOD_REF);
+            writeShort(ownerIndex);
+            writeShort(nameAndType);
+            return count++;
+        }
+
+        int doubleInfo(double value) {
+            long bits = Double.doubleToRawLongBits(value);
+            Integer index = doubles.get(bits);
+            if (index != null) {
+                return index;
+            }
+            write(DOUBLE);
+            try {
+                out.writeLong(bits);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            doubles.put(bits, count);
+            int result = count;
+            // Double constants occupy two entries of the constant pool.
+            count += 2;
+            return result;
+        }
+
+        void writeTo(DataOutputStream target) throws IOException {
+            target.writeShort(count);
+            bytes.writeTo(target);
+        }
+
+        private void write(int tag) {
+            bytes.write(tag);
+        }
+
+        private void writeShort(int value) {
+            bytes.write(value >>> 8);
+            bytes.write(value);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package de.uni_passau.fim.se2.sbse.neat.chromosomes;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * An immutable value capturing everything that determines the outputs of a network chromosome:
+ * the layers in depth order with the id, type and activation function of their neurons,
+ * and the connections in list order with their endpoints, weights and enabled flags.
+ * <p>
+ * Two chromosomes with equal fingerprints compute identical outputs for every input,
+ * so in a deterministic environment they obtain the same fitness.
+ * Innovation numbers do not influence the outputs and are not part of the fingerprint.
+ */
+public final class NetworkFingerprint {
+
+    /**
+     * The encoded layers followed by the encoded connections.
+     */
+    private final long[] genes;
+
+    private final int hash;
+
+    private NetworkFingerprint(long[] genes) {
+        this.genes = genes;
+        this.hash = Arrays.hashCode(genes);
+    }
+
+    /**
+     * Computes the fingerprint of the given layers and connections.
+     *
+     * @param layers      The layers of the network.
+     * @param connections The connections of the network.
+     * @return The fingerprint of the network.
+     */
+    static NetworkFingerprint of(Map<Double, List<NeuronGene>> layers, ConnectionGenes connections) {
+        List<Double> depths = new ArrayList<>(layers.keySet());
+        Collections.sort(depths);
+
+        int length = 2 + 2 * depths.size() + 3 * connections.size();
+        for (List<NeuronGene> layer : layers.values()) {
+            length += layer.size();
+        }
+        long[] genes = new long[length];
+        int index = 0;
+
+        genes[index++] = depths.size();
+        for (double depth : depths) {
+            List<NeuronGene> layer = layers.get(depth);
+            genes[index++] = Double.doubleToLongBits(depth);
+            genes[index++] = layer.size();
+            for (NeuronGene neuron : layer) {
+                genes[index++] = ((long) neuron.getId() << 32)
+                        | ((long) neuron.getNeuronType().ordinal() << 8)
+                        | neuron.getActivationFunction().ordinal();
+            }
+        }
+
+        genes[index++] = connections.size();
+        for (int i = 0; i < connections.size(); i++) {
+            genes[index++] = ((long) connections.source(i).getId() << 32)
+                    | (connections.target(i).getId() & 0xFFFFFFFFL);
+            genes[index++] = Double.doubleToLongBits(connections.weight(i));
+            genes[index++] = connections.enabled(i) ? 1 : 0;
+        }
+        return new NetworkFingerprint(genes);
+    }
+
+    /**
+     * Writes the fingerprint, for instance to persist a fitness cache.
+     *
+     * @param out The output receiving the fingerprint.
+     * @throws IOException if the output cannot be written.
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(genes.length);
+        for (long gene : genes) {
+            out.writeLong(gene);
+        }
+    }
+
+    /**
+     * Reads a fingerprint written by {@link #write(DataOutput)}.
+     *
+     * @param in The input providing the fingerprint.
+     * @return The fingerprint.
+     * @throws IOException if the input cannot be read.
+     */
+    public static NetworkFingerprint read(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid fingerprint length " + length);
+        }
+        long[] genes = new long[length];
+        for (int i = 0; i < length; i++) {
+            genes[i] = in.readLong();
+        }
+        return new NetworkFingerprint(genes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NetworkFingerprint that)) return false;
+        return hash == that.hash && Arrays.equals(genes, that.genes);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -1,6 +1,7 @@
 package de.uni_passau.fim.se2.sbse.neat.chromosomes;
 
 import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.InnovationRegistry;
 import static java.util.Objects.requireNonNull;
 import java.util.*;
 /**
@@ -58,6 +59,13 @@ public NetworkGenerator(Set<Innovation> innovations, int inputSize, int outputSi
         }
     }
     public int getInnovationNumber(int originId, int goalId) {
+        if (innovations instanceof InnovationRegistry registry) {
+            int innovationNumber = registry.find(originId, goalId);
+            if (innovationNumber == InnovationRegistry.NOT_FOUND) {
+                throw new IllegalStateException("Innovation is not found");
+            }
+            return innovationNumber;
+        }
         for (Innovation innovation : innovations) {
             if (innovation instanceof ConcreteInnovation) {
                 ConcreteInnovation connInnovation = (ConcreteInnovation) innovation;
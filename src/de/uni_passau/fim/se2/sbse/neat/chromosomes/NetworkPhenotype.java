@@ -0,0 +1,328 @@
+package de.uni_passau.fim.se2.sbse.neat.chromosomes;
+
+import java.util.*;
+
+/**
+ * A compiled, flat-array representation of a network chromosome that is used to compute forward passes.
+ * <p>
+ * The phenotype is built once per chromosome. Every neuron gets a slot in a reusable activation buffer,
+ * the neurons are stored in the order in which they have to be activated, and the incoming connections
+ * of every activated neuron are stored in compressed sparse row format.
+ * The computed outputs are identical to evaluating the layers of the chromosome one after another,
+ * including the compensated summation of the weighted inputs performed by {@link java.util.stream.DoubleStream#sum()}.
+ * <p>
+ * Since the activation buffer is reused between forward passes, a phenotype must not be used by multiple threads
+ * at the same time.
+ */
+final class NetworkPhenotype {
+
+    /**
+     * The number of input neurons the network expects a state value for.
+     */
+    private final int inputSize;
+
+    /**
+     * The slots of the input and bias neurons in the order in which they appear in the input layer.
+     */
+    private final int[] seedSlots;
+
+    /**
+     * The index of the state value assigned to the corresponding seed slot, or {@code -1} for bias neurons.
+     */
+    private final int[] seedInputs;
+
+    /**
+     * The slots of the neurons in the order in which they are activated.
+     */
+    private final int[] orderSlots;
+
+    /**
+     * The neurons in the order in which they are activated.
+     */
+    private final NeuronGene[] orderNeurons;
+
+    /**
+     * The index of the first incoming edge of each activated neuron; edges of neuron {@code i}
+     * are stored between {@code edgeStart[i]} (inclusive) and {@code edgeStart[i + 1]} (exclusive).
+     */
+    private final int[] edgeStart;
+
+    /**
+     * The slot of the source neuron of every incoming edge.
+     */
+    private final int[] edgeSources;
+
+    /**
+     * The weight of every incoming edge.
+     */
+    private final double[] edgeWeights;
+
+    /**
+     * The slots of the output neurons.
+     */
+    private final int[] outputSlots;
+
+    /**
+     * The reusable activation buffer holding the value of every neuron slot.
+     */
+    private final double[] activations;
+
+    /**
+     * Whether the activation functions are approximated by {@link FastActivations}.
+     */
+    private final boolean fastActivations;
+
+    /**
+     * The reusable buffers of {@link #activate(double[], double[], int)}, grown to the largest batch so far:
+     * the value of every neuron slot and row, slot-major, and the running sums of every row.
+     */
+    private double[] batchValues = new double[0];
+    private double[] batchSums = new double[0];
+    private double[] batchCompensations = new double[0];
+    private double[] batchSimpleSums = new double[0];
+
+    private NetworkPhenotype(int inputSize, int[] seedSlots, int[] seedInputs, int[] orderSlots,
+                             NeuronGene[] orderNeurons, int[] edgeStart, int[] edgeSources, double[] edgeWeights,
+                             int[] outputSlots, int slotCount, boolean fastActivations) {
+        this.inputSize = inputSize;
+        this.seedSlots = seedSlots;
+        this.seedInputs = seedInputs;
+        this.orderSlots = orderSlots;
+        this.orderNeurons = orderNeurons;
+        this.edgeStart = edgeStart;
+        this.edgeSources = edgeSources;
+        this.edgeWeights = edgeWeights;
+        this.outputSlots = outputSlots;
+        this.activations = new double[slotCount];
+        this.fastActivations = fastActivations;
+    }
+
+    /**
+     * Compiles the given layers and connections into a phenotype.
+     *
+     * @param layers          The layers of the network.
+     * @param connections     The connections of the network.
+     * @param fastActivations Whether the activation functions are approximated by {@link FastActivations}.
+     * @return The compiled phenotype.
+     */
+    static NetworkPhenotype compile(Map<Double, List<NeuronGene>> layers, ConnectionGenes connections,
+                                    boolean fastActivations) {
+        List<NeuronGene> inputLayer = layers.get(NetworkChromosome.INPUT_LAYER);
+        List<NeuronGene> outputLayer = layers.get(NetworkChromosome.OUTPUT_LAYER);
+
+        Map<Integer, Integer> slots = new HashMap<>();
+        for (List<NeuronGene> layer : layers.values()) {
+            for (NeuronGene neuron : layer) {
+                slots.putIfAbsent(neuron.getId(), slots.size());
+            }
+        }
+
+        Map<Integer, List<Integer>> incoming = new HashMap<>();
+        for (int i = 0; i < connections.size(); i++) {
+            if (connections.enabled(i)) {
+                slots.putIfAbsent(connections.source(i).getId(), slots.size());
+                incoming.computeIfAbsent(connections.target(i).getId(), k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        int inputSize = 0;
+        int seedCount = 0;
+        int[] seedSlots = new int[inputLayer.size()];
+        int[] seedInputs = new int[inputLayer.size()];
+        for (NeuronGene neuron : inputLayer) {
+            if (neuron.getNeuronType() == NeuronType.INPUT) {
+                seedSlots[seedCount] = slots.get(neuron.getId());
+                seedInputs[seedCount++] = inputSize++;
+            } else if (neuron.getNeuronType() == NeuronType.BIAS) {
+                seedSlots[seedCount] = slots.get(neuron.getId());
+                seedInputs[seedCount++] = -1;
+            }
+        }
+
+        List<Double> sortedLayers = new ArrayList<>(layers.keySet());
+        Collections.sort(sortedLayers);
+
+        List<NeuronGene> order = new ArrayList<>();
+        for (double layerDepth : sortedLayers) {
+            if (layerDepth == NetworkChromosome.INPUT_LAYER) continue;
+            order.addAll(layers.get(layerDepth));
+        }
+
+        int[] orderSlots = new int[order.size()];
+        NeuronGene[] orderNeurons = new NeuronGene[order.size()];
+        int[] edgeStart = new int[order.size() + 1];
+        int edgeCount = 0;
+        for (NeuronGene neuron : order) {
+            edgeCount += incoming.getOrDefault(neuron.getId(), List.of()).size();
+        }
+        int[] edgeSources = new int[edgeCount];
+        double[] edgeWeights = new double[edgeCount];
+
+        int edge = 0;
+        for (int i = 0; i < order.size(); i++) {
+            NeuronGene neuron = order.get(i);
+            orderSlots[i] = slots.get(neuron.getId());
+            orderNeurons[i] = neuron;
+            edgeStart[i] = edge;
+            for (int connection : incoming.getOrDefault(neuron.getId(), List.of())) {
+                edgeSources[edge] = slots.get(connections.source(connection).getId());
+                edgeWeights[edge++] = connections.weight(connection);
+            }
+        }
+        edgeStart[order.size()] = edge;
+
+        int[] outputSlots = outputLayer.stream().mapToInt(n -> slots.get(n.getId())).toArray();
+
+        return new NetworkPhenotype(inputSize, Arrays.copyOf(seedSlots, seedCount), Arrays.copyOf(seedInputs, seedCount),
+                orderSlots, orderNeurons, edgeStart, edgeSources, edgeWeights, outputSlots, slots.size(), fastActivations);
+    }
+
+    /**
+     * Returns the number of state values the network expects as input.
+     *
+     * @return The number of input neurons.
+     */
+    int inputSize() {
+        return inputSize;
+    }
+
+    /**
+     * Returns the number of values the network produces.
+     *
+     * @return The number of output neurons.
+     */
+    int outputSize() {
+        return outputSlots.length;
+    }
+
+    /**
+     * Computes a forward pass for the given state and writes the activations of the output neurons to the given array.
+     *
+     * @param state  The state values, one per input neuron.
+     * @param output The array receiving the output values, one per output neuron.
+     */
+    void activate(double[] state, double[] output) {
+        double[] values = activations;
+        Arrays.fill(values, 0.0);
+        for (int i = 0; i < seedSlots.length; i++) {
+            values[seedSlots[i]] = seedInputs[i] < 0 ? 1.0 : state[seedInputs[i]];
+        }
+
+        for (int i = 0; i < orderSlots.length; i++) {
+            // Compensated summation, mirroring DoubleStream.sum() to keep the results bit-identical.
+            double sum = 0.0;
+            double compensation = 0.0;
+            double simpleSum = 0.0;
+            for (int e = edgeStart[i]; e < edgeStart[i + 1]; e++) {
+                double value = values[edgeSources[e]] * edgeWeights[e];
+                double corrected = value - compensation;
+                double next = sum + corrected;
+                compensation = (next - sum) - corrected;
+                sum = next;
+                simpleSum += value;
+            }
+            double total = compensatedTotal(sum, compensation, simpleSum);
+            values[orderSlots[i]] = fastActivations
+                    ? FastActivations.activate(orderNeurons[i].getActivationFunction(), total)
+                    : orderNeurons[i].activate(total);
+        }
+
+        for (int i = 0; i < outputSlots.length; i++) {
+            output[i] = values[outputSlots[i]];
+        }
+    }
+
+    /**
+     * Computes forward passes for several states at once and writes the activations of the output neurons
+     * to the given array. The states and outputs are stored row-major. Every neuron is activated for all rows
+     * before the next one, so each weight is loaded once per batch. The outputs of every row are identical to
+     * those of {@link #activate(double[], double[])}, as every row performs the same operations in the same order.
+     *
+     * @param states  The state values, {@link #inputSize()} per row.
+     * @param outputs The array receiving the output values, {@link #outputSize()} per row.
+     * @param rows    The number of states.
+     */
+    void activate(double[] states, double[] outputs, int rows) {
+        int slotCount = activations.length;
+        if (batchValues.length < slotCount * rows) {
+            batchValues = new double[slotCount * rows];
+        }
+        if (batchSums.length < rows) {
+            batchSums = new double[rows];
+            batchCompensations = new double[rows];
+            batchSimpleSums = new double[rows];
+        }
+        double[] values = batchValues;
+        double[] sums = batchSums;
+        double[] compensations = batchCompensations;
+        double[] simpleSums = batchSimpleSums;
+        Arrays.fill(values, 0, slotCount * rows, 0.0);
+        for (int i = 0; i < seedSlots.length; i++) {
+            int base = seedSlots[i] * rows;
+            for (int row = 0; row < rows; row++) {
+                values[base + row] = seedInputs[i] < 0 ? 1.0 : states[row * inputSize + seedInputs[i]];
+            }
+        }
+
+        for (int i = 0; i < orderSlots.length; i++) {
+            Arrays.fill(sums, 0, rows, 0.0);
+            Arrays.fill(compensations, 0, rows, 0.0);
+            Arrays.fill(simpleSums, 0, rows, 0.0);
+            for (int e = edgeStart[i]; e < edgeStart[i + 1]; e++) {
+                int source = edgeSources[e] * rows;
+                double weight = edgeWeights[e];
+                for (int row = 0; row < rows; row++) {
+                    double value = values[source + row] * weight;
+                    double corrected = value - compensations[row];
+                    double next = sums[row] + corrected;
+                    compensations[row] = (next - sums[row]) - corrected;
+                    sums[row] = next;
+                    simpleSums[row] += value;
+                }
+            }
+            int target = orderSlots[i] * rows;
+            NeuronGene neuron = orderNeurons[i];
+            for (int row = 0; row < rows; row++) {
+                double total = compensatedTotal(sums[row], compensations[row], simpleSums[row]);
+                values[target + row] = fastActivations
+                        ? FastActivations.activate(neuron.getActivationFunction(), total)
+                        : neuron.activate(total);
+            }
+        }
+
+        int outputSize = outputSlots.length;
+        for (int i = 0; i < outputSize; i++) {
+            int base = outputSlots[i] * rows;
+            for (int row = 0; row < rows; row++) {
+                outputs[row * outputSize + i] = values[base + row];
+            }
+        }
+    }
+
+    /**
+     * Compiles the forward pass of this phenotype into a generated class.
+     *
+     * @return The compiled network, or {@code null} if the network is too large to be compiled.
+     */
+    CompiledNetwork compile() {
+        return NetworkCompiler.compile(seedSlots, seedInputs, orderSlots, orderNeurons, edgeStart, edgeSources,
+                edgeWeights, outputSlots, activations.length, fastActivations);
+    }
+
+    /**
+     * Returns the result of a compensated summation like {@link java.util.stream.DoubleStream#sum()},
+     * falling back to the simple sum if the compensation produced NaN from infinite values.
+     *
+     * @param sum          The compensated sum.
+     * @param compensation The accumulated compensation.
+     * @param simpleSum    The simple sum of the values.
+     * @return The total.
+     */
+    static double compensatedTotal(double sum, double compensation, double simpleSum) {
+        double total = sum - compensation;
+        if (Double.isNaN(total) && Double.isInfinite(simpleSum)) {
+            return simpleSum;
+        }
+        return total;
+    }
+}
@@ -29,6 +29,10 @@ public NeuronType getNeuronType() {
         return  neuronType;
     }
 
+    public ActivationFunction getActivationFunction() {
+        return activationFunction;
+    }
+
 
 
 
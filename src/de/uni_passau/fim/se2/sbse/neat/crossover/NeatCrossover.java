@@ -1,11 +1,11 @@
 package de.uni_passau.fim.se2.sbse.neat.crossover;
 
 
-import de.uni_passau.fim.se2.sbse.neat.chromosomes.ConnectionGene;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.ConnectionGenes;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.InnovationView;
 import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
-import de.uni_passau.fim.se2.sbse.neat.chromosomes.NeuronGene;
 
-import java.util.*;
+import java.util.Random;
 
 import static java.util.Objects.requireNonNull;
 
@@ -33,6 +33,7 @@ public NeatCrossover(Random random) {
      * During the crossover operation, we determine for each gene whether it is a matching gene or a disjoint/excess gene.
      * Matching genes are inherited with a 50% chance from either parent,
      * while disjoint/excess genes are only inherited from the fitter parent.
+     * The genes of the child are ordered by their innovation numbers.
      *
      * @param parent1 The first crossover parent.
      * @param parent2 The second crossover parent.
@@ -47,54 +48,31 @@ public NetworkChromosome apply(NetworkChromosome parent1, NetworkChromosome pare
             parent2 = tempValue;
         }
 
-         Map<Integer, ConnectionGene> firstConnection = new HashMap<>();
-        for (ConnectionGene connection : parent1.getConnections()) {
-            firstConnection.put(connection.getInnovationNumber(), connection);
-        }
-        Map<Integer, ConnectionGene> secondConnection = new HashMap<>();
-        for (ConnectionGene connection : parent2.getConnections()) {
-            secondConnection.put(connection.getInnovationNumber(), connection);
-        }
-
-        Map<Double, List<NeuronGene>> dependantLayers = new HashMap<>();
-        for (Map.Entry<Double, List<NeuronGene>> entry : parent1.getLayers().entrySet()) {
-            dependantLayers.put(entry.getKey(), new ArrayList<>(entry.getValue()));
-        }
-      
+        // Align the genes of both parents in a single merge over their innovation-sorted views.
+        InnovationView firstConnection = parent1.getInnovationView();
+        InnovationView secondConnection = parent2.getInnovationView();
+        ConnectionGenes firstGenes = parent1.getConnectionGenes();
 
-        Set<Integer> allInnovations = new HashSet<>();
-        allInnovations.addAll(firstConnection.keySet());
-        allInnovations.addAll(secondConnection.keySet());
-
-        List<ConnectionGene> childConnections = new ArrayList<>();
-        for (Integer innovation : allInnovations) {
-            ConnectionGene firstConnectedGene = firstConnection.get(innovation);
-            ConnectionGene secondConnectedGene = secondConnection.get(innovation);
-
-            if (firstConnectedGene != null && secondConnectedGene != null) {
-                double newWeight = firstConnectedGene.getWeight() + (secondConnectedGene.getWeight() - firstConnectedGene.getWeight()) * random.nextDouble();
-         
-                childConnections.add(new ConnectionGene(
-                    firstConnectedGene.getSourceNeuron(),
-                    firstConnectedGene.getTargetNeuron(),
-                    newWeight,
-                    firstConnectedGene.getEnabled(),
-                    firstConnectedGene.getInnovationNumber()
-            ));
-            }  else if (firstConnectedGene != null) {
-            
-                double mutatedWeight = firstConnectedGene.getWeight() * (1 + (random.nextGaussian() * 0.1));
-                
-                childConnections.add( new ConnectionGene(
-                    firstConnectedGene.getSourceNeuron(),
-                    firstConnectedGene.getTargetNeuron(),
-                    mutatedWeight,
-                    firstConnectedGene.getEnabled(),
-                    firstConnectedGene.getInnovationNumber()
-            ));
+        ConnectionGenes.Builder childConnections = ConnectionGenes.builder();
+        int second = 0;
+        for (int first = 0; first < firstConnection.size(); first++) {
+            int innovation = firstConnection.innovation(first);
+            while (second < secondConnection.size() && secondConnection.innovation(second) < innovation) {
+                second++;
+            }
+            double firstWeight = firstConnection.weight(first);
+            double newWeight;
+            if (second < secondConnection.size() && secondConnection.innovation(second) == innovation) {
+                newWeight = firstWeight + (secondConnection.weight(second) - firstWeight) * random.nextDouble();
+            } else {
+                newWeight = firstWeight * (1 + (random.nextGaussian() * 0.1));
             }
+            int position = firstConnection.position(first);
+            childConnections.add(firstGenes.source(position), firstGenes.target(position), newWeight,
+                    firstGenes.enabled(position), innovation);
         }
 
-        return new NetworkChromosome(dependantLayers, childConnections);
+        // The child inherits the structure of the fitter parent, so it shares its layers instead of copying them.
+        return parent1.withConnections(childConnections.build());
     }
 }
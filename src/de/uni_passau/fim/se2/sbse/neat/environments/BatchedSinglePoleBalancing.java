@@ -0,0 +1,245 @@
+package de.uni_passau.fim.se2.sbse.neat.environments;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing.*;
+
+/**
+ * Simulates the single pole balancing task for many agents in lockstep.
+ * <p>
+ * Every agent controls a cart of its own. The state of all carts is stored in one array per state variable,
+ * and a single time step advances all running carts in one counted loop without branches,
+ * which the JIT compiler can unroll and schedule well.
+ * Carts that have finished all of their episodes are masked out by swapping them behind the running carts,
+ * such that the running carts always occupy a dense prefix of the arrays.
+ * <p>
+ * Each agent draws the random start states of its episodes from a random number generator seeded with its own seed.
+ * The reward of an agent is therefore identical to evaluating it in a {@link SinglePoleBalancing} environment
+ * whose random number generator was set to the same seed, independent of the other agents in the batch.
+ * <p>
+ * The simulator reuses its arrays between evaluations and must not be used by multiple threads at the same time.
+ */
+public class BatchedSinglePoleBalancing {
+
+    private static final int STATE_SIZE = 4;
+    private static final int ACTION_SIZE = 1;
+
+    private final int maxSteps;
+    private final int repeats;
+    private final boolean randomise;
+
+    // Per-slot state of the carts; slots [0, running) hold the carts that are still simulated.
+    private double[] cartPosition = new double[0];
+    private double[] cartVelocity = new double[0];
+    private double[] poleAngle = new double[0];
+    private double[] poleAngularVelocity = new double[0];
+    private double[] force = new double[0];
+    private int[] steps = new int[0];
+    private int[] episode = new int[0];
+    private int[] agentIndex = new int[0];
+
+    // Per-agent random number generators, reseeded for every evaluation.
+    private Random[] randoms = new Random[0];
+
+    // Reusable buffers for the interaction between an agent and its cart.
+    private final double[] stateBuffer = new double[STATE_SIZE];
+    private final double[] actionBuffer = new double[ACTION_SIZE];
+
+    /**
+     * Initialises a new batched single pole balancing simulator.
+     *
+     * @param maxSteps  The maximum number of steps to run each episode for.
+     * @param repeats   The number of times to repeat the simulation to calculate the reward.
+     * @param randomise Whether to randomise the initial cart position and pole angle.
+     */
+    public BatchedSinglePoleBalancing(int maxSteps, int repeats, boolean randomise) {
+        this.maxSteps = maxSteps;
+        this.repeats = repeats;
+        this.randomise = randomise;
+    }
+
+    /**
+     * Initialises a new batched single pole balancing simulator with the default maximum number of steps.
+     *
+     * @param repeats   The number of times to repeat the simulation to calculate the reward.
+     * @param randomise Whether to randomise the initial cart position and pole angle.
+     */
+    public BatchedSinglePoleBalancing(int repeats, boolean randomise) {
+        this(DEFAULT_MAX_STEPS, repeats, randomise);
+    }
+
+    /**
+     * Returns the number of state variables of every cart.
+     *
+     * @return The size of the state.
+     */
+    public int stateSize() {
+        return STATE_SIZE;
+    }
+
+    /**
+     * Returns the number of action values every agent has to produce.
+     *
+     * @return The size of the action.
+     */
+    public int actionInputSize() {
+        return ACTION_SIZE;
+    }
+
+    /**
+     * Evaluates the given agents, each on a cart of its own.
+     * An agent may occur several times in the list, in which case it is evaluated once per occurrence.
+     *
+     * @param agents The agents to evaluate.
+     * @param seeds  The seed of the random number generator of every agent's cart.
+     * @return The reward obtained by every agent, in the order of the agents.
+     * @throws IllegalArgumentException if the number of seeds does not match the number of agents.
+     */
+    public double[] evaluate(List<? extends Agent> agents, long[] seeds) {
+        if (agents.size() != seeds.length) {
+            throw new IllegalArgumentException(
+                    "Expected one seed per agent. Agents: " + agents.size() + ", Seeds: " + seeds.length);
+        }
+        int count = agents.size();
+        ensureCapacity(count);
+
+        double[] rewards = new double[count];
+        for (int slot = 0; slot < count; slot++) {
+            randoms[slot].setSeed(seeds[slot]);
+            agentIndex[slot] = slot;
+            episode[slot] = 0;
+            reset(slot);
+        }
+
+        int running = count;
+        while (running > 0) {
+            for (int slot = 0; slot < running; slot++) {
+                stateBuffer[0] = cartPosition[slot] / MAX_POSITION;
+                stateBuffer[1] = cartVelocity[slot] / MAX_VELOCITY;
+                stateBuffer[2] = poleAngle[slot] / MAX_ANGLE;
+                stateBuffer[3] = poleAngularVelocity[slot] / MAX_POLE_VELOCITY;
+                agents.get(agentIndex[slot]).getOutput(stateBuffer, actionBuffer);
+                force[slot] = actionBuffer[0] * FORCE_MAGNITUDE;
+            }
+
+            step(running);
+
+            // Iterate downwards, so finished carts are swapped with carts that have already been checked.
+            for (int slot = running - 1; slot >= 0; slot--) {
+                boolean failed = Math.abs(cartPosition[slot]) > MAX_POSITION || Math.abs(poleAngle[slot]) > MAX_ANGLE;
+                if (!failed && steps[slot] < maxSteps) {
+                    continue;
+                }
+                rewards[agentIndex[slot]] += steps[slot];
+                // Like the scalar environment, only a failure in the first episode ends the evaluation early.
+                if ((failed && episode[slot] == 0) || episode[slot] == repeats) {
+                    swap(slot, --running);
+                } else {
+                    episode[slot]++;
+                    reset(slot);
+                }
+            }
+        }
+        return rewards;
+    }
+
+    /**
+     * Determines whether an agent has solved the task based on its obtained reward.
+     *
+     * @param agent The agent to check.
+     * @return true if the task is solved, false otherwise.
+     */
+    public boolean solved(Agent agent) {
+        return agent.getFitness() >= maxSteps * repeats;
+    }
+
+    /**
+     * Advances the first {@code running} carts by one time step.
+     * The arithmetic is identical to {@link SinglePoleBalancing} to keep the rewards bit-identical.
+     */
+    private void step(int running) {
+        double[] position = cartPosition;
+        double[] velocity = cartVelocity;
+        double[] angle = poleAngle;
+        double[] angularVelocity = poleAngularVelocity;
+        double[] forces = force;
+        int[] stepCounts = steps;
+        double totalMass = CART_MASS + POLE_MASS;
+
+        for (int slot = 0; slot < running; slot++) {
+            double cosTheta = Math.cos(angle[slot]);
+            double sinTheta = Math.sin(angle[slot]);
+            double temp = (forces[slot] + POLE_MASS * POLE_LENGTH * angularVelocity[slot] * angularVelocity[slot] * sinTheta) / totalMass;
+
+            double poleAccelNum = GRAVITY * sinTheta - cosTheta * temp;
+            double poleDenom = POLE_LENGTH * (4.0 / 3.0 - (POLE_MASS * cosTheta * cosTheta) / totalMass);
+            double poleAccel = poleAccelNum / poleDenom;
+
+            double cartAccel = temp - (POLE_MASS * POLE_LENGTH * poleAccel * cosTheta) / totalMass;
+
+            position[slot] += TIME_STEP * velocity[slot];
+            velocity[slot] += TIME_STEP * cartAccel;
+            angle[slot] += TIME_STEP * angularVelocity[slot];
+            angularVelocity[slot] += TIME_STEP * poleAccel;
+            stepCounts[slot]++;
+        }
+    }
+
+    /**
+     * Starts a new episode for the cart in the given slot, drawing the start state from the agent's generator.
+     */
+    private void reset(int slot) {
+        Random random = randoms[agentIndex[slot]];
+        cartPosition[slot] = randomise ? random.nextDouble(-MAX_POSITION * 0.9, MAX_POSITION * 0.9) : 0;
+        cartVelocity[slot] = randomise ? random.nextDouble(-MAX_VELOCITY * 0.5, MAX_VELOCITY * 0.5) : 0;
+        poleAngle[slot] = randomise ? random.nextDouble(-MAX_ANGLE * 0.9, MAX_ANGLE * 0.9) : 0.01;
+        poleAngularVelocity[slot] = randomise ? random.nextDouble(-MAX_POLE_VELOCITY * 0.5, MAX_POLE_VELOCITY * 0.5) : 0;
+        steps[slot] = 0;
+    }
+
+    private void swap(int first, int second) {
+        swap(cartPosition, first, second);
+        swap(cartVelocity, first, second);
+        swap(poleAngle, first, second);
+        swap(poleAngularVelocity, first, second);
+        swap(force, first, second);
+        swap(steps, first, second);
+        swap(episode, first, second);
+        swap(agentIndex, first, second);
+    }
+
+    private static void swap(double[] values, int first, int second) {
+        double value = values[first];
+        values[first] = values[second];
+        values[second] = value;
+    }
+
+    private static void swap(int[] values, int first, int second) {
+        int value = values[first];
+        values[first] = values[second];
+        values[second] = value;
+    }
+
+    private void ensureCapacity(int count) {
+        if (cartPosition.length >= count) {
+            return;
+        }
+        cartPosition = new double[count];
+        cartVelocity = new double[count];
+        poleAngle = new double[count];
+        poleAngularVelocity = new double[count];
+        force = new double[count];
+        steps = new int[count];
+        episode = new int[count];
+        agentIndex = new int[count];
+        int oldLength = randoms.length;
+        randoms = Arrays.copyOf(randoms, count);
+        for (int i = oldLength; i < count; i++) {
+            randoms[i] = new Random();
+        }
+    }
+}
@@ -2,6 +2,7 @@
 
 import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
@@ -36,6 +37,21 @@ public interface Environment {
      */
     void updateState(List<Double> actions);
 
+    /**
+     * Updates the environment state based on the given actions.
+     * Implementations should override this method to avoid allocating boxed values on every step;
+     * the default implementation bridges to {@link #updateState(List)}.
+     *
+     * @param actions The actions to apply to the environment. All action values must be in the range [-1, 1].
+     */
+    default void updateState(double[] actions) {
+        List<Double> actionValues = new ArrayList<>(actions.length);
+        for (double action : actions) {
+            actionValues.add(action);
+        }
+        updateState(actionValues);
+    }
+
     /**
      * Returns the current state of the environment that may be used as an input
      * for an agent interacting with the environment.
@@ -44,6 +60,30 @@ public interface Environment {
      */
     List<Double> getState();
 
+    /**
+     * Writes the current state of the environment to the given array.
+     * Implementations should override this method to avoid allocating boxed values on every step;
+     * the default implementation bridges to {@link #getState()}.
+     *
+     * @param state The array receiving the current state of the environment, one value per state variable.
+     */
+    default void getState(double[] state) {
+        List<Double> stateValues = getState();
+        for (int i = 0; i < state.length; i++) {
+            state[i] = stateValues.get(i);
+        }
+    }
+
+    /**
+     * Determines whether evaluating the same agent always yields the same reward.
+     * Evaluators may reuse the reward of an agent with identical structure and weights in deterministic environments.
+     *
+     * @return true if the environment is deterministic, false otherwise.
+     */
+    default boolean isDeterministic() {
+        return false;
+    }
+
     /**
      * Evaluates the given agent in the environment.
      *
@@ -51,6 +91,21 @@ public interface Environment {
      */
     double evaluate(Agent agent);
 
+    /**
+     * Evaluates the given agent in the environment within the given budget, and records on the agent
+     * whether the evaluation was {@linkplain Agent#setTruncated(boolean) truncated}.
+     * Environments that do not support budgets evaluate the agent in full;
+     * the default implementation delegates to {@link #evaluate(Agent)}.
+     *
+     * @param agent  The agent to evaluate.
+     * @param budget The budget of the evaluation.
+     * @return The reward the agent received after interacting with the environment.
+     */
+    default double evaluate(Agent agent, EvaluationBudget budget) {
+        agent.setTruncated(false);
+        return evaluate(agent);
+    }
+
     /**
      * Returns whether the environment is in a terminal state.
      *
@@ -0,0 +1,19 @@
+package de.uni_passau.fim.se2.sbse.neat.environments;
+
+import java.util.Random;
+
+/**
+ * Creates independent instances of a reinforcement learning environment.
+ * Environments hold mutable simulation state, so every thread evaluating agents needs an instance of its own.
+ */
+@FunctionalInterface
+public interface EnvironmentFactory {
+
+    /**
+     * Creates a new environment instance that draws all of its randomness from the given random number generator.
+     *
+     * @param random The random number generator the environment must use.
+     * @return The new environment.
+     */
+    Environment create(Random random);
+}
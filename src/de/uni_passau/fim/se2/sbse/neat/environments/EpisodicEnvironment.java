@@ -0,0 +1,49 @@
+package de.uni_passau.fim.se2.sbse.neat.environments;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+
+/**
+ * An environment whose evaluation of an agent consists of independent episodes with bounded rewards,
+ * which evaluators can run one at a time.
+ * <p>
+ * A full {@linkplain #evaluate(Agent) evaluation} runs a first episode and, if it
+ * {@linkplain #continuesAfterFirstEpisode(double) continues}, the remaining {@link #episodes()} - 1 episodes,
+ * and sums their rewards.
+ */
+public interface EpisodicEnvironment extends Environment {
+
+    /**
+     * Returns the number of episodes of a full evaluation that continues after its first episode.
+     *
+     * @return The number of episodes.
+     */
+    int episodes();
+
+    /**
+     * Returns the highest reward of a single episode. The reward of every episode lies between zero and this value.
+     *
+     * @return The highest reward of an episode.
+     */
+    double maxEpisodeReward();
+
+    /**
+     * Runs a single episode of an evaluation from a new start state.
+     * Environments with common start states start the episode with the same index of every agent from the same state.
+     *
+     * @param agent   The agent interacting with the environment.
+     * @param episode The index of the episode within the evaluation, starting at zero.
+     * @return The reward of the episode.
+     */
+    double runEpisode(Agent agent, int episode);
+
+    /**
+     * Returns whether a full evaluation runs the remaining episodes after a first episode with the given reward.
+     * The default implementation always continues.
+     *
+     * @param reward The reward of the first episode.
+     * @return true if the remaining episodes contribute to the reward of the agent.
+     */
+    default boolean continuesAfterFirstEpisode(double reward) {
+        return true;
+    }
+}
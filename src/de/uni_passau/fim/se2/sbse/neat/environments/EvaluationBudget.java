@@ -0,0 +1,44 @@
+package de.uni_passau.fim.se2.sbse.neat.environments;
+
+/**
+ * Limits the effort an environment spends on evaluating a single agent.
+ * <p>
+ * An environment that supports budgets stops an evaluation early as soon as it exhausts the budget,
+ * {@linkplain de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent#setTruncated(boolean) marks} the agent as truncated
+ * and returns the reward collected until then, which is a lower bound of the reward of a full evaluation.
+ *
+ * @param fitnessBar The reward the agent has to be able to reach. The evaluation stops once the reward collected
+ *                   so far and the highest reward of the remaining episodes add up to less than the bar,
+ *                   that is, once the agent can no longer beat the bar.
+ * @param maxSteps   The maximum number of environment steps of the evaluation, over all episodes.
+ */
+public record EvaluationBudget(double fitnessBar, long maxSteps) {
+
+    /**
+     * The budget of a full evaluation.
+     */
+    public static final EvaluationBudget UNLIMITED = new EvaluationBudget(Double.NEGATIVE_INFINITY, Long.MAX_VALUE);
+
+    /**
+     * Creates a new evaluation budget.
+     *
+     * @throws IllegalArgumentException if the fitness bar is NaN or the number of steps is not positive.
+     */
+    public EvaluationBudget {
+        if (Double.isNaN(fitnessBar)) {
+            throw new IllegalArgumentException("The fitness bar must be a number");
+        }
+        if (maxSteps < 1) {
+            throw new IllegalArgumentException("The maximum number of steps must be positive but was " + maxSteps);
+        }
+    }
+
+    /**
+     * Returns whether the budget never stops an evaluation.
+     *
+     * @return true if this budget allows a full evaluation of every agent.
+     */
+    public boolean isUnlimited() {
+        return fitnessBar == Double.NEGATIVE_INFINITY && maxSteps == Long.MAX_VALUE;
+    }
+}
@@ -10,24 +10,25 @@
 
 import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
 import de.uni_passau.fim.se2.sbse.neat.environments.visualisation.SinglePoleVisualisation;
+import de.uni_passau.fim.se2.sbse.neat.events.GenomeEvaluatedEvent;
 
 /**
  * The environment consists of a cart that can move along a track and a pole attached to the cart.
  * The goal is to balance the pole by moving the cart left and right.
  */
-public class SinglePoleBalancing implements Environment {
-    // Physical constants
-    private static final double GRAVITY = 9.8;
-    private static final double CART_MASS = 1.0;
-    private static final double POLE_MASS = 0.1;
-    private static final double POLE_LENGTH = 0.5; // Half-length of pole
-    private static final double FORCE_MAGNITUDE = 10.0;
-    private static final double TIME_STEP = 0.02; // 20ms
-
-    private static final double MAX_POSITION = 2.4;
-    private static final double MAX_ANGLE = (12 * Math.PI) / 180; // 12 degrees in radians
-    private static final double MAX_VELOCITY = 2.5;         // Derived empirically
-    private static final double MAX_POLE_VELOCITY = 3.1;    // Derived empirically
+public class SinglePoleBalancing implements EpisodicEnvironment {
+    // Physical constants, shared with the batched simulator
+    static final double GRAVITY = 9.8;
+    static final double CART_MASS = 1.0;
+    static final double POLE_MASS = 0.1;
+    static final double POLE_LENGTH = 0.5; // Half-length of pole
+    static final double FORCE_MAGNITUDE = 10.0;
+    static final double TIME_STEP = 0.02; // 20ms
+
+    static final double MAX_POSITION = 2.4;
+    static final double MAX_ANGLE = (12 * Math.PI) / 180; // 12 degrees in radians
+    static final double MAX_VELOCITY = 2.5;         // Derived empirically
+    static final double MAX_POLE_VELOCITY = 3.1;    // Derived empirically
 
     public static final int DEFAULT_MAX_STEPS = 120000;
 
@@ -47,6 +48,15 @@ public class SinglePoleBalancing implements Environment {
     private final boolean randomise;
     private final Random random;
 
+    /**
+     * The start states of the episodes of every evaluation, or {@code null} to draw them from the random number generator.
+     */
+    private StartStateTable startStates;
+
+    // Reusable buffers for the interaction between agent and environment during an evaluation.
+    private final double[] stateBuffer = new double[4];
+    private final double[] actionBuffer = new double[1];
+
     /**
      * Initialises a new single pole balancing environment.
      *
@@ -83,6 +93,56 @@ public int actionInputSize() {
         return 1;
     }
 
+    /**
+     * The simulation is deterministic unless the start states are randomised.
+     *
+     * @return true if the start states are not randomised.
+     */
+    @Override
+    public boolean isDeterministic() {
+        return !randomise;
+    }
+
+    /**
+     * Sets the start states of the episodes of all following evaluations, such that the i-th episode
+     * of every evaluation starts from the i-th state of the table instead of a state drawn from the
+     * random number generator. {@link #resetState()} keeps drawing start states.
+     *
+     * @param startStates The start states, or {@code null} to draw the start state of every episode.
+     * @throws IllegalStateException    if the start states of this environment are not randomised.
+     * @throws IllegalArgumentException if the table has fewer states than an evaluation has episodes.
+     */
+    public void setStartStates(StartStateTable startStates) {
+        if (startStates != null) {
+            if (!randomise) {
+                throw new IllegalStateException("The start states of an environment without randomisation are fixed");
+            }
+            if (startStates.episodes() < episodes()) {
+                throw new IllegalArgumentException("Expected start states for " + episodes() + " episodes but got "
+                        + startStates.episodes());
+            }
+        }
+        this.startStates = startStates;
+    }
+
+    /**
+     * Resets the environment to the start state of the given episode of an evaluation.
+     */
+    private void resetState(int episode) {
+        if (startStates == null) {
+            resetState();
+            return;
+        }
+        double[] states = startStates.states;
+        int row = episode * StartStateTable.STATE_SIZE;
+        cartPosition = states[row];
+        cartVelocity = states[row + 1];
+        poleAngle = states[row + 2];
+        poleAngularVelocity = states[row + 3];
+        failed = false;
+        steps = 0;
+    }
+
     /**
      * Resets the state of the environment.
      */
@@ -101,7 +161,26 @@ public void resetState() {
      * @param actions The action to take, positive values move the cart to the right, negative to the left.
      */
     public void updateState(List<Double> actions) {
-        double force = actions.getFirst() * FORCE_MAGNITUDE;
+        step(actions.getFirst());
+    }
+
+    /**
+     * Updates the state of the environment based on the given action.
+     *
+     * @param actions The action to take, positive values move the cart to the right, negative to the left.
+     */
+    @Override
+    public void updateState(double[] actions) {
+        step(actions[0]);
+    }
+
+    /**
+     * Simulates a single time step of the cart and pole.
+     *
+     * @param action The action to take, positive values move the cart to the right, negative to the left.
+     */
+    private void step(double action) {
+        double force = action * FORCE_MAGNITUDE;
 
         double totalMass = CART_MASS + POLE_MASS;
         double cosTheta = Math.cos(poleAngle);
@@ -142,20 +221,59 @@ public List<Double> getState() {
     }
 
     /**
-     * Evaluates the given agent in the environment once.
+     * Writes the current state of the environment normalised to the range [-1, 1] to the given array.
      *
-     * @param agent The agent to evaluate.
+     * @param state The array receiving the four state variables.
+     */
+    @Override
+    public void getState(double[] state) {
+        state[0] = cartPosition / MAX_POSITION;
+        state[1] = cartVelocity / MAX_VELOCITY;
+        state[2] = poleAngle / MAX_ANGLE;
+        state[3] = poleAngularVelocity / MAX_POLE_VELOCITY;
+    }
+
+    /**
+     * Evaluates the given agent in the environment once, for at most the given number of steps.
+     *
+     * @param agent     The agent to evaluate.
+     * @param episode   The index of the episode within the evaluation.
+     * @param stepLimit The maximum number of steps of the episode.
      * @return The reward obtained by the agent in the environment.
      */
-    private double singleEvaluation(Agent agent) {
-        resetState();
-        while (!isDone()) {
-            List<Double> action = agent.getOutput(getState());
-            updateState(action);
+    private double singleEvaluation(Agent agent, int episode, long stepLimit) {
+        resetState(episode);
+        while (!isDone() && steps < stepLimit) {
+            getState(stateBuffer);
+            agent.getOutput(stateBuffer, actionBuffer);
+            updateState(actionBuffer);
         }
         return steps;
     }
 
+    @Override
+    public int episodes() {
+        return repeats + 1;
+    }
+
+    @Override
+    public double maxEpisodeReward() {
+        return maxSteps;
+    }
+
+    @Override
+    public double runEpisode(Agent agent, int episode) {
+        return singleEvaluation(agent, episode, maxSteps);
+    }
+
+    /**
+     * Continues unless the pole fell in the first episode, that is, unless it was balanced for less than the maximum number of steps.
+     */
+    @Override
+    public boolean continuesAfterFirstEpisode(double reward) {
+        return reward >= maxSteps;
+    }
+
     /**
      * Evaluates the given agent in the environment for the specified number of repeats.
      *
@@ -164,15 +282,44 @@ private double singleEvaluation(Agent agent) {
      */
     @Override
     public double evaluate(Agent agent) {
-        double reward = singleEvaluation(agent);
-        if (failed) {
-            return reward;
-        }
+        return evaluate(agent, EvaluationBudget.UNLIMITED);
+    }
 
-        for (int i = 0; i < repeats; i++) {
-            reward += singleEvaluation(agent);
+    /**
+     * Evaluates the given agent in a first episode and, unless the pole falls in it, the specified number of repeats.
+     * Every step is rewarded with one. The evaluation stops early, and the agent is marked as truncated,
+     * once it has run the maximum number of steps of the budget or once, after an episode, the remaining episodes
+     * can no longer lift the reward to the fitness bar of the budget, even if the pole never falls in them.
+     *
+     * @param agent  The agent to evaluate.
+     * @param budget The budget of the evaluation.
+     * @return The reward obtained by the agent in the environment.
+     */
+    @Override
+    public double evaluate(Agent agent, EvaluationBudget budget) {
+        GenomeEvaluatedEvent event = new GenomeEvaluatedEvent();
+        event.begin();
+        double reward = 0;
+        boolean truncated = false;
+        for (int episode = 0; episode <= repeats; episode++) {
+            long remainingSteps = budget.maxSteps() - (long) reward;
+            if (remainingSteps <= 0
+                    || episode > 0 && reward + (double) (repeats + 1 - episode) * maxSteps < budget.fitnessBar()) {
+                truncated = true;
+                break;
+            }
+            reward += singleEvaluation(agent, episode, remainingSteps);
+            if (!isDone()) {
+                truncated = true;
+                break;
+            }
+            if (failed && episode == 0) {
+                break;
+            }
         }
-
+        agent.setTruncated(truncated);
+        // Every step is rewarded with one, so the reward is the number of steps of all episodes.
+        event.end(agent, reward, (long) reward);
         return reward;
     }
 
@@ -192,7 +339,17 @@ public boolean isDone() {
      * @return true if the environment is solved, false otherwise.
      */
     public boolean solved(Agent agent) {
-        return agent.getFitness() >= maxSteps * repeats;
+        return agent.getFitness() >= solvedFitness();
+    }
+
+    /**
+     * Returns the fitness an agent needs to solve the environment, which equals the number of steps it
+     * has to balance the pole for over all episodes, since every step is rewarded with one.
+     *
+     * @return The fitness that solves the environment.
+     */
+    public double solvedFitness() {
+        return (double) maxSteps * repeats;
     }
 
     @Override
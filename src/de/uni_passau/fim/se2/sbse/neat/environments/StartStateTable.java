@@ -0,0 +1,67 @@
+package de.uni_passau.fim.se2.sbse.neat.environments;
+
+import java.util.Random;
+
+import static de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing.MAX_ANGLE;
+import static de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing.MAX_POLE_VELOCITY;
+import static de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing.MAX_POSITION;
+import static de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing.MAX_VELOCITY;
+
+/**
+ * Randomised start states of the pole balancing environment for every episode of an evaluation,
+ * which {@linkplain SinglePoleBalancing#setStartStates(StartStateTable) shared} by all evaluations of a generation
+ * act as common random numbers: every agent faces the same start states, so differences in reward stem from the agents.
+ * <p>
+ * The states are stored in a single array, one row of {@value #STATE_SIZE} values per episode:
+ * the cart position, the cart velocity, the pole angle and the angular velocity of the pole.
+ * They are drawn in the same order and from the same ranges as by {@link SinglePoleBalancing#resetState()},
+ * so evaluating with a table generated from a random number generator yields the same reward as evaluating with
+ * an environment drawing from a generator with the same state. Tables are immutable and can be shared across threads.
+ */
+public final class StartStateTable {
+
+    /**
+     * The number of values of a start state.
+     */
+    static final int STATE_SIZE = 4;
+
+    /**
+     * The start states, row by row.
+     */
+    final double[] states;
+
+    private StartStateTable(double[] states) {
+        this.states = states;
+    }
+
+    /**
+     * Draws the start states of the given number of episodes.
+     *
+     * @param episodes The number of episodes.
+     * @param random   The random number generator to draw from.
+     * @return The table of start states.
+     * @throws IllegalArgumentException if the number of episodes is not positive.
+     */
+    public static StartStateTable generate(int episodes, Random random) {
+        if (episodes < 1) {
+            throw new IllegalArgumentException("The number of episodes must be positive but was " + episodes);
+        }
+        double[] states = new double[episodes * STATE_SIZE];
+        for (int row = 0; row < states.length; row += STATE_SIZE) {
+            states[row] = random.nextDouble(-MAX_POSITION * 0.9, MAX_POSITION * 0.9);
+            states[row + 1] = random.nextDouble(-MAX_VELOCITY * 0.5, MAX_VELOCITY * 0.5);
+            states[row + 2] = random.nextDouble(-MAX_ANGLE * 0.9, MAX_ANGLE * 0.9);
+            states[row + 3] = random.nextDouble(-MAX_POLE_VELOCITY * 0.5, MAX_POLE_VELOCITY * 0.5);
+        }
+        return new StartStateTable(states);
+    }
+
+    /**
+     * Returns the number of episodes the table provides start states for.
+     *
+     * @return The number of episodes.
+     */
+    public int episodes() {
+        return states.length / STATE_SIZE;
+    }
+}
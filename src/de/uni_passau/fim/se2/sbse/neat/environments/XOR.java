@@ -1,6 +1,7 @@
 package de.uni_passau.fim.se2.sbse.neat.environments;
 
 import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.events.GenomeEvaluatedEvent;
 
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
@@ -19,6 +20,16 @@ public class XOR implements Environment {
 
     private final static double[] XOR_OUTPUTS = {0, 1, 1, 0};
 
+    /**
+     * The reward of an agent that computes XOR without error.
+     */
+    private final static double MAX_REWARD = Math.pow(XOR_OUTPUTS.length, 2);
+
+    /**
+     * The inputs of all rows of the truth table in row-major order, which an agent evaluates in a single batch.
+     */
+    private final static double[] XOR_STATES = {0, 0, 0, 1, 1, 0, 1, 1};
+
     /**
      * The current inputs of the XOR gate.
      */
@@ -29,6 +40,9 @@ public class XOR implements Environment {
      */
     private double error;
 
+    // Reusable buffer receiving the actions of the agent for all inputs during an evaluation.
+    private final double[] actionsBuffer = new double[XOR_OUTPUTS.length];
+
     public XOR() {
         this.error = 0;
         this.currentInput = 0;
@@ -52,7 +66,16 @@ public void resetState() {
 
     @Override
     public void updateState(List<Double> actions) {
-        double networkOutput = actions.getFirst() + 1;  // Scale [-1, 1] to [0, 1]
+        updateState(actions.getFirst());
+    }
+
+    @Override
+    public void updateState(double[] actions) {
+        updateState(actions[0]);
+    }
+
+    private void updateState(double action) {
+        double networkOutput = action + 1;  // Scale [-1, 1] to [0, 1]
         int result = networkOutput + 1 > 0.5 ? 1 : 0;
         if (result != XOR_OUTPUTS[currentInput]) {
             error += Math.abs(networkOutput - XOR_OUTPUTS[currentInput]);
@@ -65,14 +88,30 @@ public List<Double> getState() {
         return List.of(XOR_INPUTS[currentInput][0], XOR_INPUTS[currentInput][1]);
     }
 
+    @Override
+    public void getState(double[] state) {
+        state[0] = XOR_INPUTS[currentInput][0];
+        state[1] = XOR_INPUTS[currentInput][1];
+    }
+
     @Override
     public double evaluate(Agent agent) {
+        GenomeEvaluatedEvent event = new GenomeEvaluatedEvent();
+        event.begin();
         resetState();
+        // The inputs do not depend on the actions, so the outputs for all of them are computed at once.
+        agent.getOutputs(XOR_STATES, actionsBuffer, XOR_OUTPUTS.length);
         while (!isDone()) {
-            List<Double> action = agent.getOutput(getState());
-            updateState(action);
+            updateState(actionsBuffer[currentInput]);
         }
-        return Math.pow(4 - error, 2); // Cast problem to a maximisation problem
+        double reward = Math.pow(XOR_OUTPUTS.length - error, 2); // Cast problem to a maximisation problem
+        event.end(agent, reward, XOR_OUTPUTS.length);
+        return reward;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return true;
     }
 
     @Override
@@ -80,9 +119,16 @@ public boolean isDone() {
         return currentInput >= XOR_INPUTS.length;
     }
 
+    /**
+     * Determines whether the agent computes XOR without error, judged by the fitness of its evaluation
+     * rather than by the error of the last agent evaluated in this environment.
+     *
+     * @param agent The evaluated agent.
+     * @return true if the agent obtained the maximum reward.
+     */
     @Override
     public boolean solved(Agent agent) {
-        return error == 0;
+        return agent.getFitness() >= MAX_REWARD;
     }
 
     @Override
@@ -0,0 +1,56 @@
+package de.uni_passau.fim.se2.sbse.neat.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Marks the end of a generation, after its children have been assigned to species or once the task is solved.
+ */
+@Name(GenerationEndEvent.NAME)
+@Label("Generation End")
+@Category("NEAT")
+@Description("The end of a generation, after its children have been assigned to species or once the task is solved")
+@StackTrace(false)
+public final class GenerationEndEvent extends jdk.jfr.Event {
+
+    /**
+     * The name of the event in recordings and settings.
+     */
+    public static final String NAME = "de.uni_passau.fim.se2.sbse.neat.GenerationEnd";
+
+    @Label("Generation")
+    int generation;
+
+    @Label("Evaluations")
+    @Description("The number of fitness evaluations of the search so far")
+    long evaluations;
+
+    @Label("Best Fitness")
+    @Description("The best fitness found by the search so far")
+    double bestFitness;
+
+    @Label("Solved")
+    boolean solved;
+
+    /**
+     * Records the end of a generation if the event is enabled.
+     *
+     * @param generation  The number of the generation, starting at zero.
+     * @param evaluations The number of fitness evaluations of the search so far.
+     * @param bestFitness The best fitness found by the search so far.
+     * @param solved      Whether the best chromosome solves the task.
+     */
+    public static void emit(int generation, long evaluations, double bestFitness, boolean solved) {
+        GenerationEndEvent event = new GenerationEndEvent();
+        if (event.shouldCommit()) {
+            event.generation = generation;
+            event.evaluations = evaluations;
+            event.bestFitness = bestFitness;
+            event.solved = solved;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package de.uni_passau.fim.se2.sbse.neat.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Marks the start of a generation, before its population is evaluated.
+ */
+@Name(GenerationStartEvent.NAME)
+@Label("Generation Start")
+@Category("NEAT")
+@Description("The start of a generation, before its population is evaluated")
+@StackTrace(false)
+public final class GenerationStartEvent extends jdk.jfr.Event {
+
+    /**
+     * The name of the event in recordings and settings.
+     */
+    public static final String NAME = "de.uni_passau.fim.se2.sbse.neat.GenerationStart";
+
+    @Label("Generation")
+    int generation;
+
+    @Label("Species")
+    int species;
+
+    /**
+     * Records the start of a generation if the event is enabled.
+     *
+     * @param generation The number of the generation, starting at zero.
+     * @param species    The number of species of the population.
+     */
+    public static void emit(int generation, int species) {
+        GenerationStartEvent event = new GenerationStartEvent();
+        if (event.shouldCommit()) {
+            event.generation = generation;
+            event.species = species;
+            event.commit();
+        }
+    }
+}
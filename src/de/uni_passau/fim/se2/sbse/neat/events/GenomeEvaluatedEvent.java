@@ -0,0 +1,60 @@
+package de.uni_passau.fim.se2.sbse.neat.events;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The evaluation of an agent in an environment, whose duration is the latency of its episodes.
+ * The event is {@linkplain #begin() begun} before the first episode and
+ * {@linkplain #end(Agent, double, long) ended} after the last one.
+ */
+@Name(GenomeEvaluatedEvent.NAME)
+@Label("Genome Evaluated")
+@Category("NEAT")
+@Description("The evaluation of an agent in an environment")
+@StackTrace(false)
+public final class GenomeEvaluatedEvent extends jdk.jfr.Event {
+
+    /**
+     * The name of the event in recordings and settings.
+     */
+    public static final String NAME = "de.uni_passau.fim.se2.sbse.neat.GenomeEvaluated";
+
+    @Label("Fitness")
+    double fitness;
+
+    @Label("Steps")
+    @Description("The number of environment steps of all episodes")
+    long steps;
+
+    @Label("Genome Size")
+    @Description("The number of connections of the evaluated network, or -1 if the agent is not a network")
+    int genomeSize;
+
+    @Label("Truncated")
+    @Description("Whether the evaluation stopped early because it exhausted its budget")
+    boolean truncated;
+
+    /**
+     * Ends the evaluation and records it if the event is enabled and exceeds its threshold.
+     *
+     * @param agent   The evaluated agent.
+     * @param fitness The reward of the agent.
+     * @param steps   The number of environment steps of all episodes.
+     */
+    public void end(Agent agent, double fitness, long steps) {
+        end();
+        if (shouldCommit()) {
+            this.fitness = fitness;
+            this.steps = steps;
+            this.truncated = agent.isTruncated();
+            this.genomeSize = agent instanceof NetworkChromosome network ? network.getConnectionGenes().size() : -1;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package de.uni_passau.fim.se2.sbse.neat.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The registration of a connection that has not occurred before in the search under a new innovation number.
+ */
+@Name(InnovationCreatedEvent.NAME)
+@Label("Innovation Created")
+@Category("NEAT")
+@Description("The registration of a novel connection under a new innovation number")
+public final class InnovationCreatedEvent extends jdk.jfr.Event {
+
+    /**
+     * The name of the event in recordings and settings.
+     */
+    public static final String NAME = "de.uni_passau.fim.se2.sbse.neat.InnovationCreated";
+
+    @Label("Source Neuron")
+    int originId;
+
+    @Label("Target Neuron")
+    int goalId;
+
+    @Label("Innovation Number")
+    int innovationNumber;
+
+    /**
+     * Records the creation of an innovation if the event is enabled.
+     *
+     * @param originId         The id of the source neuron of the connection.
+     * @param goalId           The id of the target neuron of the connection.
+     * @param innovationNumber The innovation number of the connection.
+     */
+    public static void emit(int originId, int goalId, int innovationNumber) {
+        InnovationCreatedEvent event = new InnovationCreatedEvent();
+        if (event.shouldCommit()) {
+            event.originId = originId;
+            event.goalId = goalId;
+            event.innovationNumber = innovationNumber;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package de.uni_passau.fim.se2.sbse.neat.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The selection of elites and parents and the creation of children by crossover and mutation.
+ * The event is {@linkplain #begin() begun} before the selection and {@linkplain #end(int, int) ended}
+ * once all children have been created.
+ */
+@Name(ReproductionPhaseEvent.NAME)
+@Label("Reproduction Phase")
+@Category("NEAT")
+@Description("The selection of parents and the creation of the children of a generation by crossover and mutation")
+@StackTrace(false)
+public final class ReproductionPhaseEvent extends jdk.jfr.Event {
+
+    /**
+     * The name of the event in recordings and settings.
+     */
+    public static final String NAME = "de.uni_passau.fim.se2.sbse.neat.ReproductionPhase";
+
+    @Label("Generation")
+    int generation;
+
+    @Label("Children")
+    @Description("The number of chromosomes of the next generation, including elites")
+    int children;
+
+    /**
+     * Ends the phase and records it if the event is enabled and exceeds its threshold.
+     *
+     * @param generation The number of the generation, starting at zero.
+     * @param children   The number of chromosomes of the next generation, including elites.
+     */
+    public void end(int generation, int children) {
+        end();
+        if (shouldCommit()) {
+            this.generation = generation;
+            this.children = children;
+            commit();
+        }
+    }
+}
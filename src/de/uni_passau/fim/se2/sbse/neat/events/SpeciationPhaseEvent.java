@@ -0,0 +1,46 @@
+package de.uni_passau.fim.se2.sbse.neat.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The assignment of the children of a generation to species.
+ * The event is {@linkplain #begin() begun} before the assignment and {@linkplain #end(int, int) ended} after it.
+ */
+@Name(SpeciationPhaseEvent.NAME)
+@Label("Speciation Phase")
+@Category("NEAT")
+@Description("The assignment of the children of a generation to species")
+@StackTrace(false)
+public final class SpeciationPhaseEvent extends jdk.jfr.Event {
+
+    /**
+     * The name of the event in recordings and settings.
+     */
+    public static final String NAME = "de.uni_passau.fim.se2.sbse.neat.SpeciationPhase";
+
+    @Label("Generation")
+    int generation;
+
+    @Label("Species")
+    @Description("The number of species after the assignment")
+    int species;
+
+    /**
+     * Ends the phase and records it if the event is enabled and exceeds its threshold.
+     *
+     * @param generation The number of the generation, starting at zero.
+     * @param species    The number of species after the assignment.
+     */
+    public void end(int generation, int species) {
+        end();
+        if (shouldCommit()) {
+            this.generation = generation;
+            this.species = species;
+            commit();
+        }
+    }
+}
@@ -100,32 +100,26 @@ public NetworkChromosome apply(NetworkChromosome parent) {
      */
 
     public NetworkChromosome addNeuron(NetworkChromosome parent) {
-        List<ConnectionGene> connections = parent.getConnections();
-        if (connections.isEmpty()) {
-            return new NetworkChromosome(
-                    new HashMap<>(parent.getLayers()),
-                    new ArrayList<>(connections)
-            );
+        ConnectionGenes connections = parent.getConnectionGenes();
+        int[] enabledConnections = new int[connections.size()];
+        int enabledCount = 0;
+        for (int i = 0; i < connections.size(); i++) {
+            if (connections.enabled(i)) {
+                enabledConnections[enabledCount++] = i;
+            }
         }
-
-
-        List<ConnectionGene> enabledConnections = connections.stream()
-                .filter(ConnectionGene::getEnabled)
-                .toList();
-        if (enabledConnections.isEmpty()) {
-            return new NetworkChromosome(
-                    new HashMap<>(parent.getLayers()),
-                    new ArrayList<>(connections)
-            );
+        if (enabledCount == 0) {
+            return parent.withConnections(connections);
         }
 
-        ConnectionGene connectionToSplit = enabledConnections.get(random.nextInt(enabledConnections.size()));
-        NeuronGene sourceNeuron = connectionToSplit.getSourceNeuron();
-        NeuronGene targetNeuron = connectionToSplit.getTargetNeuron();
+        int connectionToSplit = enabledConnections[random.nextInt(enabledCount)];
+        NeuronGene sourceNeuron = connections.source(connectionToSplit);
+        NeuronGene targetNeuron = connections.target(connectionToSplit);
+        double splitWeight = connections.weight(connectionToSplit);
 
 
         double depth_neuron = (calculateDepth(parent, sourceNeuron) + calculateDepth(parent, targetNeuron)) / 2.0;
-        int neuronId = parent.getLayers().values().stream()
+        int neuronId = parent.getLayerView().values().stream()
         .flatMap(List::stream)
         .mapToInt(NeuronGene::getId)
         .max()
@@ -136,26 +130,22 @@ public NetworkChromosome addNeuron(NetworkChromosome parent) {
                 NeuronType.HIDDEN
         );
 
-        Map<Double, List<NeuronGene>> newLayers = new HashMap<>(parent.getLayers());
-        newLayers.computeIfAbsent(depth_neuron, k -> new ArrayList<>()).add(latestNeuron);
-
-        List<ConnectionGene> newConnections = new ArrayList<>(connections);
-
-        newConnections.remove(connectionToSplit);
-        newConnections.add(new ConnectionGene(
-                connectionToSplit.getSourceNeuron(),
-                connectionToSplit.getTargetNeuron(),
-                connectionToSplit.getWeight(),
-                false,
-                connectionToSplit.getInnovationNumber()
-        ));
+        Map<Double, List<NeuronGene>> newLayers = new HashMap<>(parent.getLayerView());
+        newLayers.compute(depth_neuron, (depth, layer) -> {
+            List<NeuronGene> newLayer = layer == null ? new ArrayList<>() : new ArrayList<>(layer);
+            newLayer.add(latestNeuron);
+            return newLayer;
+        });
 
         ConcreteInnovation concreteInnovation = new ConcreteInnovation(sourceNeuron.getId(), latestNeuron.getId(), 0);
         int concreteInnovation1 = concreteInnovation.concreteDerivedNumber(sourceNeuron.getId(), latestNeuron.getId(), innovations);
         int concreteInnovation2 = concreteInnovation.concreteDerivedNumber(latestNeuron.getId(), targetNeuron.getId(), innovations);
 
-        newConnections.add(new ConnectionGene(sourceNeuron, latestNeuron, 1.0, true, concreteInnovation1));
-        newConnections.add(new ConnectionGene(latestNeuron, targetNeuron, connectionToSplit.getWeight(), true, concreteInnovation2));
+        // The split connection moves to the end of the list, disabled; all chunks before it are shared with the parent.
+        ConnectionGenes newConnections = connections.without(connectionToSplit).plus(
+                new ConnectionGene(sourceNeuron, targetNeuron, splitWeight, false, connections.innovation(connectionToSplit)),
+                new ConnectionGene(sourceNeuron, latestNeuron, 1.0, true, concreteInnovation1),
+                new ConnectionGene(latestNeuron, targetNeuron, splitWeight, true, concreteInnovation2));
 
         return new NetworkChromosome(newLayers, newConnections);
     }
@@ -177,8 +167,8 @@ public NetworkChromosome addNeuron(NetworkChromosome parent) {
      * @return The mutated network chromosome.
      */  
     public NetworkChromosome addConnection(NetworkChromosome parent) {
-        Map<Double, List<NeuronGene>> layers = parent.getLayers();
-        List<ConnectionGene> connections = parent.getConnections();
+        Map<Double, List<NeuronGene>> layers = parent.getLayerView();
+        ConnectionGenes connections = parent.getConnectionGenes();
 
         List<NeuronGene> possibleSources = new ArrayList<>();
         List<NeuronGene> possibleTargets = new ArrayList<>();
@@ -196,16 +186,22 @@ public NetworkChromosome addConnection(NetworkChromosome parent) {
             }
         }
 
+        Set<Long> existingConnections = new HashSet<>();
+        for (int i = 0; i < connections.size(); i++) {
+            existingConnections.add(connectionKey(connections.source(i), connections.target(i)));
+        }
+        double[] targetDepths = new double[possibleTargets.size()];
+        for (int i = 0; i < targetDepths.length; i++) {
+            targetDepths[i] = calculateDepth(parent, possibleTargets.get(i));
+        }
+
         List<Pair<NeuronGene, NeuronGene>> validPairs = new ArrayList<>();
         for (NeuronGene source : possibleSources) {
-            for (NeuronGene target : possibleTargets) {
-                if (calculateDepth(parent, source) < calculateDepth(parent, target)) {
-                    boolean connectionExists = connections.stream()
-                        .anyMatch(c -> c.getSourceNeuron().equals(source) &&
-                                c.getTargetNeuron().equals(target));
-                    if (!connectionExists) {
-                        validPairs.add(new Pair<>(source, target));
-                    }
+            double sourceDepth = calculateDepth(parent, source);
+            for (int i = 0; i < targetDepths.length; i++) {
+                NeuronGene target = possibleTargets.get(i);
+                if (sourceDepth < targetDepths[i] && !existingConnections.contains(connectionKey(source, target))) {
+                    validPairs.add(new Pair<>(source, target));
                 }
             }
         }
@@ -224,12 +220,10 @@ public NetworkChromosome addConnection(NetworkChromosome parent) {
                 innovationSize
             );
 
-            List<ConnectionGene> newConnections = new ArrayList<>(connections);
-            newConnections.add(newConnection);
-            return new NetworkChromosome(new HashMap<>(layers), newConnections);
+            return parent.withConnections(connections.plus(newConnection));
         }
 
-        return new NetworkChromosome(new HashMap<>(layers), new ArrayList<>(connections));
+        return parent.withConnections(connections);
     }
 
     /**
@@ -240,25 +234,20 @@ public NetworkChromosome addConnection(NetworkChromosome parent) {
      * @return The mutated network chromosome.
      */
     public NetworkChromosome mutateWeights(NetworkChromosome parent) {
-        List<ConnectionGene> latestConnections = new ArrayList<>();
-        for (ConnectionGene connection : parent.getConnections()) {
-            double latestWeight = connection.getWeight();
+        ConnectionGenes connections = parent.getConnectionGenes();
+        double[] latestWeights = connections.weights();
+        for (int i = 0; i < latestWeights.length; i++) {
+            double latestWeight = latestWeights[i];
             if (random.nextDouble() > 0.1) {
              
                 latestWeight += random.nextGaussian() * 0.1;
             } else {
                 latestWeight = random.nextDouble() * 4.0 - 2.0;
             }
-            latestWeight = Math.max(-2.0, Math.min(2.0, latestWeight));
-            latestConnections.add(new ConnectionGene(
-                    connection.getSourceNeuron(),
-                    connection.getTargetNeuron(),
-                    latestWeight,
-                    connection.getEnabled(),
-                    connection.getInnovationNumber()
-            ));
+            latestWeights[i] = Math.max(-2.0, Math.min(2.0, latestWeight));
         }
-        return new NetworkChromosome(new HashMap<>(parent.getLayers()), latestConnections);
+        // The structure and the layers are shared with the parent, so only the weights are copied.
+        return parent.withConnections(connections.withWeights(latestWeights));
     }
 
     /**
@@ -268,35 +257,20 @@ public NetworkChromosome mutateWeights(NetworkChromosome parent) {
      * @return The mutated network chromosome.
      */
     public NetworkChromosome toggleConnection(NetworkChromosome parent) {
-        List<ConnectionGene> connections = parent.getConnections();
+        ConnectionGenes connections = parent.getConnectionGenes();
         if (connections.isEmpty()) {
-            return new NetworkChromosome(
-                    new HashMap<>(parent.getLayers()),
-                    new ArrayList<>(connections)
-            );
+            return parent.withConnections(connections);
         }
 
         int index = random.nextInt(connections.size());
-        ConnectionGene connection = connections.get(index);
-
-        List<ConnectionGene> newConnections = new ArrayList<>(connections);
-        newConnections.set(index, new ConnectionGene(
-                connection.getSourceNeuron(),
-                connection.getTargetNeuron(),
-                connection.getWeight(),
-                !connection.getEnabled(),
-                connection.getInnovationNumber()
-        ));
-
-        return new NetworkChromosome(new HashMap<>(parent.getLayers()), newConnections);
+        return parent.withConnections(connections.withEnabled(index, !connections.enabled(index)));
     }
 
     public double calculateDepth(NetworkChromosome geneNetwork, NeuronGene neuronGene) {
         
-        for (Map.Entry<Double, List<NeuronGene>> entry : geneNetwork.getLayers().entrySet()) {
-            if (entry.getValue().contains(neuronGene)) {
-                return entry.getKey();
-            }
+        Double layerDepth = geneNetwork.getDepthIndex().get(neuronGene.getId());
+        if (layerDepth != null) {
+            return layerDepth;
         }
        
 
@@ -351,6 +325,11 @@ public double calculateDepth(NetworkChromosome geneNetwork, NeuronGene neuronGen
 
         return maximumInput + (minimumInput - maximumInput) / 2.0;
     }
-   
-}
 
+    /**
+     * Packs the ids of the source and target neuron of a connection into a single key.
+     */
+    private static long connectionKey(NeuronGene source, NeuronGene target) {
+        return ((long) source.getId() << 32) | (target.getId() & 0xFFFFFFFFL);
+    }
+}
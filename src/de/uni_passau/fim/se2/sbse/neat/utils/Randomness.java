@@ -5,8 +5,8 @@
 // This class is a utility class that provides a single source of randomness for the entire application.
 public class Randomness {
 
-    // Internal source of randomness.
-    private static final Random random = new Random();
+    // Internal source of randomness, restorable so that checkpointed runs can be resumed.
+    private static final Random random = new RestorableRandom();
 
     private Randomness() {
         // private constructor to prevent instantiation.
@@ -0,0 +1,99 @@
+package de.uni_passau.fim.se2.sbse.neat.utils;
+
+import java.util.Random;
+
+/**
+ * A random number generator whose internal state can be saved and restored, for instance to resume a search.
+ * <p>
+ * It implements the same linear congruential generator and Gaussian sampling as {@link Random},
+ * so it produces exactly the same numbers as a {@link Random} with the same seed.
+ */
+public class RestorableRandom extends Random {
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    /**
+     * The internal state of the generator.
+     *
+     * @param seed                 The 48 bits of the linear congruential generator.
+     * @param haveNextNextGaussian Whether a second Gaussian value of the last pair is pending.
+     * @param nextNextGaussian     The pending Gaussian value.
+     */
+    public record State(long seed, boolean haveNextNextGaussian, double nextNextGaussian) {
+    }
+
+    // Not initialised in their declarations, since the constructor of Random sets them through setSeed.
+    private long seed;
+    private boolean haveNextNextGaussian;
+    private double nextNextGaussian;
+
+    /**
+     * Creates a new generator with a seed that is very likely to differ from any other invocation.
+     */
+    public RestorableRandom() {
+        super();
+    }
+
+    /**
+     * Creates a new generator with the given seed.
+     *
+     * @param seed The initial seed.
+     */
+    public RestorableRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        this.seed = (seed ^ MULTIPLIER) & MASK;
+        this.haveNextNextGaussian = false;
+    }
+
+    @Override
+    protected synchronized int next(int bits) {
+        seed = (seed * MULTIPLIER + ADDEND) & MASK;
+        return (int) (seed >>> (48 - bits));
+    }
+
+    @Override
+    public synchronized double nextGaussian() {
+        if (haveNextNextGaussian) {
+            haveNextNextGaussian = false;
+            return nextNextGaussian;
+        }
+        double v1;
+        double v2;
+        double s;
+        do {
+            v1 = 2 * nextDouble() - 1;
+            v2 = 2 * nextDouble() - 1;
+            s = v1 * v1 + v2 * v2;
+        } while (s >= 1 || s == 0);
+        double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+        nextNextGaussian = v2 * multiplier;
+        haveNextNextGaussian = true;
+        return v1 * multiplier;
+    }
+
+    /**
+     * Returns the current internal state of the generator.
+     *
+     * @return The state.
+     */
+    public synchronized State getState() {
+        return new State(seed, haveNextNextGaussian, nextNextGaussian);
+    }
+
+    /**
+     * Restores an internal state returned by {@link #getState()}, after which the generator continues the same sequence.
+     *
+     * @param state The state to restore.
+     */
+    public synchronized void setState(State state) {
+        this.seed = state.seed() & MASK;
+        this.haveNextNextGaussian = state.haveNextNextGaussian();
+        this.nextNextGaussian = state.nextNextGaussian();
+    }
+}
@@ -1,6 +1,8 @@
 package de.uni_passau.fim.se2.sbse.neat;
 
 import de.uni_passau.fim.se2.sbse.neat.algorithms.Neuroevolution;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
 import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
 import de.uni_passau.fim.se2.sbse.neat.environments.Tasks;
 import de.uni_passau.fim.se2.sbse.neat.environments.XOR;
@@ -11,6 +13,7 @@
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -45,6 +48,24 @@ void testCallWithoutVisualisation() throws Exception {
         assertEquals(0, exitCode);
     }
 
+    @Test
+    void testStepsPerGenerationMustAllowSolving() {
+        String[] args = {"-t", "CART", "--steps-per-generation", "1000"};
+        assertEquals(1, new CommandLine(main).execute(args));
+    }
+
+    @Test
+    void testCheckpointsRequireSingleRepetition() {
+        String[] args = {"-t", "XOR", "-r", "2", "--checkpoint", "neat.checkpoint"};
+        assertEquals(1, new CommandLine(main).execute(args));
+    }
+
+    @Test
+    void testResumeRejectsParallelRepetitions() {
+        String[] args = {"-t", "XOR", "-r", "1", "-j", "2", "--resume", "neat.checkpoint"};
+        assertEquals(1, new CommandLine(main).execute(args));
+    }
+
     @Test
     void testInitialiseTaskXOR() {
         main.task = Tasks.XOR;
@@ -81,6 +102,14 @@ void testNeatAlgorithm() {
         assertNotNull(neat);
     }
 
+    @Test
+    void testNeatAlgorithmForTask() {
+        Neuroevolution neat = Main.initialiseNeat(5, 10, new XOR());
+        NetworkChromosome solution = (NetworkChromosome) neat.solve(new XOR());
+        // Two XOR inputs and the bias.
+        assertEquals(3, solution.getLayers().get(NetworkChromosome.INPUT_LAYER).size());
+    }
+
 
     @Test
     void testTask() {
@@ -121,6 +150,26 @@ void testPrintResults() {
         main.printResults();
     }
 
+    @Test
+    void testParallelRepetitionsDoNotDependOnJobs() {
+        for (String task : List.of("CART", "CART_RANDOM")) {
+            Main sequential = runRepetitions(task, 1);
+            Main parallel = runRepetitions(task, 3);
+            assertEquals(4, sequential.solutions.size());
+            assertEquals(sequential.generations, parallel.generations);
+            assertEquals(sequential.successes, parallel.successes);
+            assertEquals(sequential.solutions.stream().map(Agent::getFitness).toList(),
+                    parallel.solutions.stream().map(Agent::getFitness).toList());
+        }
+    }
+
+    private static Main runRepetitions(String task, int jobs) {
+        Main main = new Main();
+        String[] args = {"-t", task, "-p", "20", "-g", "5", "-r", "4", "-s", "3", "-j", String.valueOf(jobs)};
+        assertEquals(0, new CommandLine(main).execute(args));
+        return main;
+    }
+
     @Test
     void testVisualisationLatch() throws InterruptedException {
         CountDownLatch latch = new CountDownLatch(1);
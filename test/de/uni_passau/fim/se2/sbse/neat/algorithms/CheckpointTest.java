@@ -0,0 +1,106 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation.ParallelEvaluator;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation.SequentialEvaluator;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.environments.Environment;
+import de.uni_passau.fim.se2.sbse.neat.environments.EnvironmentFactory;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import de.uni_passau.fim.se2.sbse.neat.utils.RestorableRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckpointTest {
+
+    private static final EnvironmentFactory RANDOM_CART_POLE = random -> new SinglePoleBalancing(5000, 2, true, random);
+    private static final EnvironmentFactory CART_POLE = random -> new SinglePoleBalancing(5000, 2, false, random);
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Creates an algorithm that draws all of its randomness, including the start states of the carts, from the given generator.
+     */
+    private static NeatAlgorithm sequential(int generations, RestorableRandom random) {
+        Environment environment = RANDOM_CART_POLE.create(random);
+        return new NeatAlgorithm(30, generations, environment, new SequentialEvaluator(environment), random);
+    }
+
+    /**
+     * Creates an algorithm with a fitness cache, whose misses draw evaluation seeds from the given generator.
+     */
+    private static NeatAlgorithm memoised(int generations, RestorableRandom random) {
+        Environment template = CART_POLE.create(new Random());
+        return new NeatAlgorithm(30, generations, template,
+                NeatAlgorithm.memoise(template, new ParallelEvaluator(CART_POLE, 2, random)), random);
+    }
+
+    private interface Factory {
+        NeatAlgorithm create(int generations, RestorableRandom random);
+    }
+
+    private void assertResumeMatchesUninterruptedRun(Factory factory) throws IOException {
+        Environment judge = new SinglePoleBalancing(1_000_000, 2, false, new Random());
+
+        RestorableRandom uninterruptedRandom = new RestorableRandom(5);
+        NeatAlgorithm uninterrupted = factory.create(12, uninterruptedRandom);
+        Agent expected = uninterrupted.solve(judge);
+
+        Path file = directory.resolve("run.checkpoint");
+        NeatAlgorithm interrupted = factory.create(7, new RestorableRandom(5));
+        interrupted.setCheckpoint(file, 7);
+        interrupted.solve(judge);
+        assertTrue(Files.exists(file));
+
+        RestorableRandom resumedRandom = new RestorableRandom(99);
+        NeatAlgorithm resumed = factory.create(12, resumedRandom);
+        resumed.restore(file);
+        Agent actual = resumed.solve(judge);
+
+        assertEquals(uninterrupted.getGeneration(), resumed.getGeneration());
+        assertEquals(uninterrupted.getEvaluations(), resumed.getEvaluations());
+        assertEquals(expected.getFitness(), actual.getFitness());
+        assertEquals(((NetworkChromosome) expected).getFingerprint(), ((NetworkChromosome) actual).getFingerprint());
+        assertEquals(uninterruptedRandom.nextLong(), resumedRandom.nextLong());
+    }
+
+    @Test
+    void testResumeMatchesUninterruptedRun() throws IOException {
+        assertResumeMatchesUninterruptedRun(CheckpointTest::sequential);
+    }
+
+    @Test
+    void testResumeRestoresFitnessCache() throws IOException {
+        assertResumeMatchesUninterruptedRun(CheckpointTest::memoised);
+    }
+
+    @Test
+    void testCheckpointRequiresRestorableRandom() {
+        Environment environment = RANDOM_CART_POLE.create(new Random());
+        NeatAlgorithm neat = new NeatAlgorithm(30, 5, environment, new SequentialEvaluator(environment), new Random());
+        assertThrows(IllegalStateException.class, () -> neat.setCheckpoint(directory.resolve("run.checkpoint"), 1));
+    }
+
+    @Test
+    void testRestoreRejectsInvalidFiles() throws IOException {
+        Path garbage = Files.write(directory.resolve("garbage"), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        assertThrows(IOException.class, () -> sequential(5, new RestorableRandom()).restore(garbage));
+
+        Path file = directory.resolve("run.checkpoint");
+        NeatAlgorithm neat = sequential(2, new RestorableRandom(1));
+        neat.setCheckpoint(file, 1);
+        neat.solve(new SinglePoleBalancing(1_000_000, 2, false, new Random()));
+        RestorableRandom random = new RestorableRandom();
+        Environment environment = RANDOM_CART_POLE.create(random);
+        NeatAlgorithm other = new NeatAlgorithm(40, 5, environment, new SequentialEvaluator(environment), random);
+        assertThrows(IllegalArgumentException.class, () -> other.restore(file));
+    }
+}
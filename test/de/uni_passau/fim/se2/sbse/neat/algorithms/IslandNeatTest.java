@@ -0,0 +1,142 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation.SequentialEvaluator;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.InnovationRegistry;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkFingerprint;
+import de.uni_passau.fim.se2.sbse.neat.environments.Environment;
+import de.uni_passau.fim.se2.sbse.neat.environments.EnvironmentFactory;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IslandNeatTest {
+
+    private static final EnvironmentFactory CART_POLE = random -> new SinglePoleBalancing(500, 2, true, random);
+
+    @Test
+    void testSolveWithRing() {
+        IslandNeat neat = new IslandNeat(3, 20, 6, CART_POLE, 2, 2, IslandNeat.Topology.RING, new Random(1));
+        Agent solution = neat.solve(CART_POLE.create(new Random(2)));
+        assertNotNull(solution);
+        assertTrue(solution.getFitness() > 0);
+        assertTrue(neat.getGeneration() <= 6);
+    }
+
+    @Test
+    void testSolveFullyConnected() {
+        IslandNeat neat = new IslandNeat(3, 20, 5, CART_POLE, 1, 3, IslandNeat.Topology.FULLY_CONNECTED, new Random(1));
+        Agent solution = neat.solve(CART_POLE.create(new Random(2)));
+        assertNotNull(solution);
+        assertTrue(neat.getGeneration() <= 5);
+    }
+
+    @Test
+    void testSolvableTaskStopsEarly() {
+        EnvironmentFactory easy = random -> new SinglePoleBalancing(10, 1, false, random);
+        IslandNeat neat = new IslandNeat(2, 20, 50, easy, 3, 1, IslandNeat.Topology.RING, new Random(3));
+        Agent solution = neat.solve(easy.create(new Random()));
+        assertTrue(easy.create(new Random()).solved(solution));
+        assertTrue(neat.getGeneration() < 50);
+    }
+
+    @Test
+    void testCallersEnvironmentJudgesSolutions() {
+        EnvironmentFactory easy = random -> new SinglePoleBalancing(10, 1, false, random);
+        Environment strictJudge = new SinglePoleBalancing(10, 1, false, new Random()) {
+            @Override
+            public boolean solved(Agent agent) {
+                return false;
+            }
+        };
+        IslandNeat neat = new IslandNeat(2, 20, 8, easy, 3, 1, IslandNeat.Topology.RING, new Random(3));
+        neat.solve(strictJudge);
+        assertEquals(8, neat.getGeneration());
+    }
+
+    /**
+     * Evaluates the first generation of the given number of islands sharing an innovation registry.
+     */
+    private static List<NeatAlgorithm> evaluatedIslands(int count) {
+        InnovationRegistry innovations = new InnovationRegistry();
+        List<NeatAlgorithm> islands = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Environment environment = new SinglePoleBalancing(500, 2, false, new Random());
+            NeatAlgorithm neat = new NeatAlgorithm(20, 10, environment, new SequentialEvaluator(environment),
+                    new Random(i), innovations);
+            neat.initialisePopulation();
+            neat.evaluateGeneration(environment);
+            islands.add(neat);
+        }
+        return islands;
+    }
+
+    private static Set<NetworkFingerprint> fingerprints(List<NetworkChromosome> chromosomes) {
+        return chromosomes.stream().map(NetworkChromosome::getFingerprint).collect(Collectors.toSet());
+    }
+
+    @Test
+    void testRingSendsCopiesOfTheBestToTheNextIsland() {
+        List<List<NetworkChromosome>> emigrants = evaluatedIslands(3).stream().map(neat -> neat.bestCandidates(2)).toList();
+        List<List<NetworkChromosome>> immigrants = IslandNeat.immigrants(emigrants, IslandNeat.Topology.RING);
+
+        for (int i = 0; i < 3; i++) {
+            List<NetworkChromosome> sent = emigrants.get((i + 2) % 3);
+            List<NetworkChromosome> received = immigrants.get(i);
+            assertEquals(2, received.size());
+            assertEquals(fingerprints(sent), fingerprints(received));
+            for (int j = 0; j < received.size(); j++) {
+                assertNotSame(sent.get(j), received.get(j));
+            }
+        }
+    }
+
+    @Test
+    void testFullyConnectedSendsToAllOtherIslands() {
+        List<List<NetworkChromosome>> emigrants = evaluatedIslands(3).stream().map(neat -> neat.bestCandidates(2)).toList();
+        List<List<NetworkChromosome>> immigrants =
+                IslandNeat.immigrants(emigrants, IslandNeat.Topology.FULLY_CONNECTED);
+
+        for (int i = 0; i < 3; i++) {
+            List<NetworkChromosome> sent = Stream.of(emigrants.get((i + 1) % 3), emigrants.get((i + 2) % 3))
+                    .flatMap(List::stream)
+                    .toList();
+            assertEquals(4, immigrants.get(i).size());
+            assertEquals(fingerprints(sent), fingerprints(immigrants.get(i)));
+        }
+    }
+
+    @Test
+    void testImmigrantsJoinTheNextGeneration() {
+        List<NeatAlgorithm> islands = evaluatedIslands(2);
+        NetworkChromosome best = islands.get(0).bestCandidates(1).getFirst();
+        List<List<NetworkChromosome>> immigrants = IslandNeat.immigrants(
+                List.of(List.of(best), List.of()), IslandNeat.Topology.RING);
+
+        NeatAlgorithm target = islands.get(1);
+        assertFalse(fingerprints(target.bestCandidates(Integer.MAX_VALUE)).contains(best.getFingerprint()));
+        target.reproduce(immigrants.get(1));
+        target.evaluateGeneration(new SinglePoleBalancing(500, 2, false, new Random()));
+        assertTrue(fingerprints(target.bestCandidates(Integer.MAX_VALUE)).contains(best.getFingerprint()));
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        Random random = new Random();
+        assertThrows(IllegalArgumentException.class,
+                () -> new IslandNeat(0, 20, 5, CART_POLE, 1, 1, IslandNeat.Topology.RING, random));
+        assertThrows(IllegalArgumentException.class,
+                () -> new IslandNeat(2, 20, 5, CART_POLE, 0, 1, IslandNeat.Topology.RING, random));
+        assertThrows(IllegalArgumentException.class,
+                () -> new IslandNeat(5, 20, 5, CART_POLE, 1, 5, IslandNeat.Topology.FULLY_CONNECTED, random));
+    }
+}
@@ -0,0 +1,60 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation.FitnessEvaluator;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation.SequentialEvaluator;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.metrics.GenerationMetrics;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.environments.Environment;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NeatAlgorithmTest {
+
+    /**
+     * Fails every evaluation and records whether it was closed.
+     */
+    private static final class FailingEvaluator implements FitnessEvaluator {
+        private boolean closed;
+
+        @Override
+        public void evaluate(List<NetworkChromosome> candidates) {
+            throw new IllegalStateException("Evaluation failed");
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    @Test
+    void testEvaluatorIsClosedWhenEvaluationFails() {
+        Environment environment = new SinglePoleBalancing(2, false, new Random());
+        FailingEvaluator evaluator = new FailingEvaluator();
+        NeatAlgorithm neat = new NeatAlgorithm(10, 5, environment, evaluator, new Random(1));
+
+        assertThrows(IllegalStateException.class, () -> neat.solve(environment));
+        assertTrue(evaluator.closed);
+    }
+
+    @Test
+    void testEveryChromosomeIsEvaluatedOncePerGeneration() {
+        Random random = new Random(2);
+        Environment environment = new SinglePoleBalancing(5000, 2, true, random);
+        NeatAlgorithm neat = new NeatAlgorithm(20, 15, environment, new SequentialEvaluator(environment), random);
+        List<GenerationMetrics> generations = new ArrayList<>();
+        neat.setGenerationListener(generations::add);
+        neat.solve(new SinglePoleBalancing(1_000_000, 2, false, new Random()));
+
+        assertFalse(generations.isEmpty());
+        for (GenerationMetrics metrics : generations) {
+            assertTrue(metrics.evaluations() <= 20, "Generation " + metrics.generation());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.environments.EnvironmentFactory;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SteadyStateNeatTest {
+
+    private static final EnvironmentFactory CART_POLE = random -> new SinglePoleBalancing(500, 2, true, random);
+
+    @Test
+    void testSolveStopsAfterMaximumEvaluations() {
+        SteadyStateNeat neat = new SteadyStateNeat(20, 200, CART_POLE, 4, new Random(1));
+        Agent solution = neat.solve(CART_POLE.create(new Random(2)));
+        assertNotNull(solution);
+        assertTrue(solution.getFitness() > 0);
+        assertTrue(neat.getEvaluations() <= 200);
+        assertEquals(neat.getEvaluations() / 20, neat.getGeneration());
+    }
+
+    @Test
+    void testSingleWorkerIsReproducible() {
+        SteadyStateNeat first = new SteadyStateNeat(20, 300, CART_POLE, 1, new Random(5));
+        SteadyStateNeat second = new SteadyStateNeat(20, 300, CART_POLE, 1, new Random(5));
+        Agent firstSolution = first.solve(CART_POLE.create(new Random(6)));
+        Agent secondSolution = second.solve(CART_POLE.create(new Random(6)));
+        assertEquals(first.getEvaluations(), second.getEvaluations());
+        assertEquals(firstSolution.getFitness(), secondSolution.getFitness());
+    }
+
+    @Test
+    void testSolvableTaskStopsEarly() {
+        EnvironmentFactory easy = random -> new SinglePoleBalancing(10, 1, false, random);
+        SteadyStateNeat neat = new SteadyStateNeat(20, 5000, easy, 2, new Random(3));
+        Agent solution = neat.solve(easy.create(new Random()));
+        assertTrue(easy.create(new Random()).solved(solution));
+        assertTrue(neat.getEvaluations() < 5000);
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        Random random = new Random();
+        assertThrows(IllegalArgumentException.class, () -> new SteadyStateNeat(0, 100, CART_POLE, 1, random));
+        assertThrows(IllegalArgumentException.class, () -> new SteadyStateNeat(20, 100, CART_POLE, 0, random));
+    }
+}
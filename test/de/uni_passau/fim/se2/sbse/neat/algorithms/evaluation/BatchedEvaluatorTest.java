@@ -0,0 +1,42 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkGenerator;
+import de.uni_passau.fim.se2.sbse.neat.environments.BatchedSinglePoleBalancing;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchedEvaluatorTest {
+
+    private static List<NetworkChromosome> population() {
+        Set<Innovation> innovations = new HashSet<>();
+        NetworkGenerator generator = new NetworkGenerator(innovations, 4, 1, new Random(3));
+        List<NetworkChromosome> population = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            population.add(generator.generate());
+        }
+        population.add(population.get(4));
+        return population;
+    }
+
+    @Test
+    void testMatchesParallelEvaluator() {
+        List<NetworkChromosome> population = population();
+        try (ParallelEvaluator evaluator = new ParallelEvaluator(
+                random -> new SinglePoleBalancing(500, 2, true, random), 3, new Random(11))) {
+            evaluator.evaluate(population);
+        }
+        double[] parallel = population.stream().mapToDouble(NetworkChromosome::getFitness).toArray();
+
+        population.forEach(c -> c.setFitness(0));
+        new BatchedEvaluator(new BatchedSinglePoleBalancing(500, 2, true), new Random(11)).evaluate(population);
+        double[] batched = population.stream().mapToDouble(NetworkChromosome::getFitness).toArray();
+
+        assertArrayEquals(parallel, batched);
+    }
+}
@@ -0,0 +1,105 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkGenerator;
+import de.uni_passau.fim.se2.sbse.neat.environments.EvaluationBudget;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingEvaluatorTest {
+
+    /**
+     * Records the candidates passed to the delegate.
+     */
+    private static final class CountingEvaluator implements FitnessEvaluator {
+        private final FitnessEvaluator delegate =
+                new SequentialEvaluator(new SinglePoleBalancing(500, 2, false, new Random()));
+        private int evaluations;
+
+        @Override
+        public void evaluate(List<NetworkChromosome> candidates) {
+            evaluations += candidates.size();
+            delegate.evaluate(candidates);
+        }
+    }
+
+    private static List<NetworkChromosome> population(int size) {
+        Set<Innovation> innovations = new HashSet<>();
+        NetworkGenerator generator = new NetworkGenerator(innovations, 4, 1, new Random(3));
+        List<NetworkChromosome> population = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            population.add(generator.generate());
+        }
+        return population;
+    }
+
+    @Test
+    void testRepeatedCandidatesAreNotReevaluated() {
+        List<NetworkChromosome> population = population(5);
+        CountingEvaluator counting = new CountingEvaluator();
+        CachingEvaluator evaluator = new CachingEvaluator(counting);
+
+        evaluator.evaluate(population);
+        double[] fitness = population.stream().mapToDouble(NetworkChromosome::getFitness).toArray();
+        population.forEach(c -> c.setFitness(0));
+        evaluator.evaluate(population);
+
+        assertEquals(5, counting.evaluations);
+        assertArrayEquals(fitness, population.stream().mapToDouble(NetworkChromosome::getFitness).toArray());
+    }
+
+    @Test
+    void testEqualNetworksAreEvaluatedOnce() {
+        NetworkChromosome original = population(1).getFirst();
+        NetworkChromosome copy = new NetworkChromosome(original.getLayers(), original.getConnections());
+        CountingEvaluator counting = new CountingEvaluator();
+
+        new CachingEvaluator(counting).evaluate(List.of(original, copy));
+
+        assertEquals(1, counting.evaluations);
+        assertEquals(original.getFitness(), copy.getFitness());
+        assertTrue(copy.getFitness() > 0);
+    }
+
+    @Test
+    void testLeastRecentlyUsedFingerprintIsEvicted() {
+        List<NetworkChromosome> population = population(3);
+        CountingEvaluator counting = new CountingEvaluator();
+        CachingEvaluator evaluator = new CachingEvaluator(counting, 2);
+
+        evaluator.evaluate(population.subList(0, 2));
+        evaluator.evaluate(List.of(population.get(0)));
+        evaluator.evaluate(List.of(population.get(2)));
+        assertEquals(2, evaluator.size());
+        assertEquals(3, counting.evaluations);
+
+        evaluator.evaluate(List.of(population.get(0)));
+        assertEquals(3, counting.evaluations);
+        evaluator.evaluate(List.of(population.get(1)));
+        assertEquals(4, counting.evaluations);
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingEvaluator(new CountingEvaluator(), 0));
+    }
+
+    @Test
+    void testTruncatedFitnessIsNotCached() {
+        List<NetworkChromosome> population = population(5);
+        CachingEvaluator evaluator =
+                new CachingEvaluator(new SequentialEvaluator(new SinglePoleBalancing(500, 2, false, new Random())));
+
+        evaluator.evaluate(population, new EvaluationBudget(Double.NEGATIVE_INFINITY, 10));
+        assertTrue(population.stream().allMatch(c -> c.isTruncated() || c.getFitness() < 10));
+        assertEquals(population.stream().filter(c -> !c.isTruncated()).count(), evaluator.size());
+
+        evaluator.evaluate(population);
+        assertTrue(population.stream().noneMatch(NetworkChromosome::isTruncated));
+    }
+}
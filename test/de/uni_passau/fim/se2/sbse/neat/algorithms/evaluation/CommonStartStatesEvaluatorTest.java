@@ -0,0 +1,88 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkGenerator;
+import de.uni_passau.fim.se2.sbse.neat.environments.EvaluationBudget;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import de.uni_passau.fim.se2.sbse.neat.environments.StartStateTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommonStartStatesEvaluatorTest {
+
+    private static List<NetworkChromosome> population() {
+        Set<Innovation> innovations = new HashSet<>();
+        NetworkGenerator generator = new NetworkGenerator(innovations, 4, 1, new Random(3));
+        List<NetworkChromosome> population = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            population.add(generator.generate());
+        }
+        return population;
+    }
+
+    private static double[] evaluate(int threads) {
+        List<NetworkChromosome> population = population();
+        try (CommonStartStatesEvaluator evaluator = new CommonStartStatesEvaluator(
+                random -> new SinglePoleBalancing(500, 2, true, random), threads, new Random(11))) {
+            evaluator.evaluate(population);
+        }
+        return population.stream().mapToDouble(NetworkChromosome::getFitness).toArray();
+    }
+
+    @Test
+    void testResultsDoNotDependOnThreadCount() {
+        double[] sequential = evaluate(1);
+        assertArrayEquals(sequential, evaluate(4));
+        assertArrayEquals(sequential, evaluate(7));
+    }
+
+    @Test
+    void testCandidatesStartFromTheSameStates() {
+        List<NetworkChromosome> population = population();
+        try (CommonStartStatesEvaluator evaluator = new CommonStartStatesEvaluator(
+                random -> new SinglePoleBalancing(500, 2, true, random), 3, new Random(11))) {
+            evaluator.evaluate(population);
+        }
+
+        SinglePoleBalancing environment = new SinglePoleBalancing(500, 2, true, new Random());
+        environment.setStartStates(StartStateTable.generate(environment.episodes(), new Random(11)));
+        for (NetworkChromosome candidate : population) {
+            assertEquals(environment.evaluate(candidate), candidate.getFitness());
+        }
+    }
+
+    @Test
+    void testEqualNetworksAreEvaluatedOnce() {
+        NetworkChromosome original = population().getFirst();
+        NetworkChromosome copy = new NetworkChromosome(original.getLayers(), original.getConnections());
+        AtomicInteger evaluations = new AtomicInteger();
+        try (CommonStartStatesEvaluator evaluator = new CommonStartStatesEvaluator(
+                random -> new SinglePoleBalancing(500, 2, true, random) {
+                    @Override
+                    public double evaluate(Agent agent, EvaluationBudget budget) {
+                        evaluations.incrementAndGet();
+                        return super.evaluate(agent, budget);
+                    }
+                }, 2, new Random(11))) {
+            evaluator.evaluate(List.of(original, copy, original));
+        }
+
+        assertEquals(1, evaluations.get());
+        assertEquals(original.getFitness(), copy.getFitness());
+        assertTrue(copy.getFitness() > 0);
+    }
+
+    @Test
+    void testInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new CommonStartStatesEvaluator(
+                random -> new SinglePoleBalancing(1, true, random), 0, new Random()));
+        assertThrows(IllegalArgumentException.class, () -> new CommonStartStatesEvaluator(
+                random -> new SinglePoleBalancing(1, false, random), 1, new Random()));
+    }
+}
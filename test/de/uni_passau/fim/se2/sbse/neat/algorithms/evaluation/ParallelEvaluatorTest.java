@@ -0,0 +1,56 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkGenerator;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelEvaluatorTest {
+
+    private static List<NetworkChromosome> population() {
+        Set<Innovation> innovations = new HashSet<>();
+        NetworkGenerator generator = new NetworkGenerator(innovations, 4, 1, new Random(3));
+        List<NetworkChromosome> population = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            population.add(generator.generate());
+        }
+        return population;
+    }
+
+    private static double[] evaluate(int threads) {
+        List<NetworkChromosome> population = population();
+        try (ParallelEvaluator evaluator = new ParallelEvaluator(
+                random -> new SinglePoleBalancing(500, 2, true, random), threads, new Random(11))) {
+            evaluator.evaluate(population);
+        }
+        return population.stream().mapToDouble(NetworkChromosome::getFitness).toArray();
+    }
+
+    @Test
+    void testResultsDoNotDependOnThreadCount() {
+        double[] sequential = evaluate(1);
+        assertArrayEquals(sequential, evaluate(4));
+        assertArrayEquals(sequential, evaluate(7));
+    }
+
+    @Test
+    void testDuplicateCandidateIsEvaluated() {
+        NetworkChromosome candidate = population().get(0);
+        try (ParallelEvaluator evaluator = new ParallelEvaluator(
+                random -> new SinglePoleBalancing(500, 2, false, random), 2, new Random(11))) {
+            evaluator.evaluate(List.of(candidate, candidate));
+        }
+        assertTrue(candidate.getFitness() > 0);
+    }
+
+    @Test
+    void testInvalidThreadCount() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParallelEvaluator(random -> new SinglePoleBalancing(1, false, random), 0, new Random()));
+    }
+}
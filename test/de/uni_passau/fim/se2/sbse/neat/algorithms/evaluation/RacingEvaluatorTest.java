@@ -0,0 +1,160 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkGenerator;
+import de.uni_passau.fim.se2.sbse.neat.environments.EpisodicEnvironment;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RacingEvaluatorTest {
+
+    private static final int EPISODES = 11;
+    private static final double MAX_REWARD = 100;
+
+    /**
+     * Rewards every agent with the same fixed reward in every episode and continues after first episodes of at least 5.
+     */
+    private static final class ScriptedEnvironment implements EpisodicEnvironment {
+        private final Map<Agent, Double> rewards = new IdentityHashMap<>();
+        private final Map<Agent, Integer> episodes = new IdentityHashMap<>();
+
+        @Override
+        public int episodes() {
+            return EPISODES;
+        }
+
+        @Override
+        public double maxEpisodeReward() {
+            return MAX_REWARD;
+        }
+
+        @Override
+        public double runEpisode(Agent agent, int episode) {
+            episodes.merge(agent, 1, Integer::sum);
+            return rewards.get(agent);
+        }
+
+        @Override
+        public boolean continuesAfterFirstEpisode(double reward) {
+            return reward >= 5;
+        }
+
+        @Override
+        public int stateSize() {
+            return 4;
+        }
+
+        @Override
+        public int actionInputSize() {
+            return 1;
+        }
+
+        @Override
+        public void resetState() {
+        }
+
+        @Override
+        public void updateState(List<Double> actions) {
+        }
+
+        @Override
+        public List<Double> getState() {
+            return List.of(0.0, 0.0, 0.0, 0.0);
+        }
+
+        @Override
+        public double evaluate(Agent agent) {
+            double reward = runEpisode(agent, 0);
+            if (continuesAfterFirstEpisode(reward)) {
+                for (int i = 1; i < EPISODES; i++) {
+                    reward += runEpisode(agent, i);
+                }
+            }
+            return reward;
+        }
+
+        @Override
+        public boolean isDone() {
+            return true;
+        }
+
+        @Override
+        public boolean solved(Agent agent) {
+            return false;
+        }
+
+        @Override
+        public void visualise(Agent agent, CountDownLatch latch) {
+            latch.countDown();
+        }
+    }
+
+    private static List<NetworkChromosome> population(int size) {
+        Set<Innovation> innovations = new HashSet<>();
+        NetworkGenerator generator = new NetworkGenerator(innovations, 4, 1, new Random(3));
+        List<NetworkChromosome> population = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            population.add(generator.generate());
+        }
+        return population;
+    }
+
+    @Test
+    void testDominatedCandidatesDropOut() {
+        List<NetworkChromosome> population = population(4);
+        ScriptedEnvironment environment = new ScriptedEnvironment();
+        double[] rewards = {MAX_REWARD, 90, 10, 0};
+        for (int i = 0; i < rewards.length; i++) {
+            environment.rewards.put(population.get(i), rewards[i]);
+        }
+        RacingEvaluator evaluator = new RacingEvaluator(environment, 0.1, 3);
+        evaluator.evaluate(population);
+
+        // The bounds separate a gap of 90 from round 8 on, but never a gap of 10.
+        assertEquals(EPISODES, environment.episodes.get(population.get(0)));
+        assertEquals(EPISODES, environment.episodes.get(population.get(1)));
+        assertEquals(9, environment.episodes.get(population.get(2)));
+        assertEquals(1, environment.episodes.get(population.get(3)));
+        assertEquals(EPISODES * 2 + 9 + 1, evaluator.getEpisodes());
+
+        for (int i = 0; i < rewards.length; i++) {
+            assertEquals(environment.evaluate(population.get(i)), population.get(i).getFitness(), "Candidate " + i);
+        }
+    }
+
+    @Test
+    void testRepeatedCandidatesAreEvaluatedOnce() {
+        NetworkChromosome candidate = population(1).getFirst();
+        ScriptedEnvironment environment = new ScriptedEnvironment();
+        environment.rewards.put(candidate, MAX_REWARD);
+
+        new RacingEvaluator(environment).evaluate(List.of(candidate, candidate, candidate));
+        assertEquals(EPISODES, environment.episodes.get(candidate));
+        assertEquals(EPISODES * MAX_REWARD, candidate.getFitness());
+    }
+
+    @Test
+    void testDeterministicEnvironmentMatchesFullEvaluation() {
+        List<NetworkChromosome> population = population(20);
+        new SequentialEvaluator(new SinglePoleBalancing(500, 4, false, new Random())).evaluate(population);
+        double[] expected = population.stream().mapToDouble(NetworkChromosome::getFitness).toArray();
+
+        new RacingEvaluator(new SinglePoleBalancing(500, 4, false, new Random())).evaluate(population);
+        assertArrayEquals(expected, population.stream().mapToDouble(NetworkChromosome::getFitness).toArray());
+    }
+
+    @Test
+    void testInvalidParameters() {
+        EpisodicEnvironment environment = new ScriptedEnvironment();
+        assertThrows(IllegalArgumentException.class, () -> new RacingEvaluator(environment, 0, 3));
+        assertThrows(IllegalArgumentException.class, () -> new RacingEvaluator(environment, 1, 3));
+        assertThrows(IllegalArgumentException.class, () -> new RacingEvaluator(environment, 0.1, 0));
+    }
+}
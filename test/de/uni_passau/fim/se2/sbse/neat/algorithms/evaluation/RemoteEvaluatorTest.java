@@ -0,0 +1,219 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation;
+
+import de.uni_passau.fim.se2.sbse.neat.Main;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkGenerator;
+import de.uni_passau.fim.se2.sbse.neat.environments.EnvironmentFactory;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RemoteEvaluatorTest {
+
+    private static final EnvironmentFactory CART_POLE = random -> new SinglePoleBalancing(500, 2, true, random);
+
+    private final List<ServerSocket> servers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (ServerSocket server : servers) {
+            server.close();
+        }
+    }
+
+    private static List<NetworkChromosome> population() {
+        Set<Innovation> innovations = new HashSet<>();
+        NetworkGenerator generator = new NetworkGenerator(innovations, 4, 1, new Random(3));
+        List<NetworkChromosome> population = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            population.add(generator.generate());
+        }
+        return population;
+    }
+
+    private static double[] fitness(List<NetworkChromosome> population) {
+        return population.stream().mapToDouble(NetworkChromosome::getFitness).toArray();
+    }
+
+    private static double[] evaluateLocally() {
+        List<NetworkChromosome> population = population();
+        try (ParallelEvaluator evaluator = new ParallelEvaluator(CART_POLE, 1, new Random(11))) {
+            evaluator.evaluate(population);
+        }
+        return fitness(population);
+    }
+
+    private static double[] evaluateRemotely(List<InetSocketAddress> workers, int batchSize, int pipelineDepth) {
+        List<NetworkChromosome> population = population();
+        try (RemoteEvaluator evaluator = new RemoteEvaluator(workers, batchSize, pipelineDepth, new Random(11))) {
+            evaluator.evaluate(population);
+        }
+        return fitness(population);
+    }
+
+    /**
+     * Starts an evaluation worker on a free local port.
+     */
+    private InetSocketAddress startWorker() throws IOException {
+        ServerSocket server = new ServerSocket(0);
+        servers.add(server);
+        Thread thread = new Thread(() -> new EvaluationWorker(CART_POLE).serve(server));
+        thread.setDaemon(true);
+        thread.start();
+        return new InetSocketAddress("localhost", server.getLocalPort());
+    }
+
+    /**
+     * Starts a worker that drops every connection without answering.
+     */
+    private InetSocketAddress startFailingWorker() throws IOException {
+        ServerSocket server = new ServerSocket(0);
+        servers.add(server);
+        Thread thread = new Thread(() -> {
+            while (!server.isClosed()) {
+                try (Socket socket = server.accept()) {
+                    socket.getInputStream().read();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return new InetSocketAddress("localhost", server.getLocalPort());
+    }
+
+    /**
+     * Starts a worker that drops its first connection without answering and serves all following ones.
+     */
+    private InetSocketAddress startFlakyWorker() throws IOException {
+        ServerSocket server = new ServerSocket(0);
+        servers.add(server);
+        Thread thread = new Thread(() -> {
+            try (Socket socket = server.accept()) {
+                socket.getInputStream().read();
+            } catch (IOException e) {
+                return;
+            }
+            new EvaluationWorker(CART_POLE).serve(server);
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return new InetSocketAddress("localhost", server.getLocalPort());
+    }
+
+    /**
+     * Starts a worker that reads every request but never answers and never closes a connection.
+     */
+    private InetSocketAddress startStalledWorker() throws IOException {
+        ServerSocket server = new ServerSocket(0);
+        servers.add(server);
+        Thread thread = new Thread(() -> {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    Thread reader = new Thread(() -> {
+                        try {
+                            socket.getInputStream().transferTo(OutputStream.nullOutputStream());
+                        } catch (IOException e) {
+                            // The evaluator closed the connection.
+                        }
+                    });
+                    reader.setDaemon(true);
+                    reader.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return new InetSocketAddress("localhost", server.getLocalPort());
+    }
+
+    @Test
+    void testResultsMatchLocalEvaluation() throws IOException {
+        double[] expected = evaluateLocally();
+        List<InetSocketAddress> workers = List.of(startWorker(), startWorker());
+        assertArrayEquals(expected, evaluateRemotely(workers, 4, 3));
+        assertArrayEquals(expected, evaluateRemotely(workers.subList(0, 1), 25, 1));
+    }
+
+    @Test
+    void testBatchesOfFailedWorkerAreRetried() throws IOException {
+        double[] expected = evaluateLocally();
+        List<InetSocketAddress> workers = List.of(startFailingWorker(), startWorker());
+        assertArrayEquals(expected, evaluateRemotely(workers, 3, 2));
+    }
+
+    @Test
+    void testOnlyWorkerIsReconnected() throws IOException {
+        double[] expected = evaluateLocally();
+        assertArrayEquals(expected, evaluateRemotely(List.of(startFlakyWorker()), 3, 2));
+    }
+
+    @Test
+    void testStalledWorkerTimesOut() throws IOException {
+        double[] expected = evaluateLocally();
+        List<InetSocketAddress> workers = List.of(startStalledWorker(), startWorker());
+        List<NetworkChromosome> population = population();
+        try (RemoteEvaluator evaluator = new RemoteEvaluator(workers, 3, 2, 50, new Random(11))) {
+            evaluator.evaluate(population);
+        }
+        assertArrayEquals(expected, fitness(population));
+
+        InetSocketAddress stalled = startStalledWorker();
+        try (RemoteEvaluator evaluator = new RemoteEvaluator(List.of(stalled), 25, 1, 10, new Random(11))) {
+            assertThrows(IllegalStateException.class, () -> evaluator.evaluate(population()));
+        }
+    }
+
+    @Test
+    void testUnreachableWorkersFail() throws IOException {
+        ServerSocket server = new ServerSocket(0);
+        InetSocketAddress address = new InetSocketAddress("localhost", server.getLocalPort());
+        server.close();
+        assertThrows(IllegalStateException.class, () -> evaluateRemotely(List.of(address), 5, 2));
+    }
+
+    @Test
+    void testWorkerProcess() throws IOException {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                Main.class.getName(), "-t", "CART_RANDOM", "--worker-port", "0")
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        try {
+            BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream()));
+            String line = output.readLine();
+            assertNotNull(line);
+            int port = Integer.parseInt(line.substring(line.lastIndexOf(' ') + 1));
+
+            List<NetworkChromosome> population = population();
+            try (RemoteEvaluator evaluator = new RemoteEvaluator(
+                    List.of(new InetSocketAddress("localhost", port)), 5, new Random(11))) {
+                evaluator.evaluate(population);
+            }
+            List<NetworkChromosome> expected = population();
+            try (ParallelEvaluator evaluator = new ParallelEvaluator(
+                    random -> new SinglePoleBalancing(10, true, random), 1, new Random(11))) {
+                evaluator.evaluate(expected);
+            }
+            assertArrayEquals(fitness(expected), fitness(population));
+        } finally {
+            process.destroy();
+        }
+    }
+}
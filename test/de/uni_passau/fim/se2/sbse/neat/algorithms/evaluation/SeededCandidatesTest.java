@@ -0,0 +1,34 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeededCandidatesTest {
+
+    @Test
+    void testDrawsOneSeedPerDistinctCandidateInPopulationOrder() {
+        Set<Innovation> innovations = new HashSet<>();
+        NetworkGenerator generator = new NetworkGenerator(innovations, 4, 1, new Random(3));
+        NetworkChromosome first = generator.generate();
+        NetworkChromosome second = generator.generate();
+        NetworkChromosome third = generator.generate();
+
+        Random random = new Random(7);
+        SeededCandidates seeded = SeededCandidates.draw(List.of(second, first, second, third, first), random);
+
+        assertEquals(3, seeded.candidates().size());
+        assertSame(second, seeded.candidates().get(0));
+        assertSame(first, seeded.candidates().get(1));
+        assertSame(third, seeded.candidates().get(2));
+
+        Random expected = new Random(7);
+        assertArrayEquals(new long[]{expected.nextLong(), expected.nextLong(), expected.nextLong()}, seeded.seeds());
+        assertEquals(expected.nextLong(), random.nextLong());
+    }
+}
@@ -0,0 +1,98 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.innovations;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.ConcreteInnovation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InnovationRegistryTest {
+
+    private InnovationRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new InnovationRegistry();
+    }
+
+    @Test
+    void testFirstInnovationNumber() {
+        assertEquals(InnovationRegistry.FIRST_INNOVATION_NUMBER, registry.innovationNumber(1, 2));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void testInnovationNumberIsReused() {
+        int first = registry.innovationNumber(1, 2);
+        int second = registry.innovationNumber(2, 1);
+        assertEquals(first, registry.innovationNumber(1, 2));
+        assertEquals(first + 1, second);
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    void testNewNumberFollowsHighestRegisteredNumber() {
+        registry.add(new ConcreteInnovation(1, 2, 1));
+        assertEquals(2, registry.innovationNumber(1, 3));
+        registry.add(new ConcreteInnovation(1, 4, 20));
+        assertEquals(21, registry.innovationNumber(1, 5));
+    }
+
+    @Test
+    void testAddDoesNotReplaceExistingConnection() {
+        assertTrue(registry.add(new ConcreteInnovation(1, 2, 5)));
+        assertFalse(registry.add(new ConcreteInnovation(1, 2, 7)));
+        assertEquals(5, registry.find(1, 2));
+        assertTrue(registry.contains(new ConcreteInnovation(1, 2, 0)));
+    }
+
+    @Test
+    void testFindUnknownConnection() {
+        assertEquals(InnovationRegistry.NOT_FOUND, registry.find(3, 4));
+        assertTrue(registry.isEmpty());
+    }
+
+    @Test
+    void testAddRejectsOtherInnovations() {
+        assertThrows(IllegalArgumentException.class, () -> registry.add(new Innovation() {
+        }));
+    }
+
+    @Test
+    void testGrowsBeyondInitialCapacity() {
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(InnovationRegistry.FIRST_INNOVATION_NUMBER + i, registry.innovationNumber(i, -i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(InnovationRegistry.FIRST_INNOVATION_NUMBER + i, registry.find(i, -i));
+        }
+        assertEquals(1000, registry.size());
+    }
+
+    @Test
+    void testConcurrentRegistrationAssignsUniqueNumbers() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Map<Integer, Integer>>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    Map<Integer, Integer> numbers = new HashMap<>();
+                    for (int i = 0; i < 500; i++) {
+                        numbers.put(i, registry.innovationNumber(i, i + 1));
+                    }
+                    return numbers;
+                }));
+            }
+            Map<Integer, Integer> expected = futures.get(0).get();
+            for (Future<Map<Integer, Integer>> future : futures) {
+                assertEquals(expected, future.get());
+            }
+            assertEquals(500, new HashSet<>(expected.values()).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms.metrics;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatAlgorithm;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation.SequentialEvaluator;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.environments.Environment;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsWriterTest {
+
+    private static final GenerationMetrics METRICS =
+            new GenerationMetrics(3, 50, 1000, 200, 300, 400, 4, 0.75, 0.5, 2, 3.5, 6, 4096);
+
+    @TempDir
+    Path directory;
+
+    private static NeatAlgorithm neat(long seed) {
+        Random random = new Random(seed);
+        Environment environment = new SinglePoleBalancing(5000, 2, true, random);
+        return new NeatAlgorithm(30, 6, environment, new SequentialEvaluator(environment), random);
+    }
+
+    @Test
+    void testCsv() throws IOException {
+        Path file = directory.resolve("metrics.csv");
+        try (MetricsWriter writer = new MetricsWriter(file, MetricsWriter.Format.CSV)) {
+            writer.listener(1).generationCompleted(METRICS);
+        }
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(List.of(
+                "run,generation,evaluations,evaluationNanos,selectionNanos,reproductionNanos,speciationNanos,species,"
+                        + "bestFitness,meanFitness,minGenomeSize,meanGenomeSize,maxGenomeSize,allocatedBytes",
+                "1,3,50,1000,200,300,400,4,0.75,0.5,2,3.5,6,4096"), lines);
+    }
+
+    @Test
+    void testJsonLines() throws IOException {
+        Path file = directory.resolve("metrics.jsonl");
+        try (MetricsWriter writer = new MetricsWriter(file, MetricsWriter.Format.JSON)) {
+            writer.write(0, METRICS);
+            writer.write(2, new GenerationMetrics(0, 0, 0, 0, 0, 0, 0, Double.NEGATIVE_INFINITY, Double.NaN, 0, 0, 0, -1));
+        }
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertEquals("{\"run\":0,\"generation\":3,\"evaluations\":50,\"evaluationNanos\":1000,\"selectionNanos\":200,"
+                + "\"reproductionNanos\":300,\"speciationNanos\":400,\"species\":4,\"bestFitness\":0.75,"
+                + "\"meanFitness\":0.5,\"minGenomeSize\":2,\"meanGenomeSize\":3.5,\"maxGenomeSize\":6,"
+                + "\"allocatedBytes\":4096}", lines.getFirst());
+        assertTrue(lines.get(1).contains("\"bestFitness\":null,\"meanFitness\":null"));
+    }
+
+    @Test
+    void testListenerReceivesEveryGeneration() {
+        NeatAlgorithm neat = neat(3);
+        List<GenerationMetrics> received = new ArrayList<>();
+        neat.setGenerationListener(received::add);
+        Environment judge = new SinglePoleBalancing(1_000_000, 2, false, new Random());
+        neat.solve(judge);
+
+        assertEquals(neat.getGeneration(), received.size());
+        long evaluations = 0;
+        for (int i = 0; i < received.size(); i++) {
+            GenerationMetrics metrics = received.get(i);
+            assertEquals(i, metrics.generation());
+            assertTrue(metrics.species() > 0);
+            assertTrue(metrics.minGenomeSize() <= metrics.meanGenomeSize());
+            assertTrue(metrics.meanGenomeSize() <= metrics.maxGenomeSize());
+            assertTrue(metrics.meanFitness() <= metrics.bestFitness());
+            assertTrue(metrics.evaluationNanos() > 0);
+            assertTrue(metrics.reproductionNanos() > 0);
+            evaluations += metrics.evaluations();
+        }
+        assertEquals(neat.getEvaluations(), evaluations);
+    }
+
+    @Test
+    void testListenerDoesNotChangeSearch() {
+        Environment judge = new SinglePoleBalancing(1_000_000, 2, false, new Random());
+        NeatAlgorithm plain = neat(8);
+        Agent expected = plain.solve(judge);
+
+        NeatAlgorithm observed = neat(8);
+        observed.setGenerationListener(_ -> {
+        });
+        Agent actual = observed.solve(judge);
+
+        assertEquals(plain.getGeneration(), observed.getGeneration());
+        assertEquals(expected.getFitness(), actual.getFitness());
+        assertEquals(((NetworkChromosome) expected).getFingerprint(), ((NetworkChromosome) actual).getFingerprint());
+    }
+}
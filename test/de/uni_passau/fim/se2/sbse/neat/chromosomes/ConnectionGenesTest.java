@@ -0,0 +1,111 @@
+package de.uni_passau.fim.se2.sbse.neat.chromosomes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionGenesTest {
+
+    private final NeuronGene input = new NeuronGene(1, ActivationFunction.NONE, NeuronType.INPUT);
+    private final NeuronGene output = new NeuronGene(2, ActivationFunction.TANH, NeuronType.OUTPUT);
+
+    @Test
+    void testOfKeepsGeneInstances() {
+        ConnectionGene first = new ConnectionGene(input, output, 0.3, true, 25);
+        ConnectionGene second = new ConnectionGene(output, output, -0.1, false, 19);
+        ConnectionGenes genes = ConnectionGenes.of(List.of(first, second));
+
+        assertEquals(2, genes.size());
+        assertSame(first, genes.get(0));
+        assertSame(second, genes.get(1));
+        assertSame(output, genes.source(1));
+        assertEquals(-0.1, genes.weight(1));
+        assertFalse(genes.enabled(1));
+        assertEquals(25, genes.innovation(0));
+        assertSame(genes, ConnectionGenes.of(genes));
+    }
+
+    @Test
+    void testWithWeightsSharesStructure() {
+        ConnectionGenes genes = ConnectionGenes.of(List.of(
+                new ConnectionGene(input, output, 0.3, true, 25),
+                new ConnectionGene(output, output, -0.1, false, 19)));
+        double[] weights = genes.weights();
+        weights[0] = 1.5;
+        ConnectionGenes mutated = genes.withWeights(weights);
+
+        assertEquals(0.3, genes.weight(0));
+        assertEquals(1.5, mutated.weight(0));
+        ConnectionGene view = mutated.get(0);
+        assertSame(view, mutated.get(0));
+        assertSame(input, view.getSourceNeuron());
+        assertSame(output, view.getTargetNeuron());
+        assertEquals(1.5, view.getWeight());
+        assertTrue(view.getEnabled());
+        assertEquals(25, view.getInnovationNumber());
+        assertFalse(mutated.get(1).getEnabled());
+        assertThrows(IllegalArgumentException.class, () -> genes.withWeights(new double[1]));
+        assertThrows(IndexOutOfBoundsException.class, () -> mutated.get(2));
+    }
+
+    @Test
+    void testWithConnectionsComputesSameOutputs() {
+        Map<Double, List<NeuronGene>> layers = new HashMap<>();
+        layers.put(NetworkChromosome.INPUT_LAYER, List.of(input));
+        layers.put(NetworkChromosome.OUTPUT_LAYER, List.of(output));
+        NetworkChromosome parent = new NetworkChromosome(layers, List.of(new ConnectionGene(input, output, 0.3, true, 1)));
+        ConnectionGenes genes = parent.getConnectionGenes();
+        NetworkChromosome child = parent.withConnections(genes.withWeights(new double[]{0.7}));
+        NetworkChromosome expected = new NetworkChromosome(layers, List.of(new ConnectionGene(input, output, 0.7, true, 1)));
+
+        assertSame(parent.getLayerView(), child.getLayerView());
+        assertEquals(expected.getOutput(List.of(0.5)), child.getOutput(List.of(0.5)));
+        assertEquals(expected.getFingerprint(), child.getFingerprint());
+        assertEquals(0.7, child.getInnovationView().weight(0));
+    }
+
+    @Test
+    void testPersistentOperationsMatchCopiedList() {
+        Random random = new Random(42);
+        List<ConnectionGene> expected = new ArrayList<>();
+        ConnectionGenes genes = ConnectionGenes.of(List.of());
+        for (int step = 0; step < 2000; step++) {
+            ConnectionGenes previous = genes;
+            List<ConnectionGene> previousExpected = new ArrayList<>(expected);
+            int operation = expected.isEmpty() ? 0 : Math.max(0, random.nextInt(4) - 1);
+            if (operation == 0) {
+                ConnectionGene connection = new ConnectionGene(input, output, random.nextDouble(), true, step);
+                expected.add(connection);
+                genes = genes.plus(connection);
+            } else if (operation == 1) {
+                int index = random.nextInt(expected.size());
+                expected.remove(index);
+                genes = genes.without(index);
+            } else {
+                int index = random.nextInt(expected.size());
+                ConnectionGene connection = expected.get(index);
+                expected.set(index, new ConnectionGene(input, output, connection.getWeight(),
+                        !connection.getEnabled(), connection.getInnovationNumber()));
+                genes = genes.withEnabled(index, !connection.getEnabled());
+            }
+            assertGenes(expected, genes);
+            assertGenes(previousExpected, previous);
+        }
+        assertTrue(expected.size() > 2 * ConnectionGenes.CHUNK_SIZE);
+    }
+
+    private static void assertGenes(List<ConnectionGene> expected, ConnectionGenes genes) {
+        assertEquals(expected.size(), genes.size());
+        double[] weights = genes.weights();
+        for (int i = 0; i < expected.size(); i++) {
+            ConnectionGene connection = expected.get(i);
+            assertEquals(connection.getInnovationNumber(), genes.innovation(i));
+            assertEquals(connection.getEnabled(), genes.enabled(i));
+            assertEquals(connection.getWeight(), weights[i]);
+            assertEquals(connection.getInnovationNumber(), genes.get(i).getInnovationNumber());
+            assertEquals(connection.getEnabled(), genes.get(i).getEnabled());
+        }
+    }
+}
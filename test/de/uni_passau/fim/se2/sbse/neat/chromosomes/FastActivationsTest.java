@@ -0,0 +1,52 @@
+package de.uni_passau.fim.se2.sbse.neat.chromosomes;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FastActivationsTest {
+
+    @Test
+    void testErrorWithinDocumentedBound() {
+        double maxTanhError = 0;
+        double maxSigmoidError = 0;
+        double previousTanh = -1;
+        double previousSigmoid = 0;
+        for (double x = -20; x <= 20; x += 1e-4) {
+            double tanh = FastActivations.tanh(x);
+            double sigmoid = FastActivations.sigmoid(x);
+            maxTanhError = Math.max(maxTanhError, Math.abs(tanh - Math.tanh(x)));
+            maxSigmoidError = Math.max(maxSigmoidError, Math.abs(sigmoid - 1.0 / (1.0 + Math.exp(-x))));
+            assertTrue(tanh >= previousTanh);
+            assertTrue(sigmoid >= previousSigmoid);
+            previousTanh = tanh;
+            previousSigmoid = sigmoid;
+        }
+        assertTrue(maxTanhError <= FastActivations.MAX_TANH_ERROR, "tanh error " + maxTanhError);
+        assertTrue(maxSigmoidError <= FastActivations.MAX_SIGMOID_ERROR, "sigmoid error " + maxSigmoidError);
+    }
+
+    @Test
+    void testSpecialValues() {
+        assertEquals(0.0, FastActivations.tanh(0.0));
+        assertEquals(0.5, FastActivations.sigmoid(0.0));
+        assertEquals(1.0, FastActivations.tanh(Double.POSITIVE_INFINITY));
+        assertEquals(-1.0, FastActivations.tanh(-Double.MAX_VALUE));
+        assertEquals(0.0, FastActivations.sigmoid(Double.NEGATIVE_INFINITY));
+        assertTrue(Double.isNaN(FastActivations.tanh(Double.NaN)));
+        assertTrue(Double.isNaN(FastActivations.sigmoid(Double.NaN)));
+        assertEquals(-3.5, FastActivations.activate(ActivationFunction.NONE, -3.5));
+    }
+
+    @Test
+    void testLargestArgumentsWithinTable() {
+        double limit = Math.nextDown(8.0);
+        assertEquals(Math.tanh(limit), FastActivations.tanh(limit), FastActivations.MAX_TANH_ERROR);
+        assertEquals(Math.tanh(-limit), FastActivations.tanh(-limit), FastActivations.MAX_TANH_ERROR);
+        double sigmoidLimit = Math.nextDown(16.0);
+        assertEquals(1.0 / (1.0 + Math.exp(-sigmoidLimit)), FastActivations.sigmoid(sigmoidLimit),
+                FastActivations.MAX_SIGMOID_ERROR);
+        assertEquals(1.0 / (1.0 + Math.exp(sigmoidLimit)), FastActivations.sigmoid(-sigmoidLimit),
+                FastActivations.MAX_SIGMOID_ERROR);
+    }
+}
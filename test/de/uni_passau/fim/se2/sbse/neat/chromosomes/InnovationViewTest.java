@@ -0,0 +1,55 @@
+package de.uni_passau.fim.se2.sbse.neat.chromosomes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InnovationViewTest {
+
+    private final NeuronGene input = new NeuronGene(1, ActivationFunction.NONE, NeuronType.INPUT);
+    private final NeuronGene output = new NeuronGene(2, ActivationFunction.TANH, NeuronType.OUTPUT);
+
+    @Test
+    void testSortedByInnovation() {
+        InnovationView view = InnovationView.of(List.of(
+                new ConnectionGene(input, output, 0.3, true, 25),
+                new ConnectionGene(input, output, 0.1, true, 19),
+                new ConnectionGene(input, output, 0.2, false, 21)));
+
+        assertEquals(3, view.size());
+        assertEquals(19, view.innovation(0));
+        assertEquals(21, view.innovation(1));
+        assertEquals(25, view.innovation(2));
+        assertEquals(0.1, view.weight(0));
+        assertEquals(1, view.position(0));
+        assertEquals(25, view.maxInnovation());
+        assertEquals(3, view.connectionCount());
+    }
+
+    @Test
+    void testDuplicateInnovationKeepsFirstConnection() {
+        InnovationView view = InnovationView.of(List.of(
+                new ConnectionGene(input, output, 0.5, true, 20),
+                new ConnectionGene(input, output, 0.7, true, 20)));
+
+        assertEquals(1, view.size());
+        assertEquals(0.5, view.weight(0));
+        assertEquals(2, view.connectionCount());
+    }
+
+    @Test
+    void testEmpty() {
+        InnovationView view = InnovationView.of(List.of());
+        assertEquals(0, view.size());
+        assertEquals(0, view.maxInnovation());
+    }
+
+    @Test
+    void testChromosomeCachesView() {
+        NetworkChromosome chromosome = new NetworkChromosome(new java.util.HashMap<>(),
+                List.of(new ConnectionGene(input, output, 0.5, true, 20)));
+        assertSame(chromosome.getInnovationView(), chromosome.getInnovationView());
+    }
+}
@@ -1,5 +1,7 @@
 package de.uni_passau.fim.se2.sbse.neat.chromosomes;
 
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.InnovationRegistry;
+import de.uni_passau.fim.se2.sbse.neat.mutation.NeatMutation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -39,6 +41,42 @@ void testGetLayers() {
         assertTrue(layers.containsKey(NetworkChromosome.OUTPUT_LAYER));
     }
 
+    @Test
+    void testGetLayerViewIsReadOnly() {
+        Map<Double, List<NeuronGene>> view = networkChromosome.getLayerView();
+        assertEquals(networkChromosome.getLayers(), view);
+        assertSame(view, networkChromosome.getLayerView());
+        assertThrows(UnsupportedOperationException.class, () -> view.put(0.5, new ArrayList<>()));
+        assertThrows(UnsupportedOperationException.class,
+                () -> view.get(NetworkChromosome.OUTPUT_LAYER).add(inputNeuron));
+    }
+
+    @Test
+    void testGetDepthIndex() {
+        Map<Integer, Double> depths = networkChromosome.getDepthIndex();
+        assertEquals(Map.of(1, NetworkChromosome.INPUT_LAYER, 2, NetworkChromosome.OUTPUT_LAYER,
+                3, NetworkChromosome.INPUT_LAYER), depths);
+        assertThrows(UnsupportedOperationException.class, () -> depths.put(4, 0.5));
+    }
+
+    @Test
+    void testFingerprintOfEqualNetworks() {
+        NetworkChromosome copy = new NetworkChromosome(networkChromosome.getLayers(),
+                List.of(new ConnectionGene(inputNeuron, outputNeuron, 1.0, true, 42)));
+        assertEquals(networkChromosome.getFingerprint(), copy.getFingerprint());
+        assertEquals(networkChromosome.getFingerprint().hashCode(), copy.getFingerprint().hashCode());
+    }
+
+    @Test
+    void testFingerprintDependsOnWeightsAndEnabledFlag() {
+        NetworkChromosome otherWeight = new NetworkChromosome(networkChromosome.getLayers(),
+                List.of(new ConnectionGene(inputNeuron, outputNeuron, 0.5, true, 1)));
+        NetworkChromosome disabled = new NetworkChromosome(networkChromosome.getLayers(),
+                List.of(new ConnectionGene(inputNeuron, outputNeuron, 1.0, false, 1)));
+        assertNotEquals(networkChromosome.getFingerprint(), otherWeight.getFingerprint());
+        assertNotEquals(networkChromosome.getFingerprint(), disabled.getFingerprint());
+    }
+
     @Test
     void testGetConnections() {
         List<ConnectionGene> connections = networkChromosome.getConnections();
@@ -71,6 +109,46 @@ void testGetOutputInvalidStateSize() {
         assertEquals("Invalid input state size. Expected: 1, Got: 0", exception.getMessage());
     }
 
+    @Test
+    void testGetOutputIntoArray() {
+        double[] output = new double[1];
+        networkChromosome.getOutput(new double[]{1.0}, output);
+        assertEquals(networkChromosome.getOutput(List.of(1.0)).get(0), output[0]);
+    }
+
+    @Test
+    void testGetOutputIntoArrayInvalidSizes() {
+        assertThrows(IllegalArgumentException.class, () -> networkChromosome.getOutput(new double[2], new double[1]));
+        assertThrows(IllegalArgumentException.class, () -> networkChromosome.getOutput(new double[1], new double[2]));
+    }
+
+    @Test
+    void testGetOutputsMatchesSingleOutputs() {
+        Random random = new Random(5);
+        InnovationRegistry innovations = new InnovationRegistry();
+        NetworkChromosome network = new NetworkGenerator(innovations, 3, 2, random).generate();
+        NeatMutation mutation = new NeatMutation(innovations, random);
+        for (int i = 0; i < 8; i++) {
+            network = mutation.addConnection(mutation.addNeuron(network));
+        }
+        double[] states = random.doubles(5 * 3, -2, 2).toArray();
+        double[] expected = new double[5 * 2];
+        double[] output = new double[2];
+        for (int row = 0; row < 5; row++) {
+            network.getOutput(Arrays.copyOfRange(states, row * 3, row * 3 + 3), output);
+            System.arraycopy(output, 0, expected, row * 2, 2);
+        }
+
+        double[] outputs = new double[5 * 2];
+        network.getOutputs(states, outputs, 5);
+        assertArrayEquals(expected, outputs);
+        network.compile();
+        network.getOutputs(states, outputs, 5);
+        assertArrayEquals(expected, outputs);
+        network.getOutputs(new double[0], new double[0], 0);
+        assertThrows(IllegalArgumentException.class, () -> networkChromosome.getOutputs(new double[3], new double[2], 2));
+    }
+
     @Test
     void testSetAndGetFitness() {
         networkChromosome.setFitness(10.0);
@@ -82,4 +160,90 @@ void testSetAndGetFitnessAdjustmentValue() {
         networkChromosome.setFitnessadjustmentValue(5.0);
         assertEquals(5.0, networkChromosome.getFitnessadjustmentValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetOutputWithHiddenNeuron() {
+        NeuronGene hidden = new NeuronGene(4, ActivationFunction.NONE, NeuronType.HIDDEN);
+        NeuronGene output = new NeuronGene(2, ActivationFunction.NONE, NeuronType.OUTPUT);
+
+        Map<Double, List<NeuronGene>> layers = new HashMap<>();
+        layers.put(NetworkChromosome.INPUT_LAYER, Arrays.asList(inputNeuron, biasNeuron));
+        layers.put(0.5, List.of(hidden));
+        layers.put(NetworkChromosome.OUTPUT_LAYER, List.of(output));
+
+        List<ConnectionGene> connections = List.of(
+                new ConnectionGene(inputNeuron, hidden, 2.0, true, 1),
+                new ConnectionGene(biasNeuron, hidden, 0.5, true, 2),
+                new ConnectionGene(hidden, output, -1.0, true, 3),
+                new ConnectionGene(inputNeuron, output, 3.0, false, 4));
+
+        NetworkChromosome network = new NetworkChromosome(layers, connections);
+        assertEquals(List.of(-6.5), network.getOutput(List.of(3.0)));
+        assertEquals(List.of(-2.5), network.getOutput(List.of(1.0)));
+    }
+
+    @Test
+    void testGetOutputMatchesLayerwiseEvaluation() {
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            Map<Double, List<NeuronGene>> layers = new HashMap<>();
+            List<NeuronGene> inputs = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                inputs.add(new NeuronGene(i, ActivationFunction.NONE, NeuronType.INPUT));
+            }
+            inputs.add(new NeuronGene(4, ActivationFunction.NONE, NeuronType.BIAS));
+            layers.put(NetworkChromosome.INPUT_LAYER, inputs);
+            layers.put(NetworkChromosome.OUTPUT_LAYER, List.of(new NeuronGene(5, ActivationFunction.TANH, NeuronType.OUTPUT)));
+
+            List<NeuronGene> neurons = new ArrayList<>(inputs);
+            for (int id = 6; id < 6 + random.nextInt(8); id++) {
+                NeuronGene neuron = new NeuronGene(id, ActivationFunction.SIGMOID, NeuronType.HIDDEN);
+                layers.computeIfAbsent(random.nextInt(1, 4) / 4.0, k -> new ArrayList<>()).add(neuron);
+                neurons.add(neuron);
+            }
+            neurons.addAll(layers.get(NetworkChromosome.OUTPUT_LAYER));
+
+            List<ConnectionGene> connections = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                NeuronGene source = neurons.get(random.nextInt(neurons.size()));
+                NeuronGene target = neurons.get(random.nextInt(inputs.size(), neurons.size()));
+                connections.add(new ConnectionGene(source, target, random.nextDouble(-2, 2), random.nextDouble() < 0.9, i));
+            }
+
+            NetworkChromosome network = new NetworkChromosome(layers, connections);
+            for (int i = 0; i < 5; i++) {
+                List<Double> state = List.of(random.nextDouble(), random.nextDouble(), random.nextDouble(), random.nextDouble());
+                assertEquals(layerwiseOutput(layers, connections, state), network.getOutput(state));
+            }
+        }
+    }
+
+    /**
+     * Reference implementation that evaluates the layers of a network one after another.
+     */
+    private static List<Double> layerwiseOutput(Map<Double, List<NeuronGene>> layers, List<ConnectionGene> connections,
+                                                List<Double> state) {
+        Map<NeuronGene, Double> values = new HashMap<>();
+        int inputIndex = 0;
+        for (NeuronGene neuron : layers.get(NetworkChromosome.INPUT_LAYER)) {
+            if (neuron.getNeuronType() == NeuronType.INPUT) {
+                values.put(neuron, state.get(inputIndex++));
+            } else if (neuron.getNeuronType() == NeuronType.BIAS) {
+                values.put(neuron, 1.0);
+            }
+        }
+        List<Double> sortedLayers = new ArrayList<>(layers.keySet());
+        Collections.sort(sortedLayers);
+        for (double depth : sortedLayers) {
+            if (depth == NetworkChromosome.INPUT_LAYER) continue;
+            for (NeuronGene neuron : layers.get(depth)) {
+                double sum = connections.stream()
+                        .filter(c -> c.getEnabled() && c.getTargetNeuron().equals(neuron))
+                        .mapToDouble(c -> values.getOrDefault(c.getSourceNeuron(), 0.0) * c.getWeight())
+                        .sum();
+                values.put(neuron, neuron.activate(sum));
+            }
+        }
+        return layers.get(NetworkChromosome.OUTPUT_LAYER).stream().map(values::get).toList();
+    }
+}
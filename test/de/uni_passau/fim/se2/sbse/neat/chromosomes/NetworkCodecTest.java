@@ -0,0 +1,62 @@
+package de.uni_passau.fim.se2.sbse.neat.chromosomes;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.mutation.NeatMutation;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NetworkCodecTest {
+
+    private static NetworkChromosome roundTrip(NetworkChromosome network) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        NetworkCodec.write(network, new DataOutputStream(bytes));
+        return NetworkCodec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    void testRoundTripPreservesNetwork() throws IOException {
+        Set<Innovation> innovations = new HashSet<>();
+        Random random = new Random(4);
+        NeatMutation mutation = new NeatMutation(innovations, random);
+        NetworkChromosome network = new NetworkGenerator(innovations, 4, 2, random).generate();
+        for (int i = 0; i < 10; i++) {
+            network = mutation.addConnection(mutation.addNeuron(network));
+        }
+
+        NetworkChromosome decoded = roundTrip(network);
+        assertEquals(network.getFingerprint(), decoded.getFingerprint());
+        assertEquals(network.getConnections().stream().map(ConnectionGene::getInnovationNumber).toList(),
+                decoded.getConnections().stream().map(ConnectionGene::getInnovationNumber).toList());
+        List<Double> state = List.of(0.1, -0.4, 0.7, 0.2);
+        assertEquals(network.getOutput(state), decoded.getOutput(state));
+    }
+
+    @Test
+    void testConnectionsShareNeuronsWithLayers() throws IOException {
+        Set<Innovation> innovations = new HashSet<>();
+        NetworkChromosome decoded = roundTrip(new NetworkGenerator(innovations, 2, 1, new Random(1)).generate());
+        NeuronGene output = decoded.getLayers().get(NetworkChromosome.OUTPUT_LAYER).getFirst();
+        for (ConnectionGene connection : decoded.getConnections()) {
+            assertSame(output, connection.getTargetNeuron());
+        }
+    }
+
+    @Test
+    void testUnknownNeuronIsRejected() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0);
+        out.writeInt(1);
+        out.writeInt(1);
+        out.writeInt(2);
+        out.writeDouble(1.0);
+        out.writeBoolean(true);
+        out.writeInt(1);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThrows(IOException.class, () -> NetworkCodec.read(in));
+    }
+}
@@ -0,0 +1,129 @@
+package de.uni_passau.fim.se2.sbse.neat.chromosomes;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.InnovationRegistry;
+import de.uni_passau.fim.se2.sbse.neat.mutation.NeatMutation;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NetworkCompilerTest {
+
+    private static NetworkChromosome grow(int hiddenNeurons, Random random) {
+        InnovationRegistry innovations = new InnovationRegistry();
+        NetworkGenerator generator = new NetworkGenerator(innovations, 4, 2, random);
+        NeatMutation mutation = new NeatMutation(innovations, random);
+        NetworkChromosome network = generator.generate();
+        for (int i = 0; i < hiddenNeurons; i++) {
+            network = mutation.addNeuron(network);
+            network = mutation.addConnection(network);
+            network = mutation.toggleConnection(network);
+        }
+        return network;
+    }
+
+    private static void assertCompiledOutputsMatch(NetworkChromosome network, Random random) {
+        NetworkChromosome interpreted = new NetworkChromosome(network.getLayers(), network.getConnections());
+        assertTrue(network.compile());
+        assertTrue(network.isCompiled());
+        assertFalse(interpreted.isCompiled());
+
+        double[] expected = new double[2];
+        double[] actual = new double[2];
+        for (int i = 0; i < 200; i++) {
+            double[] state = random.doubles(4, -1, 1).toArray();
+            interpreted.getOutput(state, expected);
+            network.getOutput(state, actual);
+            assertArrayEquals(expected, actual);
+        }
+        double[][] extremes = {
+                {Double.MAX_VALUE, -Double.MAX_VALUE, 0, 0},
+                {Double.POSITIVE_INFINITY, 1, -1, 0},
+                {Double.NaN, 0, 0, 0},
+                {-0.0, -0.0, -0.0, -0.0},
+        };
+        for (double[] state : extremes) {
+            interpreted.getOutput(state, expected);
+            network.getOutput(state, actual);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void testCompiledOutputsMatchInterpretedOutputs() {
+        Random random = new Random(17);
+        for (int hidden : new int[]{0, 1, 5, 20}) {
+            assertCompiledOutputsMatch(grow(hidden, random), random);
+        }
+    }
+
+    @Test
+    void testCompiledNetworkWithHiddenNeuron() {
+        NeuronGene input = new NeuronGene(1, ActivationFunction.NONE, NeuronType.INPUT);
+        NeuronGene bias = new NeuronGene(2, ActivationFunction.NONE, NeuronType.BIAS);
+        NeuronGene hidden = new NeuronGene(3, ActivationFunction.TANH, NeuronType.HIDDEN);
+        NeuronGene output = new NeuronGene(4, ActivationFunction.SIGMOID, NeuronType.OUTPUT);
+        Map<Double, List<NeuronGene>> layers = new HashMap<>();
+        layers.put(NetworkChromosome.INPUT_LAYER, List.of(input, bias));
+        layers.put(0.5, List.of(hidden));
+        layers.put(NetworkChromosome.OUTPUT_LAYER, List.of(output));
+        List<ConnectionGene> connections = List.of(
+                new ConnectionGene(input, hidden, 0.5, true, 1),
+                new ConnectionGene(bias, hidden, -0.25, true, 2),
+                new ConnectionGene(hidden, output, 2.0, true, 3),
+                new ConnectionGene(input, output, 3.0, false, 4));
+        NetworkChromosome network = new NetworkChromosome(layers, connections);
+
+        assertTrue(network.compile());
+        double expected = 1.0 / (1.0 + Math.exp(-(Math.tanh(0.8 * 0.5 - 0.25) * 2.0)));
+        assertEquals(List.of(expected), network.getOutput(List.of(0.8)));
+    }
+
+    @Test
+    void testNetworkTooLargeIsNotCompiled() {
+        NeuronGene bias = new NeuronGene(0, ActivationFunction.NONE, NeuronType.BIAS);
+        NeuronGene output = new NeuronGene(1, ActivationFunction.SIGMOID, NeuronType.OUTPUT);
+        List<NeuronGene> inputs = new ArrayList<>(List.of(bias));
+        List<ConnectionGene> connections = new ArrayList<>();
+        for (int i = 0; i < NetworkCompiler.MAX_CODE_LENGTH / 10; i++) {
+            NeuronGene input = new NeuronGene(i + 2, ActivationFunction.NONE, NeuronType.INPUT);
+            inputs.add(input);
+            connections.add(new ConnectionGene(input, output, i, true, i));
+        }
+        Map<Double, List<NeuronGene>> layers = new HashMap<>();
+        layers.put(NetworkChromosome.INPUT_LAYER, inputs);
+        layers.put(NetworkChromosome.OUTPUT_LAYER, List.of(output));
+        NetworkChromosome network = new NetworkChromosome(layers, connections);
+
+        assertFalse(network.compile());
+        assertFalse(network.isCompiled());
+        double[] state = new double[inputs.size() - 1];
+        Arrays.fill(state, 0.001);
+        assertEquals(1, network.getOutput(Arrays.stream(state).boxed().toList()).size());
+    }
+
+    @Test
+    void testFastActivationsCompiledMatchInterpreted() {
+        Random random = new Random(23);
+        NetworkChromosome network = grow(10, random);
+        NetworkChromosome exact = new NetworkChromosome(network.getLayers(), network.getConnections());
+        NetworkChromosome interpreted = new NetworkChromosome(network.getLayers(), network.getConnections());
+        interpreted.setFastActivations(true);
+        assertTrue(network.compile());
+        network.setFastActivations(true);
+        assertTrue(network.isCompiled());
+
+        double[] expected = new double[2];
+        double[] fast = new double[2];
+        double[] actual = new double[2];
+        for (int i = 0; i < 200; i++) {
+            double[] state = random.doubles(4, -1, 1).toArray();
+            exact.getOutput(state, expected);
+            interpreted.getOutput(state, fast);
+            network.getOutput(state, actual);
+            assertArrayEquals(fast, actual);
+            assertArrayEquals(expected, fast, 1e-4);
+        }
+    }
+}
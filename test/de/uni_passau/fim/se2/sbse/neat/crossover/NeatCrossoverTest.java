@@ -136,4 +136,32 @@ void testApplyCrossoverWithNoMatchingGenes() {
         assertNotNull(child);
         assertEquals(1, child.getConnections().size());
     }
+
+    @Test
+    void testChildSortedByInnovation() {
+        when(random.nextDouble()).thenReturn(0.5);
+        when(random.nextGaussian()).thenReturn(0.0);
+
+        NeuronGene input = new NeuronGene(1, ActivationFunction.SIGMOID, NeuronType.INPUT);
+        NeuronGene output = new NeuronGene(2, ActivationFunction.SIGMOID, NeuronType.OUTPUT);
+        parent1 = new NetworkChromosome(parent1.getLayers(), List.of(
+                new ConnectionGene(input, output, 1.0, true, 7),
+                new ConnectionGene(input, output, 3.0, false, 2),
+                new ConnectionGene(input, output, 5.0, true, 4)));
+        parent1.setFitness(3.0);
+        parent2 = new NetworkChromosome(parent2.getLayers(), List.of(
+                new ConnectionGene(input, output, 2.0, true, 4),
+                new ConnectionGene(input, output, 2.0, true, 9)));
+        parent2.setFitness(1.0);
+
+        NetworkChromosome child = neatCrossover.apply(parent1, parent2);
+
+        List<ConnectionGene> connections = child.getConnections();
+        assertEquals(List.of(2, 4, 7), connections.stream().map(ConnectionGene::getInnovationNumber).toList());
+        assertEquals(3.0, connections.get(0).getWeight());
+        assertFalse(connections.get(0).getEnabled());
+        assertEquals(3.5, connections.get(1).getWeight());
+        assertEquals(1.0, connections.get(2).getWeight());
+        assertSame(parent1.getLayerView(), child.getLayerView());
+    }
 }
@@ -0,0 +1,75 @@
+package de.uni_passau.fim.se2.sbse.neat.environments;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.InnovationRegistry;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkGenerator;
+import de.uni_passau.fim.se2.sbse.neat.mutation.NeatMutation;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchedSinglePoleBalancingTest {
+
+    private static List<NetworkChromosome> population(int size) {
+        InnovationRegistry innovations = new InnovationRegistry();
+        Random random = new Random(7);
+        NetworkGenerator generator = new NetworkGenerator(innovations, 4, 1, random);
+        NeatMutation mutation = new NeatMutation(innovations, random);
+        List<NetworkChromosome> population = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            NetworkChromosome chromosome = generator.generate();
+            for (int j = 0; j < i % 4; j++) {
+                chromosome = mutation.addNeuron(chromosome);
+            }
+            population.add(chromosome);
+        }
+        return population;
+    }
+
+    private static void assertMatchesScalar(int maxSteps, int repeats, boolean randomise) {
+        List<NetworkChromosome> population = population(30);
+        long[] seeds = new Random(13).longs(population.size()).toArray();
+
+        double[] rewards = new BatchedSinglePoleBalancing(maxSteps, repeats, randomise).evaluate(population, seeds);
+
+        Random random = new Random();
+        SinglePoleBalancing scalar = new SinglePoleBalancing(maxSteps, repeats, randomise, random);
+        for (int i = 0; i < population.size(); i++) {
+            random.setSeed(seeds[i]);
+            assertEquals(scalar.evaluate(population.get(i)), rewards[i], "Agent " + i);
+        }
+    }
+
+    @Test
+    void testRewardsMatchScalarEnvironment() {
+        assertMatchesScalar(1000, 3, false);
+    }
+
+    @Test
+    void testRandomisedRewardsMatchScalarEnvironment() {
+        assertMatchesScalar(2000, 4, true);
+    }
+
+    @Test
+    void testRewardsDoNotDependOnBatch() {
+        List<NetworkChromosome> population = population(10);
+        long[] seeds = new Random(5).longs(population.size()).toArray();
+        BatchedSinglePoleBalancing environment = new BatchedSinglePoleBalancing(500, 2, true);
+
+        double[] batch = environment.evaluate(population, seeds);
+        for (int i = 0; i < population.size(); i++) {
+            double[] single = environment.evaluate(List.of(population.get(i)), new long[]{seeds[i]});
+            assertEquals(batch[i], single[0]);
+        }
+    }
+
+    @Test
+    void testSeedCountMustMatchAgents() {
+        BatchedSinglePoleBalancing environment = new BatchedSinglePoleBalancing(10, 1, false);
+        assertThrows(IllegalArgumentException.class, () -> environment.evaluate(population(2), new long[1]));
+    }
+}
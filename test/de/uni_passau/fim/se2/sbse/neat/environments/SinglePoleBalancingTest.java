@@ -0,0 +1,132 @@
+package de.uni_passau.fim.se2.sbse.neat.environments;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SinglePoleBalancingTest {
+
+    private static final int MAX_STEPS = 20;
+    private static final int REPEATS = 4;
+    private static final double FULL_REWARD = MAX_STEPS * (REPEATS + 1);
+
+    /**
+     * Applies the same action in every state, which keeps the pole up for {@link #MAX_STEPS} steps
+     * when it is zero and lets it fall within a few steps when it pushes the cart at full force.
+     */
+    private static final class ConstantAgent implements Agent {
+        private final double action;
+        private double fitness;
+        private boolean truncated;
+
+        private ConstantAgent(double action) {
+            this.action = action;
+        }
+
+        @Override
+        public List<Double> getOutput(List<Double> state) {
+            return List.of(action);
+        }
+
+        @Override
+        public void setFitness(double fitness) {
+            this.fitness = fitness;
+        }
+
+        @Override
+        public double getFitness() {
+            return fitness;
+        }
+
+        @Override
+        public void setTruncated(boolean truncated) {
+            this.truncated = truncated;
+        }
+
+        @Override
+        public boolean isTruncated() {
+            return truncated;
+        }
+    }
+
+    private static SinglePoleBalancing environment() {
+        return new SinglePoleBalancing(MAX_STEPS, REPEATS, false, new Random(1));
+    }
+
+    @Test
+    void testUnlimitedBudgetEvaluatesInFull() {
+        ConstantAgent agent = new ConstantAgent(0);
+        agent.setTruncated(true);
+        assertEquals(FULL_REWARD, environment().evaluate(agent, EvaluationBudget.UNLIMITED));
+        assertFalse(agent.isTruncated());
+        assertEquals(FULL_REWARD, environment().evaluate(agent));
+    }
+
+    @Test
+    void testStepLimitTruncates() {
+        ConstantAgent agent = new ConstantAgent(0);
+        assertEquals(50, environment().evaluate(agent, new EvaluationBudget(Double.NEGATIVE_INFINITY, 50)));
+        assertTrue(agent.isTruncated());
+    }
+
+    @Test
+    void testUnreachableFitnessBarTruncatesAfterFirstEpisode() {
+        ConstantAgent agent = new ConstantAgent(0);
+        assertEquals(MAX_STEPS, environment().evaluate(agent, new EvaluationBudget(FULL_REWARD + 1, Long.MAX_VALUE)));
+        assertTrue(agent.isTruncated());
+    }
+
+    @Test
+    void testReachableFitnessBarDoesNotTruncate() {
+        ConstantAgent agent = new ConstantAgent(0);
+        assertEquals(FULL_REWARD, environment().evaluate(agent, new EvaluationBudget(FULL_REWARD, Long.MAX_VALUE)));
+        assertFalse(agent.isTruncated());
+    }
+
+    @Test
+    void testFailedFirstEpisodeIsNotTruncated() {
+        ConstantAgent agent = new ConstantAgent(1);
+        SinglePoleBalancing environment = new SinglePoleBalancing(1000, REPEATS, false, new Random(1));
+        double reward = environment.evaluate(agent, new EvaluationBudget(Double.POSITIVE_INFINITY, Long.MAX_VALUE));
+        assertTrue(reward < 1000);
+        assertEquals(environment.evaluate(agent), reward);
+        assertFalse(agent.isTruncated());
+    }
+
+    @Test
+    void testStartStateTableMatchesDrawnStartStates() {
+        ConstantAgent agent = new ConstantAgent(0.3);
+        for (long seed = 0; seed < 10; seed++) {
+            Random random = new Random();
+            SinglePoleBalancing drawing = new SinglePoleBalancing(MAX_STEPS, REPEATS, true, random);
+            random.setSeed(seed);
+            SinglePoleBalancing table = new SinglePoleBalancing(MAX_STEPS, REPEATS, true, new Random());
+            table.setStartStates(StartStateTable.generate(table.episodes(), new Random(seed)));
+            assertEquals(drawing.evaluate(agent), table.evaluate(agent));
+            assertEquals(table.evaluate(agent), table.evaluate(agent));
+        }
+    }
+
+    @Test
+    void testStartStatesRequireRandomisationAndEnoughEpisodes() {
+        StartStateTable startStates = StartStateTable.generate(REPEATS + 1, new Random(1));
+        assertThrows(IllegalStateException.class, () -> environment().setStartStates(startStates));
+        SinglePoleBalancing environment = new SinglePoleBalancing(MAX_STEPS, REPEATS, true, new Random(1));
+        assertThrows(IllegalArgumentException.class,
+                () -> environment.setStartStates(StartStateTable.generate(REPEATS, new Random(1))));
+        assertThrows(IllegalArgumentException.class, () -> StartStateTable.generate(0, new Random(1)));
+        environment.setStartStates(startStates);
+        environment.setStartStates(null);
+    }
+
+    @Test
+    void testBudgetRejectsInvalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> new EvaluationBudget(Double.NaN, 1));
+        assertThrows(IllegalArgumentException.class, () -> new EvaluationBudget(0, 0));
+        assertTrue(EvaluationBudget.UNLIMITED.isUnlimited());
+    }
+}
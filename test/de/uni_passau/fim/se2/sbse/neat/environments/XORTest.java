@@ -0,0 +1,52 @@
+package de.uni_passau.fim.se2.sbse.neat.environments;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XORTest {
+
+    /**
+     * Outputs the same action for every input.
+     */
+    private static final class ConstantAgent implements Agent {
+        private final double action;
+        private double fitness;
+
+        private ConstantAgent(double action) {
+            this.action = action;
+        }
+
+        @Override
+        public List<Double> getOutput(List<Double> state) {
+            return List.of(action);
+        }
+
+        @Override
+        public void setFitness(double fitness) {
+            this.fitness = fitness;
+        }
+
+        @Override
+        public double getFitness() {
+            return fitness;
+        }
+    }
+
+    @Test
+    void testSolvedIsJudgedByTheAgentsFitness() {
+        ConstantAgent perfect = new ConstantAgent(-1);
+        perfect.setFitness(new XOR().evaluate(perfect));
+        ConstantAgent imperfect = new ConstantAgent(0);
+        imperfect.setFitness(new XOR().evaluate(imperfect));
+
+        // A fresh environment has not evaluated any of them.
+        XOR judge = new XOR();
+        assertTrue(judge.solved(perfect));
+        assertFalse(judge.solved(imperfect));
+        assertFalse(judge.solved(new ConstantAgent(-1)));
+    }
+}
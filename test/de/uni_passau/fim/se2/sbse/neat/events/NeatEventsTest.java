@@ -0,0 +1,64 @@
+package de.uni_passau.fim.se2.sbse.neat.events;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatAlgorithm;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.evaluation.SequentialEvaluator;
+import de.uni_passau.fim.se2.sbse.neat.environments.Environment;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NeatEventsTest {
+
+    private static final List<String> NAMES = List.of(GenerationStartEvent.NAME, GenerationEndEvent.NAME,
+            ReproductionPhaseEvent.NAME, SpeciationPhaseEvent.NAME, GenomeEvaluatedEvent.NAME, InnovationCreatedEvent.NAME);
+
+    @TempDir
+    Path directory;
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+    }
+
+    @Test
+    void testSearchEmitsEvents() throws IOException {
+        Random random = new Random(4);
+        Environment environment = new SinglePoleBalancing(5000, 2, true, random);
+        NeatAlgorithm neat = new NeatAlgorithm(50, 10, environment, new SequentialEvaluator(environment), random);
+        Path file = directory.resolve("search.jfr");
+        try (Recording recording = new Recording()) {
+            NAMES.forEach(name -> recording.enable(name).withoutThreshold());
+            recording.start();
+            neat.solve(new SinglePoleBalancing(1_000_000, 2, false, new Random()));
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        List<RecordedEvent> starts = named(events, GenerationStartEvent.NAME);
+        List<RecordedEvent> ends = named(events, GenerationEndEvent.NAME);
+        assertEquals(neat.getGeneration(), starts.size());
+        assertEquals(neat.getGeneration(), ends.size());
+        assertEquals(neat.getGeneration(), named(events, ReproductionPhaseEvent.NAME).size());
+        assertEquals(neat.getGeneration(), named(events, SpeciationPhaseEvent.NAME).size());
+        // Recordings are not ordered by time, so the last generation has the most evaluations.
+        assertEquals(neat.getEvaluations(), ends.stream().mapToLong(e -> e.getLong("evaluations")).max().orElseThrow());
+
+        List<RecordedEvent> evaluated = named(events, GenomeEvaluatedEvent.NAME);
+        assertEquals(neat.getEvaluations(), evaluated.size());
+        for (RecordedEvent event : evaluated) {
+            assertEquals(event.getDouble("fitness"), event.getLong("steps"));
+            assertTrue(event.getInt("genomeSize") > 0);
+        }
+        assertFalse(named(events, InnovationCreatedEvent.NAME).isEmpty());
+    }
+}
@@ -0,0 +1,49 @@
+package de.uni_passau.fim.se2.sbse.neat.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestorableRandomTest {
+
+    @Test
+    void testSameSequenceAsRandom() {
+        Random expected = new Random(42);
+        RestorableRandom actual = new RestorableRandom(42);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(expected.nextInt(), actual.nextInt());
+            assertEquals(expected.nextInt(17), actual.nextInt(17));
+            assertEquals(expected.nextLong(), actual.nextLong());
+            assertEquals(expected.nextDouble(), actual.nextDouble());
+            assertEquals(expected.nextDouble(-2.4, 2.4), actual.nextDouble(-2.4, 2.4));
+            assertEquals(expected.nextGaussian(), actual.nextGaussian());
+            assertEquals(expected.nextBoolean(), actual.nextBoolean());
+        }
+    }
+
+    @Test
+    void testSetSeedMatchesRandom() {
+        Random expected = new Random();
+        RestorableRandom actual = new RestorableRandom();
+        expected.nextGaussian();
+        actual.nextGaussian();
+        expected.setSeed(7);
+        actual.setSeed(7);
+        assertEquals(expected.nextGaussian(), actual.nextGaussian());
+        assertEquals(expected.nextGaussian(), actual.nextGaussian());
+    }
+
+    @Test
+    void testRestoredStateContinuesSequence() {
+        RestorableRandom random = new RestorableRandom(3);
+        random.nextGaussian();
+        RestorableRandom.State state = random.getState();
+        double[] expected = {random.nextGaussian(), random.nextDouble(), random.nextGaussian()};
+
+        RestorableRandom restored = new RestorableRandom();
+        restored.setState(state);
+        assertArrayEquals(expected, new double[]{restored.nextGaussian(), restored.nextDouble(), restored.nextGaussian()});
+    }
+}